@@ -1,6 +1,7 @@
 package org.example;
 
 import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.TrazaConsola;
 import org.example.model.BaseConocimiento;
 import org.example.model.Hecho;
 import org.example.model.Regla;
@@ -37,6 +38,7 @@ public class Main {
 
         // Motor de inferencia
         MotorInferencia motor = new MotorInferencia(base);
+        motor.setTraza(new TrazaConsola());
         Set<Set<String>> clausulas = motor.convertirAFNC();
 
         System.out.println("\nCláusulas en FNC:");
@@ -47,7 +49,7 @@ public class Main {
         realizarConsulta(motor, clausulas, "Odia(Marco, Cesar)");
     }
 
-    private static BaseConocimiento crearBaseMarcoYCesar() {
+    public static BaseConocimiento crearBaseMarcoYCesar() {
         BaseConocimiento base = new BaseConocimiento();
 
         // Hechos iniciales
@@ -100,6 +102,7 @@ public class Main {
 
         // Motor de inferencia
         MotorInferencia motor = new MotorInferencia(base);
+        motor.setTraza(new TrazaConsola());
         Set<Set<String>> clausulas = motor.convertirAFNC();
 
         System.out.println("\nCláusulas en FNC (ejemplo Jack y animales):");
@@ -112,7 +115,7 @@ public class Main {
     }
 
 
-    private static BaseConocimiento crearBaseJackAnimales() {
+    public static BaseConocimiento crearBaseJackAnimales() {
         
         BaseConocimiento base = new BaseConocimiento();
 
@@ -178,6 +181,8 @@ public class Main {
 
         // Motor de inferencia
         MotorInferencia motor = new MotorInferencia(base);
+        motor.setTraza(new TrazaConsola());
+        motor.setRegistrarPruebas(true);
         Set<Set<String>> clausulas = motor.convertirAFNC();
 
         System.out.println("\nCláusulas en FNC:");
@@ -185,9 +190,13 @@ public class Main {
 
         realizarConsulta(motor, clausulas, "Criminal(West)");
 
+        // Las reglas de este ejemplo son de Horn: la red Rete responde con una búsqueda tras saturar
+        System.out.println("\n>> Encadenamiento hacia adelante (Rete): Criminal(West) = " +
+                motor.consultarPorEncadenamiento("Criminal(West)").getRespuesta());
+
     }
     
-    private static BaseConocimiento crearBaseCrimenNono(){
+    public static BaseConocimiento crearBaseCrimenNono(){
         BaseConocimiento base = new BaseConocimiento();
 
         // Hechos iniciales
@@ -250,6 +259,10 @@ public class Main {
             boolean resultado = motor.resolver(new HashSet<>(clausulas), consulta);
 
             System.out.println("\n>> RESULTADO FINAL: " + (resultado ? "SÍ" : "NO"));
+            if (resultado && motor.getPrueba() != null) {
+                System.out.println("\nPrueba:");
+                System.out.print(motor.getPrueba());
+            }
             System.out.println("=============================================");
         } catch (Exception e) {
             System.out.println("Error al procesar la consulta: " + e.getMessage());
@@ -0,0 +1,152 @@
+package org.example.generador;
+
+import lombok.Getter;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Genera bases de conocimiento sintéticas y reproducibles (misma semilla, misma base).
+// Los predicados P0..Pn tienen aridad fija; los de la primera mitad solo aparecen en hechos y
+// premisas, así que las conclusiones de las reglas son siempre predicados de la segunda mitad.
+// Las premisas de cada regla forman una cadena: la premisa i comparte la variable ?v(i+1) con la
+// siguiente, de modo que la profundidad de la cadena controla cuánto se propagan las sustituciones
+public class GeneradorBases {
+    @Getter
+    private final ParametrosGenerador parametros;
+    private final Random random;
+    private final int[] aridades;
+
+    public GeneradorBases(ParametrosGenerador parametros) {
+        if (parametros.getPredicados() < 2 || parametros.getAridadMaxima() < 1 || parametros.getConstantes() < 1) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 predicados, aridad 1 y 1 constante: " + parametros);
+        }
+        this.parametros = parametros;
+        this.random = new Random(parametros.getSemilla());
+        this.aridades = new int[parametros.getPredicados()];
+        for (int i = 0; i < aridades.length; i++) {
+            aridades[i] = 1 + random.nextInt(parametros.getAridadMaxima());
+        }
+    }
+
+    public BaseConocimiento generar() {
+        BaseConocimiento base = new BaseConocimiento();
+
+        // Hechos base (pueden repetirse al azar; la base los deduplica)
+        for (int i = 0; i < parametros.getHechos(); i++) {
+            base.agregarHecho(new Hecho(atomoBase(predicadoBase())));
+        }
+
+        for (int i = 0; i < parametros.getReglasHorn(); i++) {
+            base.agregarRegla(regla());
+        }
+
+        Set<Set<String>> disyuntivas = new HashSet<>();
+        for (int i = 0; i < parametros.getClausulasDisyuntivas(); i++) {
+            disyuntivas.add(clausulaDisyuntiva());
+        }
+        base.agregarClausulasDisyuntivas(disyuntivas);
+        return base;
+    }
+
+    // Consultas base sobre predicados derivados; algunas se pueden demostrar y otras no
+    public List<String> consultas(int cantidad) {
+        List<String> consultas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            consultas.add(atomoBase(predicadoDerivado()));
+        }
+        return consultas;
+    }
+
+    private Regla regla() {
+        int premisas = 1 + random.nextInt(parametros.getProfundidadVariables());
+        Set<Hecho> cuerpo = new LinkedHashSet<>();
+        TreeSet<Integer> enlazadas = new TreeSet<>();
+        for (int i = 0; i < premisas; i++) {
+            cuerpo.add(new Hecho(premisa(random.nextInt(aridades.length), i, enlazadas)));
+        }
+
+        // La conclusión usa solo variables que aparecen en alguna premisa (regla segura): los
+        // extremos de la cadena y, para el resto de los argumentos, cualquiera de ellas. Una premisa
+        // unaria puede dejar huecos en la cadena (?v0 sin aparecer), por eso no se supone ?v0..?vn
+        List<Integer> variables = new ArrayList<>(enlazadas);
+        int predicado = predicadoDerivado();
+        String[] argumentos = new String[aridades[predicado]];
+        for (int i = 0; i < argumentos.length; i++) {
+            int variable = i == 0 ? enlazadas.first() : i == 1 ? enlazadas.last()
+                    : variables.get(random.nextInt(variables.size()));
+            argumentos[i] = "?v" + variable;
+        }
+        return new Regla(cuerpo, new Hecho(atomo(predicado, argumentos)));
+    }
+
+    // Premisa i de la cadena: enlaza ?v(i) con ?v(i+1); el resto de los argumentos son constantes.
+    // Anota en enlazadas los índices de las variables que usa
+    private String premisa(int predicado, int posicion, Set<Integer> enlazadas) {
+        String[] argumentos = new String[aridades[predicado]];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = i == 0 ? "?v" + posicion : i == 1 ? "?v" + (posicion + 1) : constante();
+        }
+        if (argumentos.length == 1) {
+            int variable = posicion + random.nextInt(2);
+            argumentos[0] = "?v" + variable;
+            enlazadas.add(variable);
+        } else {
+            enlazadas.add(posicion);
+            enlazadas.add(posicion + 1);
+        }
+        return atomo(predicado, argumentos);
+    }
+
+    // Cláusula con una o dos condiciones negadas y dos alternativas positivas sobre la misma variable
+    private Set<String> clausulaDisyuntiva() {
+        Set<String> clausula = new LinkedHashSet<>();
+        int negados = 1 + random.nextInt(2);
+        for (int i = 0; i < negados; i++) {
+            clausula.add("¬" + atomoConVariable(random.nextInt(aridades.length)));
+        }
+        for (int i = 0; i < 2; i++) {
+            clausula.add(atomoConVariable(predicadoDerivado()));
+        }
+        return clausula;
+    }
+
+    private String atomoConVariable(int predicado) {
+        String[] argumentos = new String[aridades[predicado]];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = i == 0 ? "?v0" : constante();
+        }
+        return atomo(predicado, argumentos);
+    }
+
+    private String atomoBase(int predicado) {
+        String[] argumentos = new String[aridades[predicado]];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = constante();
+        }
+        return atomo(predicado, argumentos);
+    }
+
+    private int predicadoBase() {
+        return random.nextInt(aridades.length / 2);
+    }
+
+    private int predicadoDerivado() {
+        return aridades.length / 2 + random.nextInt(aridades.length - aridades.length / 2);
+    }
+
+    private String constante() {
+        return "C" + random.nextInt(parametros.getConstantes());
+    }
+
+    private static String atomo(int predicado, String[] argumentos) {
+        return "P" + predicado + "(" + String.join(", ", argumentos) + ")";
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.generador;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Tamaño y forma de una base sintética (ver GeneradorBases)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ParametrosGenerador {
+    private int hechos = 100;
+    private int reglasHorn = 20;
+    private int clausulasDisyuntivas = 0;
+    private int predicados = 10;
+    private int aridadMaxima = 2; // Cada predicado recibe una aridad fija entre 1 y este valor
+    private int constantes = 20;
+    private int profundidadVariables = 2; // Premisas máximas por regla encadenadas por variables compartidas
+    private long semilla = 42;
+
+    // Copia con todas las cantidades multiplicadas por el factor (predicados y constantes incluidos)
+    public ParametrosGenerador escalado(int factor) {
+        ParametrosGenerador escalado = new ParametrosGenerador();
+        escalado.hechos = hechos * factor;
+        escalado.reglasHorn = reglasHorn * factor;
+        escalado.clausulasDisyuntivas = clausulasDisyuntivas * factor;
+        escalado.predicados = predicados * factor;
+        escalado.aridadMaxima = aridadMaxima;
+        escalado.constantes = constantes * factor;
+        escalado.profundidadVariables = profundidadVariables;
+        escalado.semilla = semilla;
+        return escalado;
+    }
+
+    @Override
+    public String toString() {
+        return hechos + " hechos, " + reglasHorn + " reglas, " + clausulasDisyuntivas + " disyuntivas, " +
+                predicados + " predicados (aridad ≤ " + aridadMaxima + "), " + constantes + " constantes, " +
+                "profundidad " + profundidadVariables;
+    }
+}
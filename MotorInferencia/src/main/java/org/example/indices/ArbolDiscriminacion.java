@@ -0,0 +1,175 @@
+package org.example.indices;
+
+import org.example.logica.Termino;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Árbol de discriminación sobre términos compilados. Cada término se recorre en preorden y cada
+// símbolo (functor + aridad) es una arista; todas las variables comparten la arista '*'. Las
+// consultas devuelven candidatos: con variables repetidas puede haber falsos positivos, así que
+// el llamador debe confirmar con la unificación o el emparejamiento real
+public class ArbolDiscriminacion<V> {
+    private static final long VARIABLE = Long.MIN_VALUE;
+
+    private enum Modo {UNIFICABLES, GENERALIZACIONES, INSTANCIAS}
+
+    private static final class Nodo<V> {
+        private final Map<Long, Nodo<V>> hijos = new HashMap<>(4);
+        private List<V> valores;
+    }
+
+    private final Nodo<V> raiz = new Nodo<>();
+    private int cantidad = 0;
+
+    public void insertar(Termino termino, V valor) {
+        Nodo<V> nodo = raiz;
+        for (Termino t : preorden(termino)) {
+            nodo = nodo.hijos.computeIfAbsent(clave(t), k -> new Nodo<>());
+        }
+        if (nodo.valores == null) {
+            nodo.valores = new ArrayList<>(2);
+        }
+        nodo.valores.add(valor);
+        cantidad++;
+    }
+
+    public boolean eliminar(Termino termino, V valor) {
+        List<Termino> camino = preorden(termino);
+        if (eliminar(raiz, camino, 0, valor)) {
+            cantidad--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean eliminar(Nodo<V> nodo, List<Termino> camino, int pos, V valor) {
+        if (pos == camino.size()) {
+            return nodo.valores != null && nodo.valores.remove(valor);
+        }
+
+        long clave = clave(camino.get(pos));
+        Nodo<V> hijo = nodo.hijos.get(clave);
+        if (hijo == null || !eliminar(hijo, camino, pos + 1, valor)) {
+            return false;
+        }
+
+        // Podar las ramas que quedaron vacías
+        if (hijo.hijos.isEmpty() && (hijo.valores == null || hijo.valores.isEmpty())) {
+            nodo.hijos.remove(clave);
+        }
+        return true;
+    }
+
+    // Valores cuyos términos podrían unificar con el término dado
+    public List<V> unificables(Termino termino) {
+        return buscar(termino, Modo.UNIFICABLES);
+    }
+
+    // Valores cuyos términos podrían ser más generales que el dado (t tal que tθ = termino)
+    public List<V> generalizaciones(Termino termino) {
+        return buscar(termino, Modo.GENERALIZACIONES);
+    }
+
+    // Valores cuyos términos podrían ser instancias del dado (t tal que terminoθ = t)
+    public List<V> instancias(Termino termino) {
+        return buscar(termino, Modo.INSTANCIAS);
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    private List<V> buscar(Termino termino, Modo modo) {
+        List<V> resultado = new ArrayList<>();
+        if (cantidad == 0) {
+            return resultado;
+        }
+
+        List<Termino> plano = preorden(termino);
+        int[] fin = new int[plano.size()];
+        calcularFin(plano, 0, fin);
+        buscar(raiz, plano, fin, 0, modo, resultado);
+        return resultado;
+    }
+
+    private void buscar(Nodo<V> nodo, List<Termino> plano, int[] fin, int pos, Modo modo, List<V> resultado) {
+        if (pos == plano.size()) {
+            if (nodo.valores != null) {
+                resultado.addAll(nodo.valores);
+            }
+            return;
+        }
+
+        Termino t = plano.get(pos);
+        if (t.esVariable()) {
+            if (modo == Modo.GENERALIZACIONES) {
+                // Una variable de la consulta solo puede ser instancia de otra variable
+                Nodo<V> hijo = nodo.hijos.get(VARIABLE);
+                if (hijo != null) {
+                    buscar(hijo, plano, fin, pos + 1, modo, resultado);
+                }
+            } else {
+                // La variable de la consulta abarca un subtérmino completo del árbol
+                saltarSubtermino(nodo, 1, siguiente -> buscar(siguiente, plano, fin, pos + 1, modo, resultado));
+            }
+            return;
+        }
+
+        Nodo<V> hijo = nodo.hijos.get(clave(t));
+        if (hijo != null) {
+            buscar(hijo, plano, fin, pos + 1, modo, resultado);
+        }
+
+        // Una variable del árbol abarca el subtérmino completo de la consulta
+        if (modo != Modo.INSTANCIAS) {
+            Nodo<V> variable = nodo.hijos.get(VARIABLE);
+            if (variable != null) {
+                buscar(variable, plano, fin, fin[pos], modo, resultado);
+            }
+        }
+    }
+
+    private void saltarSubtermino(Nodo<V> nodo, int pendientes, Consumer<Nodo<V>> continuar) {
+        if (pendientes == 0) {
+            continuar.accept(nodo);
+            return;
+        }
+        for (Map.Entry<Long, Nodo<V>> hijo : nodo.hijos.entrySet()) {
+            long clave = hijo.getKey();
+            int aridad = clave == VARIABLE ? 0 : (int) clave;
+            saltarSubtermino(hijo.getValue(), pendientes - 1 + aridad, continuar);
+        }
+    }
+
+    // fin[p] es la posición siguiente al subtérmino que empieza en p
+    private static int calcularFin(List<Termino> plano, int pos, int[] fin) {
+        Termino t = plano.get(pos);
+        int siguiente = pos + 1;
+        for (int i = 0; i < t.aridad(); i++) {
+            siguiente = calcularFin(plano, siguiente, fin);
+        }
+        fin[pos] = siguiente;
+        return siguiente;
+    }
+
+    private static List<Termino> preorden(Termino termino) {
+        List<Termino> resultado = new ArrayList<>(termino.getPeso());
+        agregarPreorden(termino, resultado);
+        return resultado;
+    }
+
+    private static void agregarPreorden(Termino termino, List<Termino> resultado) {
+        resultado.add(termino);
+        for (int i = 0; i < termino.aridad(); i++) {
+            agregarPreorden(termino.argumento(i), resultado);
+        }
+    }
+
+    private static long clave(Termino t) {
+        return t.esVariable() ? VARIABLE : ((long) t.getSimbolo() << 32) | t.aridad();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.indices;
+
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Índice de ocurrencias de literales por (predicado, aridad, signo). Dentro de cada grupo los
+// átomos se guardan en un árbol de discriminación, de modo que para un literal dado solo se
+// devuelven las ocurrencias complementarias cuyos argumentos podrían unificar
+public class IndiceLiterales {
+
+    public record Ocurrencia(Clausula clausula, int posicion) {
+        public Literal literal() {
+            return clausula.literal(posicion);
+        }
+    }
+
+    private final Map<Long, ArbolDiscriminacion<Ocurrencia>> ocurrencias = new HashMap<>();
+    private int cantidadClausulas = 0;
+
+    public void agregar(Clausula clausula) {
+        for (int i = 0; i < clausula.size(); i++) {
+            Literal literal = clausula.literal(i);
+            ocurrencias.computeIfAbsent(clave(literal), k -> new ArbolDiscriminacion<>())
+                    .insertar(literal.getAtomo(), new Ocurrencia(clausula, i));
+        }
+        cantidadClausulas++;
+    }
+
+    public boolean eliminar(Clausula clausula) {
+        boolean eliminada = false;
+        for (int i = 0; i < clausula.size(); i++) {
+            Literal literal = clausula.literal(i);
+            ArbolDiscriminacion<Ocurrencia> arbol = ocurrencias.get(clave(literal));
+            if (arbol != null) {
+                eliminada |= arbol.eliminar(literal.getAtomo(), new Ocurrencia(clausula, i));
+            }
+        }
+        if (eliminada) {
+            cantidadClausulas--;
+        }
+        return eliminada;
+    }
+
+    // Ocurrencias de signo contrario, mismo predicado y aridad, cuyo átomo podría unificar
+    public List<Ocurrencia> complementarios(Literal literal) {
+        ArbolDiscriminacion<Ocurrencia> arbol =
+                ocurrencias.get(clave(literal.getPredicado(), literal.aridad(), !literal.isNegado()));
+        return arbol != null ? arbol.unificables(literal.getAtomo()) : Collections.emptyList();
+    }
+
+    public int getCantidadClausulas() {
+        return cantidadClausulas;
+    }
+
+    private static long clave(Literal literal) {
+        return clave(literal.getPredicado(), literal.aridad(), literal.isNegado());
+    }
+
+    private static long clave(int predicado, int aridad, boolean negado) {
+        return ((long) predicado << 32) | ((long) aridad << 1) | (negado ? 1L : 0L);
+    }
+}
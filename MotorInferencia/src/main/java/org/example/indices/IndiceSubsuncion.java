@@ -0,0 +1,231 @@
+package org.example.indices;
+
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// Almacén de cláusulas vivas con comprobación de subsunción indexada. C subsume a D si existe θ
+// tal que Cθ ⊆ D llevando literales distintos de C a literales distintos de D (así |C| <= |D|).
+// La condición de que la imagen sea inyectiva importa porque el motor no factoriza: sin ella
+// [¬P(?x), ¬P(?y)] "subsumiría" a su propio resolvente [¬P(?y), ¬Q(?x)], que se descartaría
+// aunque sea necesario para la refutación. Para la subsunción hacia adelante se indexa el primer literal
+// de cada cláusula y se buscan sus generalizaciones; para la subsunción hacia atrás se indexan
+// todos los literales y se buscan las instancias del primer literal de la cláusula nueva
+public class IndiceSubsuncion {
+    private final ArbolDiscriminacion<Clausula> primerosPositivos = new ArbolDiscriminacion<>();
+    private final ArbolDiscriminacion<Clausula> primerosNegativos = new ArbolDiscriminacion<>();
+    private final ArbolDiscriminacion<Clausula> todosPositivos = new ArbolDiscriminacion<>();
+    private final ArbolDiscriminacion<Clausula> todosNegativos = new ArbolDiscriminacion<>();
+    private final Set<Clausula> vivas = new HashSet<>();
+
+    public boolean agregar(Clausula clausula) {
+        if (clausula.esVacia() || !vivas.add(clausula)) {
+            return false;
+        }
+
+        Literal primero = clausula.literal(0);
+        primeros(primero).insertar(primero.getAtomo(), clausula);
+        for (int i = 0; i < clausula.size(); i++) {
+            Literal literal = clausula.literal(i);
+            todos(literal).insertar(literal.getAtomo(), clausula);
+        }
+        return true;
+    }
+
+    public boolean eliminar(Clausula clausula) {
+        if (!vivas.remove(clausula)) {
+            return false;
+        }
+
+        Literal primero = clausula.literal(0);
+        primeros(primero).eliminar(primero.getAtomo(), clausula);
+        for (int i = 0; i < clausula.size(); i++) {
+            Literal literal = clausula.literal(i);
+            todos(literal).eliminar(literal.getAtomo(), clausula);
+        }
+        return true;
+    }
+
+    public boolean contiene(Clausula clausula) {
+        return vivas.contains(clausula);
+    }
+
+    public int size() {
+        return vivas.size();
+    }
+
+    // Subsunción hacia adelante: ¿alguna cláusula viva subsume a la dada?
+    public boolean estaSubsumida(Clausula clausula) {
+        return estaSubsumida(clausula, c -> true);
+    }
+
+    // Igual, pero considerando solo las cláusulas que cumplen 'vigente'
+    public boolean estaSubsumida(Clausula clausula, Predicate<Clausula> vigente) {
+        if (vivas.contains(clausula) && vigente.test(clausula)) {
+            return true;
+        }
+
+        for (int i = 0; i < clausula.size(); i++) {
+            Literal literal = clausula.literal(i);
+            for (Clausula candidata : primeros(literal).generalizaciones(literal.getAtomo())) {
+                if (vigente.test(candidata) && subsume(candidata, clausula)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Subsunción hacia atrás: cláusulas vivas (distintas de la dada) que la dada subsume
+    public List<Clausula> subsumidasPor(Clausula clausula) {
+        return subsumidasPor(clausula, c -> true);
+    }
+
+    public List<Clausula> subsumidasPor(Clausula clausula, Predicate<Clausula> vigente) {
+        List<Clausula> resultado = new ArrayList<>();
+        if (clausula.esVacia()) {
+            return resultado;
+        }
+
+        // Una candidata aparece una vez por cada literal suyo que es instancia del primero; en vez
+        // de copiar la lista a un conjunto se descartan las repetidas que ya están en el resultado
+        // (suele tener muy pocas) y las demás simplemente se vuelven a comprobar
+        Literal primero = clausula.literal(0);
+        for (Clausula candidata : todos(primero).instancias(primero.getAtomo())) {
+            if (!candidata.equals(clausula) && !contieneIdentica(resultado, candidata) && vigente.test(candidata) &&
+                    subsume(clausula, candidata)) {
+                resultado.add(candidata);
+            }
+        }
+        return resultado;
+    }
+
+    private static boolean contieneIdentica(List<Clausula> clausulas, Clausula clausula) {
+        for (Clausula otra : clausulas) {
+            if (otra == clausula) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean subsume(Clausula c, Clausula d) {
+        if (c.size() > d.size()) {
+            return false;
+        }
+        Emparejamiento ligaduras = emparejamientos.get();
+        ligaduras.reiniciar(d.size());
+        return emparejarDesde(c, 0, d, ligaduras);
+    }
+
+    // Busca, con vuelta atrás, una imagen en d para cada literal de c a partir del i-ésimo; cada
+    // literal de d es imagen de a lo sumo un literal de c
+    private static boolean emparejarDesde(Clausula c, int i, Clausula d, Emparejamiento ligaduras) {
+        if (i == c.size()) {
+            return true;
+        }
+
+        Literal literalC = c.literal(i);
+        for (int j = 0; j < d.size(); j++) {
+            Literal literalD = d.literal(j);
+            if (ligaduras.usados[j] || literalC.isNegado() != literalD.isNegado() || literalC.getPredicado() != literalD.getPredicado() ||
+                    literalC.aridad() != literalD.aridad()) {
+                continue;
+            }
+
+            // Deshacer las ligaduras hechas en este intento es volver a la cantidad anterior
+            int marca = ligaduras.cantidad;
+            ligaduras.usados[j] = true;
+            if (emparejar(literalC.getAtomo(), literalD.getAtomo(), ligaduras) &&
+                    emparejarDesde(c, i + 1, d, ligaduras)) {
+                return true;
+            }
+            ligaduras.usados[j] = false;
+            ligaduras.cantidad = marca;
+        }
+        return false;
+    }
+
+    // Emparejamiento en un solo sentido: solo se ligan las variables del patrón
+    private static boolean emparejar(Termino patron, Termino objetivo, Emparejamiento ligaduras) {
+        if (patron.esVariable()) {
+            Termino valor = ligaduras.valor(patron);
+            if (valor == null) {
+                ligaduras.ligar(patron, objetivo);
+                return true;
+            }
+            return valor == objetivo;
+        }
+
+        if (patron.esBase()) {
+            return patron == objetivo;
+        }
+
+        if (objetivo.esVariable() || patron.getSimbolo() != objetivo.getSimbolo() ||
+                patron.aridad() != objetivo.aridad()) {
+            return false;
+        }
+
+        for (int i = 0; i < patron.aridad(); i++) {
+            if (!emparejar(patron.argumento(i), objetivo.argumento(i), ligaduras)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sustitución de un emparejamiento en dos arreglos paralelos, en el orden en que se ligó: las
+    // cláusulas tienen pocas variables, así que basta una búsqueda lineal, y no se crea un mapa
+    // ni un rastro por cada par que se compara. 'usados' marca los literales de d que ya son imagen
+    // de alguno de c. Cada hilo reutiliza el suyo
+    private static final ThreadLocal<Emparejamiento> emparejamientos = ThreadLocal.withInitial(Emparejamiento::new);
+
+    private static final class Emparejamiento {
+        private Termino[] variables = new Termino[16];
+        private Termino[] valores = new Termino[16];
+        private int cantidad = 0;
+        private boolean[] usados = new boolean[16];
+
+        void reiniciar(int literalesObjetivo) {
+            cantidad = 0;
+            if (usados.length < literalesObjetivo) {
+                usados = new boolean[Math.max(literalesObjetivo, usados.length * 2)];
+            } else {
+                Arrays.fill(usados, 0, literalesObjetivo, false);
+            }
+        }
+
+        Termino valor(Termino variable) {
+            for (int k = 0; k < cantidad; k++) {
+                if (variables[k] == variable) {
+                    return valores[k];
+                }
+            }
+            return null;
+        }
+
+        void ligar(Termino variable, Termino valor) {
+            if (cantidad == variables.length) {
+                variables = Arrays.copyOf(variables, cantidad * 2);
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            variables[cantidad] = variable;
+            valores[cantidad++] = valor;
+        }
+    }
+
+    private ArbolDiscriminacion<Clausula> primeros(Literal literal) {
+        return literal.isNegado() ? primerosNegativos : primerosPositivos;
+    }
+
+    private ArbolDiscriminacion<Clausula> todos(Literal literal) {
+        return literal.isNegado() ? todosNegativos : todosPositivos;
+    }
+}
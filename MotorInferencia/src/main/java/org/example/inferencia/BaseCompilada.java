@@ -0,0 +1,430 @@
+package org.example.inferencia;
+
+import org.example.indices.IndiceLiterales;
+import org.example.indices.IndiceSubsuncion;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.OyenteBase;
+import org.example.model.Regla;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// Cláusulas en FNC de una base de conocimiento, mantenidas al día junto con sus índices. Al
+// registrarse como oyente de la base, agregar o retirar un hecho o una regla actualiza solo su
+// cláusula, sin volver a convertir toda la base. Cada cláusula lleva un contador de
+// referencias, porque dos elementos distintos de la base pueden producir la misma cláusula.
+//
+// Una base también puede ser una capa sobre otra congelada (ver BaseVersionada): la capa indexa
+// solo las cláusulas que aparecen por primera vez en ella y anota en 'ajustes' el contador
+// nuevo de las cláusulas de capas inferiores que cambian (0 = retirada). Las capas inferiores
+// no se copian ni se modifican, así que varias versiones comparten las mismas
+public class BaseCompilada implements OyenteBase {
+    private final Map<Clausula, Integer> referencias = new LinkedHashMap<>();
+    private final IndiceLiterales indice = new IndiceLiterales();
+    private final IndiceSubsuncion subsuncion = new IndiceSubsuncion();
+
+    private final BaseCompilada anterior; // null en la capa de más abajo
+    private final BaseCompilada[] capas; // De la más antigua a esta
+    private final Map<Clausula, Integer> ajustes = new HashMap<>();
+    private int cantidad; // Cláusulas vigentes contando todas las capas
+    private boolean conRetiradas; // Alguna capa retira cláusulas de una capa inferior
+    private boolean congelada;
+    private volatile Set<Clausula> vigentes; // Caché de getClausulas cuando hay capas
+
+    // Distancias en el grafo de predicados desde cada predicado consultado (ver distanciasDesde);
+    // se descartan cuando cambia el conjunto de cláusulas
+    private final Map<Integer, Map<Integer, Integer>> distancias = new ConcurrentHashMap<>();
+
+    // Predicados consultados cuyas cláusulas relevantes son de Horn (ver esHornPara)
+    private final Map<Integer, Boolean> horn = new ConcurrentHashMap<>();
+
+    public BaseCompilada() {
+        this((BaseCompilada) null);
+    }
+
+    public BaseCompilada(Collection<Clausula> clausulas) {
+        this((BaseCompilada) null);
+        for (Clausula clausula : clausulas) {
+            agregarClausula(clausula); // No agregar, que una subclase podría redefinir
+        }
+    }
+
+    public static BaseCompilada de(BaseConocimiento base) {
+        BaseCompilada compilada = new BaseCompilada();
+        for (Hecho hecho : base.getHechos()) {
+            compilada.hechoAgregado(hecho);
+        }
+        for (Regla regla : base.getReglas()) {
+            compilada.reglaAgregada(regla);
+        }
+        for (Set<String> clausula : base.getClausulasDisyuntivas()) {
+            compilada.clausulaAgregada(clausula);
+        }
+        return compilada;
+    }
+
+    // Capa vacía sobre 'anterior', que tiene que estar congelada
+    BaseCompilada(BaseCompilada anterior) {
+        if (anterior != null && !anterior.congelada) {
+            throw new IllegalStateException("Solo se puede apilar una capa sobre una base congelada");
+        }
+        this.anterior = anterior;
+        if (anterior == null) {
+            this.capas = new BaseCompilada[]{this};
+        } else {
+            this.capas = Arrays.copyOf(anterior.capas, anterior.capas.length + 1);
+            this.capas[anterior.capas.length] = this;
+            this.cantidad = anterior.cantidad;
+            this.conRetiradas = anterior.conRetiradas;
+        }
+    }
+
+    public static Clausula clausulaDe(Hecho hecho) {
+        return Clausula.de(Compilador.literal(hecho.toString()));
+    }
+
+    public static Clausula clausulaDe(Regla regla) {
+        List<Literal> premisas = new ArrayList<>();
+        for (Hecho premisa : regla.getPremisas()) {
+            premisas.add(Compilador.literal(premisa.toString()));
+        }
+        return clausulaDe(premisas, Compilador.literal(regla.getConclusion().toString()));
+    }
+
+    // Premisas negadas más la conclusión
+    public static Clausula clausulaDe(List<Literal> premisas, Literal conclusion) {
+        List<Literal> literales = new ArrayList<>(premisas.size() + 1);
+        for (Literal premisa : premisas) {
+            literales.add(premisa.complemento());
+        }
+        literales.add(conclusion);
+        return Clausula.de(literales);
+    }
+
+    public void agregar(Clausula clausula) {
+        agregarClausula(clausula);
+    }
+
+    private void agregarClausula(Clausula clausula) {
+        comprobarModificable();
+        Integer propias = referencias.get(clausula);
+        if (propias != null) {
+            referencias.put(clausula, propias + 1);
+        } else if (anterior == null || !anterior.indexada(clausula)) {
+            indexar(clausula, 1);
+            cambio();
+        } else {
+            // Cláusula de una capa inferior (quizás retirada): solo cambia su contador
+            int actuales = cuenta(clausula);
+            ajustes.put(clausula, actuales + 1);
+            if (actuales == 0) {
+                cantidad++;
+                cambio();
+            }
+        }
+    }
+
+    public void retirar(Clausula clausula) {
+        comprobarModificable();
+        Integer propias = referencias.get(clausula);
+        if (propias == null) {
+            int actuales = anterior == null ? 0 : cuenta(clausula);
+            if (actuales > 0) {
+                ajustes.put(clausula, actuales - 1);
+                if (actuales == 1) {
+                    cantidad--;
+                    conRetiradas = true;
+                    cambio();
+                }
+            }
+            return;
+        }
+        if (propias > 1) {
+            referencias.put(clausula, propias - 1);
+            return;
+        }
+        referencias.remove(clausula);
+        indice.eliminar(clausula);
+        subsuncion.eliminar(clausula);
+        cantidad--;
+        cambio();
+    }
+
+    private void indexar(Clausula clausula, int contador) {
+        referencias.put(clausula, contador);
+        indice.agregar(clausula);
+        subsuncion.agregar(clausula);
+        cantidad++;
+    }
+
+    private void cambio() {
+        distancias.clear();
+        horn.clear();
+        vigentes = null;
+    }
+
+    private void comprobarModificable() {
+        if (congelada) {
+            throw new IllegalStateException("La base compilada está congelada (es una versión publicada)");
+        }
+    }
+
+    // Desde acá la base no cambia más y se puede leer desde varios hilos a la vez
+    void congelar() {
+        congelada = true;
+    }
+
+    // Con capas es una copia armada la primera vez que se pide (no sigue los cambios posteriores)
+    public Set<Clausula> getClausulas() {
+        if (anterior == null) {
+            return Collections.unmodifiableSet(referencias.keySet());
+        }
+        Set<Clausula> resultado = vigentes;
+        if (resultado == null) {
+            Set<Clausula> todas = new LinkedHashSet<>();
+            for (BaseCompilada capa : capas) {
+                for (Clausula clausula : capa.referencias.keySet()) {
+                    if (!conRetiradas || contiene(clausula)) {
+                        todas.add(clausula);
+                    }
+                }
+            }
+            resultado = Collections.unmodifiableSet(todas);
+            vigentes = resultado;
+        }
+        return resultado;
+    }
+
+    public boolean contiene(Clausula clausula) {
+        return anterior == null ? referencias.containsKey(clausula) : cuenta(clausula) > 0;
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    public int cantidadCapas() {
+        return capas.length;
+    }
+
+    // Cláusulas que indexa o ajusta la capa k (0 es la de más abajo)
+    int tamanoCapa(int k) {
+        return capas[k].referencias.size() + capas[k].ajustes.size();
+    }
+
+    // Contador de referencias vigente: lo decide la capa más alta que menciona la cláusula
+    private int cuenta(Clausula clausula) {
+        for (BaseCompilada capa = this; capa != null; capa = capa.anterior) {
+            Integer contador = capa.referencias.get(clausula);
+            if (contador == null) {
+                contador = capa.ajustes.get(clausula);
+            }
+            if (contador != null) {
+                return contador;
+            }
+        }
+        return 0;
+    }
+
+    private boolean indexada(Clausula clausula) {
+        for (BaseCompilada capa = this; capa != null; capa = capa.anterior) {
+            if (capa.referencias.containsKey(clausula)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Una sola capa con el contenido de las capas desde la k-ésima hasta esta, apoyada sobre las
+    // de abajo (que se comparten); con k = 0 es una base sin capas ni cláusulas retiradas
+    BaseCompilada fusionarDesde(int k) {
+        BaseCompilada fusion = new BaseCompilada(k == 0 ? null : capas[k - 1]);
+        for (int i = k; i < capas.length; i++) {
+            for (Clausula clausula : capas[i].referencias.keySet()) {
+                int contador = cuenta(clausula);
+                if (contador > 0) {
+                    fusion.indexar(clausula, contador);
+                }
+            }
+            for (Clausula clausula : capas[i].ajustes.keySet()) {
+                if (fusion.anterior != null && fusion.anterior.indexada(clausula)) {
+                    int contador = cuenta(clausula);
+                    fusion.ajustes.put(clausula, contador);
+                    fusion.conRetiradas |= contador == 0;
+                }
+            }
+        }
+        fusion.cantidad = cantidad;
+        return fusion;
+    }
+
+    public BaseCompilada compactada() {
+        return fusionarDesde(0);
+    }
+
+    // Ocurrencias complementarias entre las cláusulas vigentes de todas las capas
+    List<IndiceLiterales.Ocurrencia> complementarios(Literal literal) {
+        if (anterior == null) {
+            return indice.complementarios(literal);
+        }
+        List<IndiceLiterales.Ocurrencia> resultado = new ArrayList<>();
+        for (BaseCompilada capa : capas) {
+            for (IndiceLiterales.Ocurrencia ocurrencia : capa.indice.complementarios(literal)) {
+                if (!conRetiradas || contiene(ocurrencia.clausula())) {
+                    resultado.add(ocurrencia);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Subsunción contra las cláusulas vigentes de la base que además cumplen 'vigente'
+    boolean estaSubsumida(Clausula clausula, Predicate<Clausula> vigente) {
+        Predicate<Clausula> filtro = filtro(vigente);
+        for (BaseCompilada capa : capas) {
+            if (capa.subsuncion.estaSubsumida(clausula, filtro)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    List<Clausula> subsumidasPor(Clausula clausula, Predicate<Clausula> vigente) {
+        if (anterior == null) {
+            return subsuncion.subsumidasPor(clausula, vigente);
+        }
+        Predicate<Clausula> filtro = filtro(vigente);
+        List<Clausula> resultado = new ArrayList<>();
+        for (BaseCompilada capa : capas) {
+            resultado.addAll(capa.subsuncion.subsumidasPor(clausula, filtro));
+        }
+        return resultado;
+    }
+
+    private Predicate<Clausula> filtro(Predicate<Clausula> vigente) {
+        return conRetiradas ? c -> contiene(c) && vigente.test(c) : vigente;
+    }
+
+    // Distancia (en recorrido en anchura) de cada predicado al dado, donde dos predicados son
+    // vecinos si aparecen juntos en alguna cláusula de la base
+    Map<Integer, Integer> distanciasDesde(int predicado) {
+        return distancias.computeIfAbsent(predicado, this::calcularDistancias);
+    }
+
+    // ¿Alcanza el encadenamiento hacia atrás para una consulta positiva sobre el predicado? Los
+    // predicados relevantes son el consultado y, recursivamente, los de las cláusulas con un
+    // literal positivo relevante; todas esas cláusulas deben tener un único literal positivo.
+    // Las cláusulas sin literales positivos no importan: con conjunto de soporte, los
+    // descendientes de la consulta negada tampoco tienen literales positivos y no resuelven con ellas
+    public boolean esHornPara(int predicado) {
+        return horn.computeIfAbsent(predicado, this::calcularHorn);
+    }
+
+    private boolean calcularHorn(int origen) {
+        Map<Integer, List<Clausula>> porCabeza = new HashMap<>();
+        for (Clausula clausula : getClausulas()) {
+            for (int i = 0; i < clausula.size(); i++) {
+                if (!clausula.literal(i).isNegado()) {
+                    porCabeza.computeIfAbsent(clausula.literal(i).getPredicado(), p -> new ArrayList<>()).add(clausula);
+                }
+            }
+        }
+
+        Set<Integer> relevantes = new HashSet<>();
+        ArrayDeque<Integer> frontera = new ArrayDeque<>();
+        relevantes.add(origen);
+        frontera.add(origen);
+        while (!frontera.isEmpty()) {
+            for (Clausula clausula : porCabeza.getOrDefault(frontera.poll(), Collections.emptyList())) {
+                int positivos = 0;
+                for (int i = 0; i < clausula.size(); i++) {
+                    Literal literal = clausula.literal(i);
+                    if (!literal.isNegado()) {
+                        positivos++;
+                    } else if (relevantes.add(literal.getPredicado())) {
+                        frontera.add(literal.getPredicado());
+                    }
+                }
+                if (positivos > 1) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private Map<Integer, Integer> calcularDistancias(int origen) {
+        Map<Integer, Set<Integer>> vecinos = new HashMap<>();
+        for (Clausula clausula : getClausulas()) {
+            for (int i = 0; i < clausula.size(); i++) {
+                for (int j = 0; j < clausula.size(); j++) {
+                    if (i != j) {
+                        vecinos.computeIfAbsent(clausula.literal(i).getPredicado(), p -> new HashSet<>())
+                                .add(clausula.literal(j).getPredicado());
+                    }
+                }
+            }
+        }
+
+        Map<Integer, Integer> resultado = new HashMap<>();
+        ArrayDeque<Integer> frontera = new ArrayDeque<>();
+        resultado.put(origen, 0);
+        frontera.add(origen);
+        while (!frontera.isEmpty()) {
+            int actual = frontera.poll();
+            for (int vecino : vecinos.getOrDefault(actual, Collections.emptySet())) {
+                if (!resultado.containsKey(vecino)) {
+                    resultado.put(vecino, resultado.get(actual) + 1);
+                    frontera.add(vecino);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public void hechoAgregado(Hecho hecho) {
+        agregar(clausulaDe(hecho));
+    }
+
+    @Override
+    public void hechoRetirado(Hecho hecho) {
+        retirar(clausulaDe(hecho));
+    }
+
+    @Override
+    public void reglaAgregada(Regla regla) {
+        agregar(clausulaDe(regla));
+    }
+
+    @Override
+    public void reglaRetirada(Regla regla) {
+        retirar(clausulaDe(regla));
+    }
+
+    @Override
+    public void clausulaAgregada(Set<String> clausula) {
+        agregar(Compilador.clausula(clausula));
+    }
+
+    @Override
+    public void clausulaRetirada(Set<String> clausula) {
+        retirar(Compilador.clausula(clausula));
+    }
+}
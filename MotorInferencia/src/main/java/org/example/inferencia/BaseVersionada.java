@@ -0,0 +1,174 @@
+package org.example.inferencia;
+
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.OyenteBase;
+import org.example.model.Regla;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Cláusulas versionadas para un escritor y muchos lectores. Un lector toma la versión actual
+// (actual()) sin bloqueo y la consulta entera aunque mientras tanto se publiquen otras; nunca ve
+// una versión a medio armar ni espera al escritor. El escritor acumula los cambios en una capa
+// nueva sobre la versión actual y al publicar la deja congelada en la referencia atómica; las
+// capas de abajo se comparten entre versiones sin copiarlas.
+//
+// Para que las capas no se acumulen, al publicar la capa nueva se fusiona con las de abajo
+// mientras la de abajo no sea más del doble de lo acumulado (como en un árbol LSM): cada capa
+// es más del doble de todas las de arriba juntas, así que hay O(log n) capas y cada cláusula
+// se vuelve a indexar O(log n) veces en total. Cuando la fusión llega a la capa de más abajo
+// también se descartan las cláusulas retiradas.
+//
+// Los escritores se serializan entre sí (métodos synchronized). Al registrarse como oyente de
+// una BaseConocimiento (ver de), los cambios de la base se publican como versiones nuevas
+public class BaseVersionada implements OyenteBase {
+    private final AtomicReference<VersionBase> actual;
+    private final int cambiosPorVersion; // 0 = solo se publica al llamar a publicar()
+
+    private BaseCompilada enConstruccion; // null si no hay cambios sin publicar
+    private int cambiosPendientes = 0;
+    private long fusiones = 0;
+    private long clausulasFusionadas = 0;
+
+    public BaseVersionada() {
+        this(new BaseCompilada(), 1);
+    }
+
+    public BaseVersionada(BaseCompilada inicial) {
+        this(inicial, 1);
+    }
+
+    // Con cambiosPorVersion > 1 los cambios se publican por tandas: una carga masiva no arma una
+    // versión por cláusula, a cambio de que los lectores vean los cambios un poco después
+    public BaseVersionada(BaseCompilada inicial, int cambiosPorVersion) {
+        if (cambiosPorVersion < 0) {
+            throw new IllegalArgumentException("Cambios por versión inválidos: " + cambiosPorVersion);
+        }
+        // Copia: la base inicial puede seguir cambiando por su cuenta
+        BaseCompilada primera = inicial.compactada();
+        primera.congelar();
+        this.actual = new AtomicReference<>(new VersionBase(0, primera));
+        this.cambiosPorVersion = cambiosPorVersion;
+    }
+
+    // Versionada de la base de conocimiento, que queda registrada como oyente
+    public static BaseVersionada de(BaseConocimiento base) {
+        BaseVersionada versionada = new BaseVersionada(BaseCompilada.de(base));
+        base.agregarOyente(versionada);
+        return versionada;
+    }
+
+    public VersionBase actual() {
+        return actual.get();
+    }
+
+    public synchronized void agregar(Clausula clausula) {
+        capaEnConstruccion().agregar(clausula);
+        cambio();
+    }
+
+    public synchronized void retirar(Clausula clausula) {
+        capaEnConstruccion().retirar(clausula);
+        cambio();
+    }
+
+    // Publica los cambios pendientes como una versión nueva y la devuelve (sin cambios pendientes
+    // devuelve la actual)
+    public synchronized VersionBase publicar() {
+        VersionBase anterior = actual.get();
+        if (enConstruccion == null) {
+            return anterior;
+        }
+        if (enConstruccion.tamanoCapa(enConstruccion.cantidadCapas() - 1) == 0) {
+            // Los cambios se cancelaron entre sí (o retiraron cláusulas que no estaban)
+            enConstruccion = null;
+            cambiosPendientes = 0;
+            return anterior;
+        }
+        BaseCompilada clausulas = fusionar(enConstruccion);
+        clausulas.congelar();
+        VersionBase nueva = new VersionBase(anterior.getNumero() + 1, clausulas);
+        enConstruccion = null;
+        cambiosPendientes = 0;
+        actual.set(nueva);
+        return nueva;
+    }
+
+    private BaseCompilada capaEnConstruccion() {
+        if (enConstruccion == null) {
+            enConstruccion = new BaseCompilada(actual.get().getClausulas());
+        }
+        return enConstruccion;
+    }
+
+    private void cambio() {
+        cambiosPendientes++;
+        if (cambiosPorVersion > 0 && cambiosPendientes >= cambiosPorVersion) {
+            publicar();
+        }
+    }
+
+    // Fusiona la capa de arriba con las de abajo mientras la de abajo no sea más del doble de lo
+    // acumulado
+    private BaseCompilada fusionar(BaseCompilada base) {
+        int arriba = base.cantidadCapas() - 1;
+        int desde = arriba;
+        long acumulado = base.tamanoCapa(arriba);
+        while (desde > 0 && base.tamanoCapa(desde - 1) <= 2 * acumulado) {
+            desde--;
+            acumulado += base.tamanoCapa(desde);
+        }
+        if (desde == arriba) {
+            return base;
+        }
+        fusiones++;
+        clausulasFusionadas += acumulado;
+        return base.fusionarDesde(desde);
+    }
+
+    public synchronized int getCambiosPendientes() {
+        return cambiosPendientes;
+    }
+
+    public synchronized long getFusiones() {
+        return fusiones;
+    }
+
+    // Cláusulas vueltas a indexar por las fusiones, en total
+    public synchronized long getClausulasFusionadas() {
+        return clausulasFusionadas;
+    }
+
+    @Override
+    public void hechoAgregado(Hecho hecho) {
+        agregar(BaseCompilada.clausulaDe(hecho));
+    }
+
+    @Override
+    public void hechoRetirado(Hecho hecho) {
+        retirar(BaseCompilada.clausulaDe(hecho));
+    }
+
+    @Override
+    public void reglaAgregada(Regla regla) {
+        agregar(BaseCompilada.clausulaDe(regla));
+    }
+
+    @Override
+    public void reglaRetirada(Regla regla) {
+        retirar(BaseCompilada.clausulaDe(regla));
+    }
+
+    @Override
+    public void clausulaAgregada(Set<String> clausula) {
+        agregar(Compilador.clausula(clausula));
+    }
+
+    @Override
+    public void clausulaRetirada(Set<String> clausula) {
+        retirar(Compilador.clausula(clausula));
+    }
+}
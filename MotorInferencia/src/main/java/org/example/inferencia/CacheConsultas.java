@@ -0,0 +1,129 @@
+package org.example.inferencia;
+
+import lombok.Getter;
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+import org.example.model.BaseConocimiento;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Caché de respuestas de consultas con desalojo LRU. La clave es la consulta canonizada (variables
+// renombradas en orden de aparición) junto con la base y su versión, así que cualquier cambio en
+// la base invalida las entradas anteriores sin tener que recorrerlas, y una caché compartida por
+// motores sobre bases distintas no mezcla sus respuestas aunque las versiones coincidan.
+// Opcionalmente guarda como lemas las consultas base demostradas, para que otras consultas sobre
+// la misma versión de la misma base las usen como cláusulas unitarias
+public class CacheConsultas {
+    // BaseConocimiento no redefine equals: las bases se comparan por identidad
+    private record Clave(BaseConocimiento base, Literal consulta, long version) {
+    }
+
+    @Getter
+    private final int capacidad;
+    @Getter
+    private final boolean reutilizarLemas;
+    @Getter
+    private long aciertos = 0;
+    @Getter
+    private long fallos = 0;
+    @Getter
+    private long desalojos = 0;
+
+    private final LinkedHashMap<Clave, Boolean> respuestas;
+    private final List<Clausula> lemas = new ArrayList<>();
+    private BaseConocimiento baseLemas;
+    private long versionLemas = -1;
+
+    public CacheConsultas(int capacidad, boolean reutilizarLemas) {
+        this.capacidad = capacidad;
+        this.reutilizarLemas = reutilizarLemas;
+        this.respuestas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Boolean> mayor) {
+                if (size() > CacheConsultas.this.capacidad) {
+                    desalojos++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Respuesta guardada para la consulta en esa versión de la base, o null si no hay
+    public synchronized Boolean buscar(BaseConocimiento base, Literal consulta, long version) {
+        Boolean respuesta = respuestas.get(new Clave(base, canonizar(consulta), version));
+        if (respuesta != null) {
+            aciertos++;
+        } else {
+            fallos++;
+        }
+        return respuesta;
+    }
+
+    public synchronized void guardar(BaseConocimiento base, Literal consulta, long version, boolean respuesta) {
+        respuestas.put(new Clave(base, canonizar(consulta), version), respuesta);
+
+        if (reutilizarLemas && respuesta && consulta.getAtomo().esBase()) {
+            if (baseLemas != base || versionLemas != version) {
+                lemas.clear();
+                baseLemas = base;
+                versionLemas = version;
+            }
+            lemas.add(Clausula.de(consulta));
+        }
+    }
+
+    // Lemas válidos para esa versión de la base (vacío si la base cambió desde que se demostraron)
+    public synchronized List<Clausula> lemas(BaseConocimiento base, long version) {
+        if (!reutilizarLemas || baseLemas != base || versionLemas != version) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(lemas);
+    }
+
+    public synchronized int size() {
+        return respuestas.size();
+    }
+
+    public synchronized double tasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    public synchronized void limpiar() {
+        respuestas.clear();
+        lemas.clear();
+        baseLemas = null;
+        versionLemas = -1;
+    }
+
+    // Renombra las variables en orden de aparición (?0, ?1, ...) para que consultas iguales salvo
+    // por el nombre de sus variables compartan la entrada
+    static Literal canonizar(Literal consulta) {
+        if (consulta.getAtomo().esBase()) {
+            return consulta;
+        }
+        Termino atomo = canonizar(consulta.getAtomo(), new HashMap<>());
+        return new Literal(atomo, consulta.isNegado());
+    }
+
+    private static Termino canonizar(Termino termino, Map<Termino, Termino> renombres) {
+        if (termino.esBase()) {
+            return termino;
+        }
+        if (termino.esVariable()) {
+            return renombres.computeIfAbsent(termino, v -> Termino.variableNumerada(renombres.size()));
+        }
+        Termino[] argumentos = new Termino[termino.aridad()];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = canonizar(termino.argumento(i), renombres);
+        }
+        return Termino.compuesto(termino.getSimbolo(), argumentos);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.inferencia;
+
+import org.example.logica.Clausula;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Cláusulas pendientes ordenadas según la estrategia de selección. Las cláusulas retiradas por
+// subsunción se sacan solo del mapa de vigentes y la cola las descarta al llegar a ellas
+class ColaPendientes {
+    private record Entrada(Clausula clausula, long edad, int clave, int desempate) {
+    }
+
+    private static final Comparator<Entrada> ORDEN = Comparator.comparingInt(Entrada::clave)
+            .thenComparingInt(Entrada::desempate)
+            .thenComparingLong(Entrada::edad);
+
+    private static final int SIN_CONEXION = 1_000;
+
+    private final EstrategiaSeleccion estrategia;
+    private final int proporcionEdadPeso;
+    private final Map<Integer, Integer> distancias; // Solo para DISTANCIA_META
+
+    private final Map<Clausula, Long> vigentes = new HashMap<>();
+    private final ArrayDeque<Entrada> porEdad = new ArrayDeque<>();
+    private final PriorityQueue<Entrada> porPrioridad = new PriorityQueue<>(ORDEN);
+    private long siguienteEdad = 0;
+    private long elecciones = 0;
+
+    ColaPendientes(EstrategiaSeleccion estrategia, int proporcionEdadPeso, Map<Integer, Integer> distancias) {
+        this.estrategia = estrategia;
+        this.proporcionEdadPeso = proporcionEdadPeso;
+        this.distancias = distancias;
+    }
+
+    boolean isEmpty() {
+        return vigentes.isEmpty();
+    }
+
+    int size() {
+        return vigentes.size();
+    }
+
+    boolean agregar(Clausula clausula) {
+        if (vigentes.containsKey(clausula)) {
+            return false;
+        }
+        long edad = siguienteEdad++;
+        vigentes.put(clausula, edad);
+
+        int peso = peso(clausula);
+        switch (estrategia) {
+            case ANTIGUEDAD -> porEdad.add(new Entrada(clausula, edad, 0, 0));
+            case PESO -> porPrioridad.add(new Entrada(clausula, edad, peso, 0));
+            case EDAD_PESO -> {
+                Entrada entrada = new Entrada(clausula, edad, peso, 0);
+                porEdad.add(entrada);
+                porPrioridad.add(entrada);
+            }
+            case UNITARIA -> porPrioridad.add(new Entrada(clausula, edad, clausula.size(), peso));
+            case DISTANCIA_META -> {
+                // Peso penalizado por la distancia: solo la distancia lleva a cláusulas largas
+                int distancia = distancia(clausula);
+                porPrioridad.add(new Entrada(clausula, edad, peso + distancia, distancia));
+            }
+        }
+        return true;
+    }
+
+    boolean quitar(Clausula clausula) {
+        return vigentes.remove(clausula) != null;
+    }
+
+    Clausula siguiente() {
+        boolean porAntiguedad = estrategia == EstrategiaSeleccion.ANTIGUEDAD ||
+                (estrategia == EstrategiaSeleccion.EDAD_PESO && elecciones % (proporcionEdadPeso + 1) == 0);
+        elecciones++;
+
+        while (true) {
+            Entrada entrada = porAntiguedad ? porEdad.poll() : porPrioridad.poll();
+            if (entrada == null) {
+                throw new IllegalStateException("No hay cláusulas pendientes");
+            }
+            // Descartar las retiradas (o ya elegidas desde la otra cola)
+            Long edad = vigentes.get(entrada.clausula());
+            if (edad != null && edad == entrada.edad()) {
+                vigentes.remove(entrada.clausula());
+                return entrada.clausula();
+            }
+        }
+    }
+
+    // Cantidad de símbolos de la cláusula
+    private static int peso(Clausula clausula) {
+        int peso = 0;
+        for (int i = 0; i < clausula.size(); i++) {
+            peso += clausula.literal(i).getAtomo().getPeso();
+        }
+        return peso;
+    }
+
+    // Menor distancia de sus predicados a la consulta; los que no están conectados van al final
+    private int distancia(Clausula clausula) {
+        int minima = SIN_CONEXION;
+        for (int i = 0; i < clausula.size(); i++) {
+            Integer distancia = distancias.get(clausula.literal(i).getPredicado());
+            if (distancia != null) {
+                minima = Math.min(minima, distancia);
+            }
+        }
+        return minima;
+    }
+}
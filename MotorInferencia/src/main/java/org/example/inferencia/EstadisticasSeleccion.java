@@ -0,0 +1,32 @@
+package org.example.inferencia;
+
+import lombok.Getter;
+
+// Cuántas cláusulas dadas procesó una estrategia de selección hasta decidir cada consulta
+@Getter
+public class EstadisticasSeleccion {
+    private long consultas = 0;
+    private long refutaciones = 0; // Consultas en las que se derivó la cláusula vacía
+    private long clausulasDadas = 0;
+    private long clausulasDadasHastaRefutar = 0;
+
+    synchronized void registrar(int dadas, boolean refutada) {
+        consultas++;
+        clausulasDadas += dadas;
+        if (refutada) {
+            refutaciones++;
+            clausulasDadasHastaRefutar += dadas;
+        }
+    }
+
+    // Promedio de cláusulas dadas antes de encontrar la cláusula vacía
+    public synchronized double promedioHastaRefutar() {
+        return refutaciones == 0 ? 0 : (double) clausulasDadasHastaRefutar / refutaciones;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return consultas + " consultas, " + refutaciones + " refutadas, " + clausulasDadas + " cláusulas dadas (" +
+                String.format("%.1f", promedioHastaRefutar()) + " en promedio hasta la cláusula vacía)";
+    }
+}
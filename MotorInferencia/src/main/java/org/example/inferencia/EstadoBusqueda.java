@@ -0,0 +1,208 @@
+package org.example.inferencia;
+
+import org.example.indices.IndiceLiterales;
+import org.example.indices.IndiceSubsuncion;
+import org.example.logica.ArenaClausulas;
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Estado de una búsqueda de cláusula dada. Las cláusulas de la base compilada se usan como
+// procesadas sin copiarlas ni reindexarlas: la búsqueda solo indexa sus propias cláusulas
+// (procesadas, pendientes y vivas) y anota aparte las cláusulas de la base que eliminó por
+// subsunción, sin modificar la base compartida
+class EstadoBusqueda {
+    private final BaseCompilada base;
+    private final Set<Clausula> eliminadasBase = new HashSet<>();
+
+    final IndiceLiterales procesadas = new IndiceLiterales();
+    final IndiceSubsuncion vivas = new IndiceSubsuncion();
+    final ColaPendientes pendientes;
+    final EstrategiaSeleccion estrategia;
+
+    int resoluciones = 0;
+    int paresIntentados = 0;
+    int subsumidasHaciaAdelante = 0;
+    int subsumidasHaciaAtras = 0;
+    int maximoClausulasVivas = 0;
+    int clausulasDadas = 0;
+
+    // Presupuesto de la consulta: el bucle consulta agotado() y se detiene al primer límite
+    private final Presupuesto presupuesto;
+    private final long inicio = System.nanoTime();
+    ResultadoConsulta.Limite limite;
+    int descartadasPorLongitud = 0;
+
+    // Procedencia de las cláusulas, solo si se registran pruebas (null si no); 'conclusion' es el
+    // número de la cláusula vacía
+    RegistroDerivaciones derivaciones;
+    int conclusion = -1;
+
+    // Resolventes ya generados en esta búsqueda, guardados como enteros (ver
+    // MotorInferencia.resolverEnArena); null si el motor arma cada resolvente como Clausula
+    ArenaClausulas arena;
+    private int[] codigos = new int[16];
+
+    EstadoBusqueda(BaseCompilada base) {
+        this(base, EstrategiaSeleccion.ANTIGUEDAD, 0, null, new Presupuesto());
+    }
+
+    // La meta (la consulta) solo hace falta para la estrategia DISTANCIA_META
+    EstadoBusqueda(BaseCompilada base, EstrategiaSeleccion estrategia, int proporcionEdadPeso, Literal meta,
+                   Presupuesto presupuesto) {
+        this.base = base;
+        this.estrategia = estrategia;
+        this.presupuesto = presupuesto;
+        this.maximoClausulasVivas = base.size();
+        this.pendientes = new ColaPendientes(estrategia, proporcionEdadPeso,
+                estrategia == EstrategiaSeleccion.DISTANCIA_META ? base.distanciasDesde(meta.getPredicado()) : null);
+    }
+
+    // Ocurrencias complementarias entre las cláusulas procesadas (de la base y de la búsqueda)
+    List<IndiceLiterales.Ocurrencia> complementarios(Literal literal) {
+        List<IndiceLiterales.Ocurrencia> resultado = new ArrayList<>();
+        for (IndiceLiterales.Ocurrencia ocurrencia : base.complementarios(literal)) {
+            if (!eliminadasBase.contains(ocurrencia.clausula())) {
+                resultado.add(ocurrencia);
+            }
+        }
+        resultado.addAll(procesadas.complementarios(literal));
+        return resultado;
+    }
+
+    boolean estaViva(Clausula clausula) {
+        return vivas.contiene(clausula) || (base.contiene(clausula) && !eliminadasBase.contains(clausula));
+    }
+
+    int cantidadProcesadas() {
+        return base.size() - eliminadasBase.size() + procesadas.getCantidadClausulas();
+    }
+
+    int cantidadVivas() {
+        return base.size() - eliminadasBase.size() + vivas.size();
+    }
+
+    // Cláusula auxiliar (por ejemplo un lema) que la búsqueda trata como procesada desde el inicio
+    void agregarProcesada(Clausula clausula) {
+        if (!estaViva(clausula) && vivas.agregar(clausula)) {
+            procesadas.agregar(clausula);
+            if (derivaciones != null) {
+                derivaciones.registrar(clausula, Prueba.Origen.LEMA);
+            }
+            maximoClausulasVivas = Math.max(maximoClausulasVivas, cantidadVivas());
+        }
+    }
+
+    // La cláusula dada pasa a procesadas salvo que haya sido eliminada por subsunción
+    void terminarDada(Clausula dada) {
+        if (vivas.contiene(dada)) {
+            procesadas.agregar(dada);
+        }
+    }
+
+    // Antes de elegir otra cláusula dada (con pendientes): también cuenta el límite de iteraciones
+    boolean agotadoAntesDeElegir(long resoluciones) {
+        if (limite == null && presupuesto.getMaxIteraciones() > 0 && clausulasDadas >= presupuesto.getMaxIteraciones()) {
+            limite = ResultadoConsulta.Limite.ITERACIONES;
+        }
+        return agotado(resoluciones);
+    }
+
+    // Comprueba los límites del presupuesto; el primero que se supera queda en 'limite'
+    boolean agotado(long resoluciones) {
+        if (limite != null) {
+            return true;
+        }
+        if (presupuesto.getMaxResoluciones() > 0 && resoluciones >= presupuesto.getMaxResoluciones()) {
+            limite = ResultadoConsulta.Limite.RESOLUCIONES;
+        } else if (presupuesto.getMaxClausulasVivas() > 0 && cantidadVivas() > presupuesto.getMaxClausulasVivas()) {
+            limite = ResultadoConsulta.Limite.CLAUSULAS_VIVAS;
+        } else if (presupuesto.getPlazo() != null && System.nanoTime() - inicio >= presupuesto.getPlazo().toNanos()) {
+            limite = ResultadoConsulta.Limite.PLAZO;
+        }
+        return limite != null;
+    }
+
+    long nanosegundos() {
+        return System.nanoTime() - inicio;
+    }
+
+    Clausula siguientePendiente() {
+        clausulasDadas++;
+        return pendientes.siguiente();
+    }
+
+    // Arreglo de trabajo donde se arman los códigos de un resolvente antes de pasarlo a la arena
+    int[] codigosResolvente(int capacidad) {
+        if (codigos.length < capacidad) {
+            codigos = new int[Math.max(capacidad, codigos.length * 2)];
+        }
+        return codigos;
+    }
+
+    // Filtro previo a incorporar para el resolvente armado en codigosResolvente: devuelve null si
+    // es más largo de lo permitido o si ya se había generado en esta búsqueda, y solo en otro
+    // caso crea la Clausula. La arena solo junta literales idénticos (mismo átomo y signo), igual
+    // que Clausula.normalizar, así que "repetido" quiere decir la misma Clausula, no una
+    // factorización. Un resolvente repetido siempre queda subsumido por una cláusula viva: la
+    // primera vez se retuvo (y sigue vivo) o lo subsumía una cláusula viva; y una cláusula viva
+    // solo deja de estarlo cuando la reemplaza otra que la subsume. Como la subsunción de
+    // IndiceSubsuncion es inyectiva se compone, así que esa última también subsume al resolvente
+    Clausula resolventeNuevo(int cantidad) {
+        int posicion = arena.agregar(codigos, cantidad);
+        boolean repetido = posicion < 0;
+        if (repetido) {
+            posicion = -posicion - 1;
+        }
+
+        if (presupuesto.getMaxLongitudClausula() > 0 &&
+                arena.cantidadLiterales(posicion) > presupuesto.getMaxLongitudClausula()) {
+            descartadasPorLongitud++;
+            return null;
+        }
+        if (repetido) {
+            subsumidasHaciaAdelante++;
+            return null;
+        }
+        return arena.clausula(posicion);
+    }
+
+    // Incorpora una cláusula nueva como pendiente aplicando subsunción hacia adelante y hacia
+    // atrás; devuelve false si ya había una cláusula viva igual o más general (o si es más
+    // larga de lo que permite el presupuesto)
+    boolean incorporar(Clausula clausula) {
+        if (presupuesto.getMaxLongitudClausula() > 0 && clausula.size() > presupuesto.getMaxLongitudClausula()) {
+            descartadasPorLongitud++;
+            return false;
+        }
+
+        if (vivas.estaSubsumida(clausula) ||
+                base.estaSubsumida(clausula, c -> !eliminadasBase.contains(c))) {
+            subsumidasHaciaAdelante++;
+            return false;
+        }
+
+        // El resolvente reemplaza a las cláusulas menos generales (la cláusula dada en curso no
+        // está ni en procesadas ni en pendientes, así que basta con sacarla de las vivas)
+        for (Clausula subsumida : vivas.subsumidasPor(clausula)) {
+            vivas.eliminar(subsumida);
+            if (!pendientes.quitar(subsumida)) {
+                procesadas.eliminar(subsumida);
+            }
+            subsumidasHaciaAtras++;
+        }
+        for (Clausula subsumida : base.subsumidasPor(clausula, c -> !eliminadasBase.contains(c))) {
+            eliminadasBase.add(subsumida);
+            subsumidasHaciaAtras++;
+        }
+
+        vivas.agregar(clausula);
+        pendientes.agregar(clausula);
+        maximoClausulasVivas = Math.max(maximoClausulasVivas, cantidadVivas());
+        return true;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.inferencia;
+
+// Criterio con el que el bucle de cláusula dada elige la siguiente cláusula pendiente
+public enum EstrategiaSeleccion {
+    ANTIGUEDAD, // La más antigua primero (FIFO, búsqueda en anchura)
+    PESO, // La de menos símbolos primero
+    EDAD_PESO, // Pick-given: una por antigüedad cada tantas por peso (ver setProporcionEdadPeso)
+    UNITARIA, // Preferencia unitaria: menos literales primero, luego menos símbolos
+    DISTANCIA_META // Más cerca (en el grafo de predicados de la base) de la consulta negada
+}
@@ -1,176 +1,812 @@
 package org.example.inferencia;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.example.indices.IndiceLiterales;
+import org.example.logica.ArenaClausulas;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.example.metricas.EventoConsulta;
+import org.example.metricas.EventoFase;
+import org.example.metricas.Fase;
+import org.example.metricas.MetricasMotor;
 import org.example.model.BaseConocimiento;
 import org.example.model.Hecho;
 import org.example.model.Regla;
-import org.example.utils.Unificador;
+import org.example.persistencia.InstantaneaBase;
+import org.example.rete.RedRete;
+import org.example.sld.MotorSLD;
+import org.example.utils.Ligaduras;
+import org.example.utils.UnificadorTerminos;
 
+import java.io.Serial;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 @Setter
 @NoArgsConstructor
 public class MotorInferencia {
     private BaseConocimiento base;
-    private static final int MAX_ITERACIONES = 1000;
-    private Map<String, String> sustitucionVariables = new HashMap<>();
-    private Unificador unificador = new Unificador();
+    // Límites por defecto de cada consulta (ver consultar para indicarlos por llamada)
+    private Presupuesto presupuesto = new Presupuesto();
+    private UnificadorTerminos unificador = new UnificadorTerminos();
+
+    // Estadísticas de la última consulta y cláusulas de la última convertirAFNC: solo lectura
+    @Setter(AccessLevel.NONE)
     private int resolucionesRealizadas = 0;
+    @Setter(AccessLevel.NONE)
+    private int paresIntentados = 0;
+    @Setter(AccessLevel.NONE)
+    private int subsumidasHaciaAdelante = 0;
+    @Setter(AccessLevel.NONE)
+    private int subsumidasHaciaAtras = 0;
+    @Setter(AccessLevel.NONE)
+    private int maximoClausulasVivas = 0;
+    @Setter(AccessLevel.NONE)
+    private List<Clausula> clausulasFNC = new ArrayList<>();
+
+    // Resolución paralela por generaciones (ver saturarEnParalelo)
+    private boolean modoParalelo = false;
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+    private int tamanoGeneracion = 32;
+
+    // Hilos del modo paralelo y de consultarLote en paralelo: se crean al primer uso y se reusan
+    // en las consultas siguientes (ver pool()). Sus hilos son demonios y terminan solos cuando
+    // quedan ociosos, así que el motor no necesita cerrarse
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ForkJoinPool pool;
+
+    // En la saturación secuencial los resolventes se arman como códigos enteros en una arena por
+    // consulta (ver ArenaClausulas) y solo se crea la Clausula de los que no se habían generado
+    // antes; false para armar cada resolvente como Clausula (el modo paralelo lo hace siempre)
+    private boolean arenaResolventes = true;
+
+    // Estructuras que siguen los cambios de la base (ver getBaseCompilada y consultarPorEncadenamiento)
+    @Setter(AccessLevel.NONE)
+    private BaseCompilada baseCompilada;
+    @Setter(AccessLevel.NONE)
+    private RedRete red;
+
+    // Selección de la siguiente cláusula dada (ver ColaPendientes) y cláusulas dadas por estrategia
+    private EstrategiaSeleccion estrategia = EstrategiaSeleccion.ANTIGUEDAD;
+    private int proporcionEdadPeso = 4; // EDAD_PESO: por cada cláusula más antigua, cuatro por peso
+    @Setter(AccessLevel.NONE)
+    private int clausulasDadas = 0;
+    @Setter(AccessLevel.NONE)
+    private EstrategiaSeleccion estrategiaUsada; // La de la última refutación, que puede no ser la configurada
+    private final Map<EstrategiaSeleccion, EstadisticasSeleccion> estadisticasSeleccion =
+            new EnumMap<>(EstrategiaSeleccion.class);
+
+    // Lemas de la base para consultarLote y versión de la base con la que se calcularon
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<Clausula> lemasBase;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long versionLemasBase = -1;
+
+    // Caché opcional de respuestas para resolver(String); null para desactivarla. Puede
+    // compartirse entre motores: sus claves llevan la base además de la versión
+    private CacheConsultas cache;
+
+    // Instrumentación: las métricas están desactivadas por defecto (MetricasMotor.NULAS) y la
+    // traza de la búsqueda solo se emite si se configura un oyente (por ejemplo TrazaConsola)
+    private MetricasMotor metricas = MetricasMotor.NULAS;
+    private OyenteTraza traza;
+
+    // Con registrarPruebas cada cláusula de la búsqueda guarda de qué padres salió y, si se
+    // encuentra la cláusula vacía, se extrae la prueba (ver RegistroDerivaciones)
+    private boolean registrarPruebas = false;
+    @Setter(AccessLevel.NONE)
+    private Prueba prueba;
+
+    // Las consultas positivas cuyas cláusulas relevantes son de Horn se resuelven por
+    // encadenamiento hacia atrás con tabulación (ver MotorSLD y BaseCompilada.esHornPara), salvo
+    // que se pidan pruebas; false para usar siempre la refutación. Las tablas valen mientras la
+    // base no cambie
+    private boolean encadenamientoHaciaAtras = true;
+    @Setter(AccessLevel.NONE)
+    private MotorSLD motorSLD;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long versionMotorSLD = -1;
+
+    // Cláusulas fijas cargadas de una instantánea (ver MotorInferencia(InstantaneaBase)); null si no hay
+    @Setter(AccessLevel.NONE)
+    private InstantaneaBase instantanea;
 
     public MotorInferencia(BaseConocimiento base) {
         this.base = base;
     }
 
+    // Motor sobre una instantánea: la base compilada y la red Rete se arman directamente desde el
+    // archivo, sin pasar por Hecho/Regla ni por convertirAFNC. La base de conocimiento empieza
+    // vacía y lo que se le agregue se suma a las cláusulas de la instantánea, que no se pueden retirar
+    public MotorInferencia(InstantaneaBase instantanea) {
+        this.base = new BaseConocimiento();
+        this.instantanea = instantanea;
+    }
+
     public Set<Set<String>> convertirAFNC() {
         Set<Set<String>> clausulas = new HashSet<>();
+        for (Clausula clausula : compilarFNC()) {
+            clausulas.add(clausula.aCadenas());
+        }
+        return clausulas;
+    }
+
+    // Construye (una sola vez por llamada) las cláusulas compiladas de la base
+    public List<Clausula> compilarFNC() {
+        Set<Clausula> clausulas = new LinkedHashSet<>();
 
         // Convertir hechos en cláusulas
         for (Hecho hecho : base.getHechos()) {
-            Set<String> clausula = new HashSet<>();
-            clausula.add(hecho.toString());
-            clausulas.add(clausula);
+            clausulas.add(BaseCompilada.clausulaDe(hecho));
         }
 
-        // Convertir reglas en cláusulas en FNC
+        // Convertir reglas en cláusulas en FNC (premisas negadas más la conclusión)
         for (Regla regla : base.getReglas()) {
-            Set<String> clausula = new HashSet<>();
+            clausulas.add(BaseCompilada.clausulaDe(regla));
+        }
+
+        // Agregar cláusulas disyuntivas (para reglas tipo A ⇒ B ∨ C)
+        clausulas.addAll(Compilador.clausulas(base.getClausulasDisyuntivas()));
 
-            // Negamos las premisas
-            for (Hecho premisa : regla.getPremisas()) {
-                clausula.add("¬" + premisa.toString());
+        // Cláusulas de la instantánea, si el motor se creó a partir de una
+        if (instantanea != null) {
+            for (int i = 0; i < instantanea.cantidadClausulas(); i++) {
+                clausulas.add(instantanea.clausula(i));
             }
+        }
+
+        clausulasFNC = new ArrayList<>(clausulas);
+        return clausulasFNC;
+    }
 
-            // Agregamos la conclusión
-            clausula.add(regla.getConclusion().toString());
-            clausulas.add(clausula);
+    // Cláusulas de la base mantenidas de forma incremental: se construyen una vez y luego cada
+    // agregarHecho/agregarRegla/retirarHecho de la base actualiza solo lo que cambió
+    public BaseCompilada getBaseCompilada() {
+        if (baseCompilada == null) {
+            EventoFase evento = EventoFase.iniciar(Fase.COMPILACION);
+            long inicio = System.nanoTime();
+            baseCompilada = BaseCompilada.de(base);
+            if (instantanea != null) {
+                instantanea.cargarEn(baseCompilada);
+            }
+            base.agregarOyente(baseCompilada);
+            terminarFase(Fase.COMPILACION, evento, inicio);
         }
+        return baseCompilada;
+    }
 
-        // Agregar cláusulas disyuntivas (para reglas tipo A ⇒ B ∨ C)
-        for (Set<String> clausulaDisyuntiva : base.getClausulasDisyuntivas()) {
-            clausulas.add(new HashSet<>(clausulaDisyuntiva));
+    public void setBase(BaseConocimiento base) {
+        if (this.base != null) {
+            if (baseCompilada != null) {
+                this.base.quitarOyente(baseCompilada);
+            }
+            if (red != null) {
+                this.base.quitarOyente(red);
+            }
         }
+        this.base = base;
+        this.baseCompilada = null;
+        this.red = null;
+        this.lemasBase = null;
+        this.motorSLD = null;
+        this.instantanea = null;
+    }
 
-        return clausulas;
+    // Consulta por encadenamiento hacia adelante: la red Rete se compila y satura una sola vez con
+    // las reglas y hechos de la base (las cláusulas disyuntivas no participan), y cada consulta es
+    // después una búsqueda en los hechos derivados. La red sigue los cambios de la base: retirar
+    // un hecho invalida también lo que se había derivado de él. Si la consulta no está derivada la
+    // respuesta es NO solo cuando la red cubre toda la base (ver RedRete.esCompleta); si no, es
+    // DESCONOCIDO y hay que consultar por refutación
+    public ResultadoConsulta consultarPorEncadenamiento(String consulta) {
+        long inicio = System.nanoTime();
+        RedRete redBase = getRed();
+        ResultadoConsulta.Respuesta respuesta = redBase.consultar(Compilador.literal(consulta)) ? ResultadoConsulta.Respuesta.SI :
+                redBase.esCompleta() ? ResultadoConsulta.Respuesta.NO : ResultadoConsulta.Respuesta.DESCONOCIDO;
+        return new ResultadoConsulta(respuesta,
+                respuesta == ResultadoConsulta.Respuesta.DESCONOCIDO ? ResultadoConsulta.Limite.FUERA_DE_LA_RED : null,
+                false, 0, 0, 0, 0, System.nanoTime() - inicio, null, ResultadoConsulta.Metodo.RETE);
+    }
+
+    public RedRete getRed() {
+        if (red == null) {
+            red = RedRete.compilar(base);
+            if (instantanea != null) {
+                instantanea.cargarEn(red);
+            }
+            base.agregarOyente(red);
+        }
+        return red;
+    }
+
+    // Lote de consultas sobre la misma base. El trabajo que no depende de la consulta se hace
+    // una sola vez: los hechos que la parte Horn de la base implica (derivados por la red Rete,
+    // que los mantiene al día) se agregan como lemas unitarios a cada refutación, y se guardan
+    // hasta que cambia la versión de la base. Las refutaciones pueden repartirse entre hilos;
+    // cada una usa su propio motor sobre la misma base compilada, que no se modifica durante el lote
+    public ResultadoLote consultarLote(List<String> consultas) throws InterruptedException {
+        return consultarLote(consultas, presupuesto, modoParalelo);
+    }
+
+    public ResultadoLote consultarLote(List<String> consultas, Presupuesto presupuestoConsulta,
+                                       boolean enParalelo) throws InterruptedException {
+        long inicio = System.nanoTime();
+        BaseCompilada compilada = getBaseCompilada();
+        EventoFase evento = EventoFase.iniciar(Fase.LEMAS);
+        long inicioLemas = System.nanoTime();
+        List<Clausula> lemas = lemasDeLaBase();
+        long nanosegundosLemas = terminarFase(Fase.LEMAS, evento, inicioLemas);
+
+        List<Literal> literales = new ArrayList<>(consultas.size());
+        for (String consulta : consultas) {
+            literales.add(Compilador.literal(consulta));
+        }
+
+        List<ResultadoConsulta> resultados = new ArrayList<>(literales.size());
+        if (enParalelo) {
+            List<Callable<ResultadoConsulta>> tareas = new ArrayList<>(literales.size());
+            for (Literal literal : literales) {
+                tareas.add(() -> nuevoTrabajador().consultar(compilada, literal, lemas, presupuestoConsulta));
+            }
+            for (Future<ResultadoConsulta> futuro : pool().invokeAll(tareas)) {
+                resultados.add(resultadoDe(futuro));
+            }
+        } else {
+            for (Literal literal : literales) {
+                resultados.add(nuevoTrabajador().consultar(compilada, literal, lemas, presupuestoConsulta));
+            }
+        }
+
+        ResultadoLote lote = new ResultadoLote(resultados, lemas.size(), nanosegundosLemas, System.nanoTime() - inicio);
+        if (traza != null) {
+            traza.loteTerminado(lote);
+        }
+        return lote;
+    }
+
+    // Las refutaciones no lanzan excepciones verificadas: lo que falle dentro de la tarea se relanza
+    // tal cual, como en ServicioConsultas.consultar
+    private static ResultadoConsulta resultadoDe(Future<ResultadoConsulta> futuro) throws InterruptedException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Hechos derivados por la red que no están ya en la base, como cláusulas unitarias
+    private List<Clausula> lemasDeLaBase() {
+        long version = base.getVersion();
+        if (lemasBase == null || versionLemasBase != version) {
+            BaseCompilada compilada = getBaseCompilada();
+            List<Clausula> lemas = new ArrayList<>();
+            for (Literal hecho : getRed().getHechos()) {
+                Clausula lema = Clausula.de(hecho);
+                if (!compilada.contiene(lema)) {
+                    lemas.add(lema);
+                }
+            }
+            lemasBase = lemas;
+            versionLemasBase = version;
+        }
+        return lemasBase;
     }
 
+    // Pool con 'paralelismo' hilos; si el paralelismo cambió desde que se creó, se reemplaza
+    private synchronized ForkJoinPool pool() {
+        if (pool == null || pool.getParallelism() != paralelismo) {
+            if (pool != null) {
+                pool.shutdown(); // Termina lo que tenga en curso y libera sus hilos
+            }
+            pool = new ForkJoinPool(paralelismo);
+        }
+        return pool;
+    }
+
+    // Motor con la misma configuración de búsqueda, para una refutación del lote (o para las del
+    // servicio de consultas, que lo usa solo a través de refutar)
+    MotorInferencia nuevoTrabajador() {
+        MotorInferencia trabajador = new MotorInferencia();
+        trabajador.estrategia = estrategia;
+        trabajador.proporcionEdadPeso = proporcionEdadPeso;
+        trabajador.tamanoGeneracion = tamanoGeneracion;
+        trabajador.metricas = metricas;
+        trabajador.registrarPruebas = registrarPruebas;
+        trabajador.arenaResolventes = arenaResolventes;
+        trabajador.encadenamientoHaciaAtras = encadenamientoHaciaAtras;
+        trabajador.traza = traza;
+        return trabajador;
+    }
+
+    // Adaptador para los llamadores que trabajan con strings: se compila una vez y se resuelve
+    // sobre el modelo compilado
     public boolean resolver(Set<Set<String>> clausulas, String consulta) throws Exception {
+        return resolver(Compilador.clausulas(clausulas), Compilador.literal(consulta));
+    }
+
+    // Bucle de cláusula dada (given-clause) con conjunto de soporte: las cláusulas de la base
+    // quedan como procesadas y la búsqueda parte solo de la consulta negada. Cada cláusula
+    // nueva se resuelve una única vez contra las ya procesadas, sin repetir pares, y solo contra
+    // las que el índice de literales señala como complementarias. Los resolventes subsumidos por
+    // una cláusula viva se descartan y los que subsumen a cláusulas vivas las eliminan
+    public boolean resolver(Collection<Clausula> clausulas, Literal consulta) throws Exception {
+        EventoFase evento = EventoFase.iniciar(Fase.COMPILACION);
+        long inicio = System.nanoTime();
+        BaseCompilada compilada = new BaseCompilada(clausulas);
+        terminarFase(Fase.COMPILACION, evento, inicio);
+        return resolver(compilada, consulta);
+    }
+
+    // Consulta sobre las cláusulas mantenidas de la base, sin volver a llamar a convertirAFNC.
+    // Si hay caché, la respuesta se reutiliza mientras la versión de la base no cambie
+    public boolean resolver(String consulta) throws Exception {
+        return consultar(consulta).aBooleano();
+    }
+
+    // Consulta con una estrategia de selección distinta de la configurada, solo para esta llamada
+    public boolean resolver(String consulta, EstrategiaSeleccion estrategiaConsulta) throws Exception {
+        return consultar(consulta, estrategiaConsulta, presupuesto).aBooleano();
+    }
+
+    public boolean resolver(BaseCompilada clausulas, Literal consulta) throws Exception {
+        return resolver(clausulas, consulta, Collections.emptyList());
+    }
+
+    public boolean resolver(BaseCompilada clausulas, Literal consulta, List<Clausula> lemas) throws Exception {
+        return consultar(clausulas, consulta, lemas, presupuesto).aBooleano();
+    }
+
+    // Como resolver(String), pero sin excepciones: si se agota el presupuesto la respuesta es
+    // DESCONOCIDO, con las estadísticas de lo que se alcanzó a hacer
+    public ResultadoConsulta consultar(String consulta) {
+        return consultar(consulta, estrategia, presupuesto);
+    }
+
+    public ResultadoConsulta consultar(String consulta, Presupuesto presupuestoConsulta) {
+        return consultar(consulta, estrategia, presupuestoConsulta);
+    }
+
+    public ResultadoConsulta consultar(String consulta, EstrategiaSeleccion estrategiaConsulta,
+                                       Presupuesto presupuestoConsulta) {
+        Literal literal = Compilador.literal(consulta);
+        if (cache == null) {
+            return consultarEnrutada(literal, Collections.emptyList(), estrategiaConsulta, presupuestoConsulta);
+        }
+
+        long version = base.getVersion();
+        Boolean guardada = cache.buscar(base, literal, version);
+        if (guardada != null) {
+            if (traza != null) {
+                traza.respuestaDeCache(version);
+            }
+            return ResultadoConsulta.desdeCache(guardada);
+        }
+
+        ResultadoConsulta resultado = consultarEnrutada(literal, cache.lemas(base, version), estrategiaConsulta, presupuestoConsulta);
+        if (resultado.esConocida()) {
+            cache.guardar(base, literal, version, resultado.getRespuesta() == ResultadoConsulta.Respuesta.SI);
+        }
+        return resultado;
+    }
+
+    // Encadenamiento hacia atrás si la consulta lo admite y refutación si no (los lemas solo se
+    // usan en la refutación)
+    private ResultadoConsulta consultarEnrutada(Literal consulta, List<Clausula> lemas, EstrategiaSeleccion estrategiaConsulta,
+                                                Presupuesto presupuestoConsulta) {
+        BaseCompilada compilada = getBaseCompilada();
+        if (!encadenamientoHaciaAtras || registrarPruebas || consulta.isNegado() ||
+                !compilada.esHornPara(consulta.getPredicado())) {
+            return consultar(compilada, consulta, lemas, estrategiaConsulta, presupuestoConsulta);
+        }
+
+        ResultadoConsulta resultado = getMotorSLD().consultar(consulta, presupuestoConsulta);
+        resolucionesRealizadas = resultado.getResoluciones();
+        paresIntentados = resultado.getParesIntentados();
+        clausulasDadas = resultado.getClausulasDadas();
+        maximoClausulasVivas = resultado.getMaximoClausulasVivas();
+        subsumidasHaciaAdelante = 0;
+        subsumidasHaciaAtras = 0;
+        prueba = null;
+        if (traza != null) {
+            traza.consultaTerminada(this, resultado, presupuestoConsulta);
+        }
+        return resultado;
+    }
+
+    // Motor de encadenamiento hacia atrás sobre las cláusulas de la base; se rehace (y se
+    // descartan sus tablas) cuando cambia la versión de la base
+    public MotorSLD getMotorSLD() {
+        long version = base.getVersion();
+        if (motorSLD == null || versionMotorSLD != version) {
+            motorSLD = new MotorSLD(getBaseCompilada().getClausulas());
+            versionMotorSLD = version;
+        }
+        return motorSLD;
+    }
+
+    // Los lemas son cláusulas ya demostradas para la misma base que se agregan como procesadas
+    public ResultadoConsulta consultar(BaseCompilada clausulas, Literal consulta, List<Clausula> lemas,
+                                       Presupuesto presupuestoConsulta) {
+        return consultar(clausulas, consulta, lemas, estrategia, presupuestoConsulta);
+    }
+
+    private ResultadoConsulta consultar(BaseCompilada clausulas, Literal consulta, List<Clausula> lemas,
+                                        EstrategiaSeleccion estrategiaConsulta, Presupuesto presupuestoConsulta) {
+        EstadoBusqueda estado = nuevaBusqueda(clausulas, consulta, estrategiaConsulta, presupuestoConsulta);
+        ResultadoConsulta resultado = refutar(estado, consulta, lemas);
+
+        // Estadísticas de la última consulta, para los getters del motor
+        resolucionesRealizadas = estado.resoluciones;
+        paresIntentados = estado.paresIntentados;
+        subsumidasHaciaAdelante = estado.subsumidasHaciaAdelante;
+        subsumidasHaciaAtras = estado.subsumidasHaciaAtras;
+        maximoClausulasVivas = estado.maximoClausulasVivas;
+        clausulasDadas = estado.clausulasDadas;
+        estrategiaUsada = estado.estrategia;
+        prueba = resultado.getPrueba();
+        estadisticasSeleccion.computeIfAbsent(estado.estrategia, e -> new EstadisticasSeleccion())
+                .registrar(clausulasDadas, resultado.getRespuesta() == ResultadoConsulta.Respuesta.SI);
+
+        if (traza != null) {
+            traza.consultaTerminada(this, resultado, presupuestoConsulta);
+        }
+        return resultado;
+    }
+
+    // Estado de una refutación con la configuración del motor
+    EstadoBusqueda nuevaBusqueda(BaseCompilada clausulas, Literal consulta, EstrategiaSeleccion estrategiaConsulta,
+                                 Presupuesto presupuestoConsulta) {
+        EstadoBusqueda estado = new EstadoBusqueda(clausulas, estrategiaConsulta, proporcionEdadPeso, consulta,
+                presupuestoConsulta);
+        if (registrarPruebas) {
+            estado.derivaciones = new RegistroDerivaciones();
+        }
+        if (arenaResolventes && !modoParalelo) {
+            estado.arena = new ArenaClausulas();
+        }
+        return estado;
+    }
+
+    // Refutación que no modifica el motor: todo lo propio de la consulta (contadores, índices,
+    // derivaciones) queda en 'estado', y la configuración solo se lee. Por eso puede correr en
+    // varios hilos a la vez sobre la misma base compilada (ver ServicioConsultas); la traza, si
+    // hay, recibe los eventos de esas consultas entremezclados
+    ResultadoConsulta refutar(EstadoBusqueda estado, Literal consulta, List<Clausula> lemas) {
+        EventoConsulta evento = new EventoConsulta();
+        evento.begin();
+
         // Negamos la consulta para la refutación
-        Set<String> clausulaNegada = new HashSet<>();
-        clausulaNegada.add("¬" + consulta);
+        Clausula clausulaNegada = Clausula.de(consulta.complemento());
+
+        for (Clausula lema : lemas) {
+            estado.agregarProcesada(lema);
+        }
+        if (estado.incorporar(clausulaNegada) && estado.derivaciones != null) {
+            estado.derivaciones.registrar(clausulaNegada, Prueba.Origen.CONSULTA);
+        }
+
+        if (traza != null) {
+            traza.consultaIniciada(clausulaNegada);
+        }
+
+        EventoFase eventoSaturacion = EventoFase.iniciar(Fase.SATURACION);
+        long inicioSaturacion = System.nanoTime();
+        boolean contradiccion = modoParalelo ? saturarEnParalelo(estado) : saturar(estado);
+        terminarFase(Fase.SATURACION, eventoSaturacion, inicioSaturacion);
+        metricas.clausulasSubsumidas(estado.subsumidasHaciaAdelante, estado.subsumidasHaciaAtras);
+
+        ResultadoConsulta.Respuesta respuesta;
+        ResultadoConsulta.Limite limite = null;
+        if (contradiccion) {
+            respuesta = ResultadoConsulta.Respuesta.SI; // Se derivó la cláusula vacía (contradicción)
+        } else if (estado.limite != null || estado.descartadasPorLongitud > 0) {
+            // Sin la cláusula vacía no se puede afirmar NO si la búsqueda quedó incompleta
+            limite = estado.limite != null ? estado.limite : ResultadoConsulta.Limite.LONGITUD_CLAUSULA;
+            respuesta = ResultadoConsulta.Respuesta.DESCONOCIDO;
+        } else {
+            respuesta = ResultadoConsulta.Respuesta.NO; // No se pudo derivar la contradicción
+        }
 
-        // Creamos una copia de las cláusulas para no modificar el conjunto original
-        Set<Set<String>> clausulasConConsulta = new HashSet<>(clausulas);
-        clausulasConConsulta.add(clausulaNegada);
+        Prueba pruebaConsulta = contradiccion && estado.derivaciones != null ?
+                estado.derivaciones.extraer(estado.conclusion, unificador) : null;
+
+        ResultadoConsulta resultado = new ResultadoConsulta(respuesta, limite, false, estado.resoluciones,
+                estado.paresIntentados, estado.clausulasDadas, estado.maximoClausulasVivas, estado.nanosegundos(),
+                pruebaConsulta, ResultadoConsulta.Metodo.RESOLUCION);
+
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.consulta = consulta.toString();
+            evento.respuesta = respuesta.name();
+            evento.limite = limite != null ? limite.name() : null;
+            evento.estrategia = estado.estrategia.name();
+            evento.resoluciones = estado.resoluciones;
+            evento.paresIntentados = estado.paresIntentados;
+            evento.clausulasDadas = estado.clausulasDadas;
+            evento.maximoClausulasVivas = estado.maximoClausulasVivas;
+            evento.subsumidasHaciaAdelante = estado.subsumidasHaciaAdelante;
+            evento.subsumidasHaciaAtras = estado.subsumidasHaciaAtras;
+            evento.commit();
+        }
+        return resultado;
+    }
+
+    // Anota los padres de un resolvente incorporado (o de la cláusula vacía) si se registran pruebas
+    private void registrarPaso(EstadoBusqueda estado, Clausula resolvente, Clausula c1, int i, Clausula c2, int j) {
+        if (estado.derivaciones != null) {
+            estado.conclusion = estado.derivaciones.registrarResolvente(resolvente, c1, i, c2, j);
+        }
+    }
 
-        System.out.println("\n>> Agregada cláusula de la consulta negada: [¬" + consulta + "]");
+    // Cierra el evento JFR de la fase y suma su duración a las métricas
+    private long terminarFase(Fase fase, EventoFase evento, long inicio) {
+        long nanosegundos = System.nanoTime() - inicio;
+        evento.commit();
+        metricas.fase(fase, nanosegundos);
+        return nanosegundos;
+    }
+
+    // Incorporación de un resolvente; su tiempo solo se mide si las métricas están activas
+    private boolean incorporar(EstadoBusqueda estado, Clausula resolvente) {
+        if (!metricas.activas()) {
+            return estado.incorporar(resolvente);
+        }
+        long inicio = System.nanoTime();
+        boolean retenida = estado.incorporar(resolvente);
+        metricas.fase(Fase.SUBSUNCION, System.nanoTime() - inicio);
+        if (retenida) {
+            metricas.clausulaRetenida();
+        }
+        return retenida;
+    }
 
+    private boolean saturar(EstadoBusqueda estado) {
         int iteraciones = 0;
-        boolean nuevaClausulaGenerada = true;
-        resolucionesRealizadas = 0;
 
-        while (nuevaClausulaGenerada && iteraciones < MAX_ITERACIONES) {
+        while (!estado.pendientes.isEmpty() && !estado.agotadoAntesDeElegir(estado.resoluciones)) {
             iteraciones++;
-            nuevaClausulaGenerada = false;
-
-            Set<Set<String>> nuevasClausulas = new HashSet<>();
-            List<Set<String>> listaClausulas = new ArrayList<>(clausulasConConsulta);
-
-            if (iteraciones % 10 == 1) {
-                System.out.println("\n>> Iteración " + iteraciones + " (" + listaClausulas.size() + " cláusulas)");
-            }
-
-            for (int i = 0; i < listaClausulas.size(); i++) {
-                for (int j = i + 1; j < listaClausulas.size(); j++) {
-                    // Intentar resolver con unificación
-                    List<Set<String>> resolventes = resolverClausulasConUnificacion(
-                            listaClausulas.get(i), listaClausulas.get(j));
-
-                    if (resolventes != null && !resolventes.isEmpty()) {
-                        for (Set<String> resolvente : resolventes) {
-                            if (resolvente.isEmpty()) {
-                                System.out.println("\n>> ENCONTRADA CLÁUSULA VACÍA!");
-                                System.out.println(">> Resolución entre: " + listaClausulas.get(i) + " y " + listaClausulas.get(j));
-                                System.out.println(">> Total de resoluciones realizadas: " + resolucionesRealizadas);
-                                return true; // Se derivó la cláusula vacía (contradicción)
-                            }
-
-                            if (!clausulasConConsulta.contains(resolvente)) {
-                                nuevasClausulas.add(resolvente);
-                                nuevaClausulaGenerada = true;
-
-                                // Solo imprimimos algunas resoluciones clave para no saturar la consola
-                                if (resolucionesRealizadas % 20 == 0 || resolvente.size() <= 2) {
-                                    System.out.println(">> Resolución #" + resolucionesRealizadas + ": " +
-                                            listaClausulas.get(i) + " + " +
-                                            listaClausulas.get(j) + " = " + resolvente);
-                                }
-                            }
+            Clausula dada = estado.siguientePendiente();
+
+            if (traza != null) {
+                traza.iteracion(iteraciones, estado.cantidadProcesadas(), estado.pendientes.size());
+            }
+
+            // Solo se consultan las cláusulas procesadas con un literal complementario del mismo predicado
+            siguienteDada:
+            for (int i = 0; i < dada.size(); i++) {
+                for (IndiceLiterales.Ocurrencia ocurrencia : estado.complementarios(dada.literal(i))) {
+                    Clausula procesada = ocurrencia.clausula();
+                    if (!estado.estaViva(procesada)) {
+                        continue; // Eliminada por subsunción durante esta misma iteración
+                    }
+
+                    estado.paresIntentados++;
+                    Clausula resolvente;
+                    if (estado.arena != null) {
+                        int cantidad = resolverEnArena(estado, dada, i, procesada, ocurrencia.posicion());
+                        if (cantidad < 0) {
+                            continue;
+                        }
+                        estado.resoluciones++;
+                        // Vacía, nueva o null si se descartó sin crearla (repetida o demasiado larga)
+                        resolvente = cantidad == 0 ? Clausula.VACIA : estado.resolventeNuevo(cantidad);
+                    } else {
+                        resolvente = resolverLiterales(dada, i, procesada, ocurrencia.posicion());
+                        if (resolvente == null) {
+                            continue;
+                        }
+                        estado.resoluciones++;
+                    }
+
+                    if (resolvente != null && resolvente.esVacia()) {
+                        registrarPaso(estado, resolvente, dada, i, procesada, ocurrencia.posicion());
+                        if (traza != null) {
+                            traza.contradiccion(dada, procesada);
+                        }
+                        return true;
+                    }
+
+                    if (resolvente != null && incorporar(estado, resolvente)) {
+                        registrarPaso(estado, resolvente, dada, i, procesada, ocurrencia.posicion());
+                        if (traza != null) {
+                            traza.resolucion(estado.resoluciones, dada, procesada, resolvente);
                         }
                     }
+
+                    if (estado.agotado(estado.resoluciones)) {
+                        return false; // Se detiene sin terminar la cláusula dada
+                    }
+
+                    if (!estado.estaViva(dada)) {
+                        break siguienteDada; // La cláusula dada quedó subsumida por su propio resolvente
+                    }
                 }
             }
 
-            if (nuevasClausulas.size() > 0 && iteraciones % 10 == 0) {
-                System.out.println(">> Generadas " + nuevasClausulas.size() + " nuevas cláusulas en iteración " + iteraciones);
+            estado.terminarDada(dada);
+        }
+        return false;
+    }
+
+    // Modo paralelo: en cada generación se toman varias cláusulas pendientes y se arman todos
+    // sus pares candidatos (contra las procesadas y contra las anteriores de la misma
+    // generación). Las unificaciones se reparten en un ForkJoinPool y los resolventes se
+    // deduplican en un mapa concurrente que recuerda el primer par que generó cada uno. La
+    // incorporación (subsunción) se hace después en el orden de los pares, así que el resultado
+    // y la prueba no dependen del número de hilos. Las cláusulas se recorren en otro orden que en
+    // la saturación secuencial, así que la prueba y los contadores pueden ser otros; cuando las
+    // dos búsquedas terminan, la respuesta es la misma
+    private boolean saturarEnParalelo(EstadoBusqueda estado) {
+        ForkJoinPool hilos = pool();
+        int iteraciones = 0;
+
+        while (!estado.pendientes.isEmpty() && !estado.agotadoAntesDeElegir(estado.resoluciones)) {
+            List<Clausula> generacion = new ArrayList<>();
+            while (!estado.pendientes.isEmpty() && generacion.size() < tamanoGeneracion &&
+                    !estado.agotadoAntesDeElegir(estado.resoluciones)) {
+                generacion.add(estado.siguientePendiente());
+                iteraciones++;
             }
 
-            clausulasConConsulta.addAll(nuevasClausulas);
-        }
+            if (traza != null) {
+                traza.generacion(iteraciones, generacion.size(), estado.cantidadProcesadas());
+            }
 
-        if (iteraciones >= MAX_ITERACIONES) {
-            System.out.println("\n>> LÍMITE DE ITERACIONES ALCANZADO: " + MAX_ITERACIONES);
-            throw new Exception("No se puede determinar la consulta con la información disponible (excedido número máximo de iteraciones)");
-        }
+            List<ParCandidato> pares = new ArrayList<>();
+            IndiceLiterales anteriores = new IndiceLiterales();
+            for (Clausula dada : generacion) {
+                for (int i = 0; i < dada.size(); i++) {
+                    for (IndiceLiterales.Ocurrencia ocurrencia : estado.complementarios(dada.literal(i))) {
+                        pares.add(new ParCandidato(dada, i, ocurrencia.clausula(), ocurrencia.posicion()));
+                    }
+                    for (IndiceLiterales.Ocurrencia ocurrencia : anteriores.complementarios(dada.literal(i))) {
+                        pares.add(new ParCandidato(dada, i, ocurrencia.clausula(), ocurrencia.posicion()));
+                    }
+                }
+                anteriores.agregar(dada);
+            }
+
+            Clausula[] resolventes = new Clausula[pares.size()];
+            AtomicInteger primerVacio = new AtomicInteger(pares.size());
+            ConcurrentHashMap<Clausula, Integer> generados = new ConcurrentHashMap<>();
+            hilos.invoke(new TareaResolucion(pares, resolventes, 0, pares.size(), primerVacio, generados));
+
+            // Solo cuentan los pares anteriores a la primera cláusula vacía, que son los que
+            // todos los hilos evalúan siempre
+            int limite = primerVacio.get();
+            for (int k = 0; k < limite; k++) {
+                Clausula resolvente = resolventes[k];
+                if (resolvente == null) {
+                    continue;
+                }
+                estado.resoluciones++;
+
+                // Los duplicados de un par anterior de la misma generación no se incorporan
+                if (generados.get(resolvente) == k && incorporar(estado, resolvente)) {
+                    ParCandidato par = pares.get(k);
+                    registrarPaso(estado, resolvente, par.dada(), par.posicionDada(), par.otra(), par.posicionOtra());
+                    if (traza != null) {
+                        traza.resolucion(estado.resoluciones, par.dada(), par.otra(), resolvente);
+                    }
+                }
 
-        System.out.println("\n>> NO SE ENCONTRÓ CONTRADICCIÓN después de " + resolucionesRealizadas + " resoluciones");
-        return false; // No se pudo derivar la contradicción
+                // Igual que en saturar, el presupuesto se revisa con cada resolvente y no al final
+                // de la generación
+                if (estado.agotado(estado.resoluciones)) {
+                    estado.paresIntentados += k + 1;
+                    return false;
+                }
+            }
+            estado.paresIntentados += Math.min(limite + 1, pares.size());
+
+            if (limite < pares.size()) {
+                estado.resoluciones++;
+                ParCandidato par = pares.get(limite);
+                registrarPaso(estado, Clausula.VACIA, par.dada(), par.posicionDada(), par.otra(), par.posicionOtra());
+                if (traza != null) {
+                    traza.contradiccion(par.dada(), par.otra());
+                }
+                return true;
+            }
+
+            for (Clausula dada : generacion) {
+                estado.terminarDada(dada);
+            }
+        }
+        return false;
     }
 
-    private List<Set<String>> resolverClausulasConUnificacion(Set<String> c1, Set<String> c2) {
-        List<Set<String>> resultado = new ArrayList<>();
+    private record ParCandidato(Clausula dada, int posicionDada, Clausula otra, int posicionOtra) {
+    }
 
-        for (String literal1 : c1) {
-            String literal1SinNegacion = literal1.startsWith("¬") ? literal1.substring(1) : literal1;
-            String literal1Negado = literal1.startsWith("¬") ? literal1.substring(1) : "¬" + literal1;
+    // RecursiveAction es Serializable, pero una tarea nunca se serializa: los campos que no son
+    // serializables se marcan transient
+    private class TareaResolucion extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private static final int UMBRAL = 64;
+
+        private final transient List<ParCandidato> pares;
+        private final transient Clausula[] resolventes;
+        private final int desde;
+        private final int hasta;
+        private final transient AtomicInteger primerVacio;
+        private final transient ConcurrentHashMap<Clausula, Integer> generados;
+
+        TareaResolucion(List<ParCandidato> pares, Clausula[] resolventes, int desde, int hasta,
+                        AtomicInteger primerVacio, ConcurrentHashMap<Clausula, Integer> generados) {
+            this.pares = pares;
+            this.resolventes = resolventes;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.primerVacio = primerVacio;
+            this.generados = generados;
+        }
 
-            for (String literal2 : c2) {
-                // Comprobar si los literales son unificables y complementarios
-                Map<String, String> sustitucion = null;
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new TareaResolucion(pares, resolventes, desde, medio, primerVacio, generados),
+                        new TareaResolucion(pares, resolventes, medio, hasta, primerVacio, generados));
+                return;
+            }
 
-                if (literal2.equals(literal1Negado)) {
-                    // Caso simple: literales idénticos pero de signo contrario
-                    sustitucion = new HashMap<>();
-                } else if ((literal2.startsWith("¬") && !literal1.startsWith("¬")) ||
-                        (!literal2.startsWith("¬") && literal1.startsWith("¬"))) {
-                    // Intentar unificar literal1 sin negación con literal2 sin negación
-                    String literal2SinNegacion = literal2.startsWith("¬") ? literal2.substring(1) : literal2;
+            for (int k = desde; k < hasta; k++) {
+                // Cancelación: ya se encontró la cláusula vacía en un par anterior
+                if (k > primerVacio.get()) {
+                    return;
+                }
 
-                    sustitucion = unificador.unificarExpresiones(literal1SinNegacion, literal2SinNegacion);
+                ParCandidato par = pares.get(k);
+                Clausula resolvente = resolverLiterales(par.dada(), par.posicionDada(), par.otra(), par.posicionOtra());
+                resolventes[k] = resolvente;
+                if (resolvente == null) {
+                    continue;
                 }
 
-                if (sustitucion != null) {
-                    // Crear resolvente aplicando la sustitución
-                    Set<String> resolvente = new HashSet<>();
+                if (resolvente.esVacia()) {
+                    primerVacio.accumulateAndGet(k, Math::min);
+                } else {
+                    generados.merge(resolvente, k, Math::min);
+                }
+            }
+        }
+    }
 
-                    // Añadir todas las cláusulas de c1 excepto literal1
-                    for (String l : c1) {
-                        if (!l.equals(literal1)) {
-                            resolvente.add(aplicarSustitucion(l, sustitucion));
-                        }
-                    }
+    public List<Clausula> resolverClausulasConUnificacion(Clausula c1, Clausula c2) {
+        List<Clausula> resultado = new ArrayList<>();
 
-                    // Añadir todas las cláusulas de c2 excepto literal2
-                    for (String l : c2) {
-                        if (!l.equals(literal2)) {
-                            resolvente.add(aplicarSustitucion(l, sustitucion));
-                        }
-                    }
+        for (int i = 0; i < c1.size(); i++) {
+            for (int j = 0; j < c2.size(); j++) {
+                // Solo se resuelven literales de signo contrario con el mismo predicado y aridad
+                if (!c1.literal(i).esComplementarioPosible(c2.literal(j))) {
+                    continue;
+                }
 
+                Clausula resolvente = resolverLiterales(c1, i, c2, j);
+                if (resolvente != null) {
                     resolucionesRealizadas++;
                     resultado.add(resolvente);
                 }
@@ -180,27 +816,85 @@ public class MotorInferencia {
         return resultado;
     }
 
-    private String aplicarSustitucion(String literal, Map<String, String> sustitucion) {
-        String resultado = literal;
-        Pattern pattern = Pattern.compile("\\b[mxyz]\\b|\\([mxyz]\\)|\\([mxyz],|,[mxyz]\\)|,[mxyz],");
-        Matcher matcher = pattern.matcher(resultado);
-
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String match = matcher.group();
-            for (Map.Entry<String, String> entry : sustitucion.entrySet()) {
-                String variable = entry.getKey();
-                String valor = entry.getValue();
+    // Como resolverLiterales, pero deja los códigos de los literales del resolvente (en la arena
+    // de la búsqueda) en estado.codigosResolvente y devuelve cuántos son, o -1 si los átomos no
+    // unifican. Los átomos se internan igual, pero no se crean Literal ni Clausula
+    private int resolverEnArena(EstadoBusqueda estado, Clausula c1, int i, Clausula c2, int j) {
+        metricas.resolucionIntentada();
+
+        Ligaduras ligaduras = unificador.ligadurasDelHilo();
+        int marca = ligaduras.marca();
+        if (!unificador.unificar(c1.literal(i).getAtomo(), 0, c2.literal(j).getAtomo(), 1, ligaduras)) {
+            metricas.unificacionFallida();
+            return -1;
+        }
 
-                if (match.contains(variable)) {
-                    String reemplazo = match.replace(variable, valor);
-                    matcher.appendReplacement(sb, reemplazo);
-                    break;
+        try {
+            int[] codigos = estado.codigosResolvente(c1.size() + c2.size() - 2);
+            int n = 0;
+            for (int k = 0; k < c1.size(); k++) {
+                if (k != i) {
+                    codigos[n++] = codigoRenombrado(estado.arena, c1.literal(k), 0, ligaduras);
+                }
+            }
+            for (int k = 0; k < c2.size(); k++) {
+                if (k != j) {
+                    codigos[n++] = codigoRenombrado(estado.arena, c2.literal(k), 1, ligaduras);
                 }
             }
+
+            metricas.resolucionExitosa(n);
+            return n;
+        } finally {
+            ligaduras.deshacer(marca);
+            ligaduras.olvidarRenombres();
         }
-        matcher.appendTail(sb);
+    }
 
-        return sb.length() > 0 ? sb.toString() : resultado;
+    private int codigoRenombrado(ArenaClausulas arena, Literal literal, int lado, Ligaduras ligaduras) {
+        return arena.codigo(unificador.renombrarAparte(literal.getAtomo(), lado, ligaduras), literal.isNegado());
+    }
+
+    // Resuelve el literal i de c1 con el literal j de c2 (que deben ser complementarios posibles);
+    // devuelve null si los átomos no unifican. Las variables de c1 se leen en el lado 0 y las de
+    // c2 en el lado 1, así que quedan separadas aunque se llamen igual, y el resolvente sale con
+    // variables propias del banco (?0, ?1, ...). No modifica el estado del motor, así que puede
+    // llamarse desde varios hilos a la vez (las métricas admiten llamadas concurrentes)
+    private Clausula resolverLiterales(Clausula c1, int i, Clausula c2, int j) {
+        metricas.resolucionIntentada();
+
+        // Las ligaduras son del hilo y se deshacen al salir: un par que no unifica no reserva memoria
+        Ligaduras ligaduras = unificador.ligadurasDelHilo();
+        int marca = ligaduras.marca();
+        if (!unificador.unificar(c1.literal(i).getAtomo(), 0, c2.literal(j).getAtomo(), 1, ligaduras)) {
+            metricas.unificacionFallida();
+            return null;
+        }
+
+        try {
+            // Crear resolvente aplicando la sustitución
+            Literal[] resolvente = new Literal[c1.size() + c2.size() - 2];
+            int n = 0;
+
+            // Añadir todos los literales de c1 excepto el literal i
+            for (int k = 0; k < c1.size(); k++) {
+                if (k != i) {
+                    resolvente[n++] = unificador.renombrarAparte(c1.literal(k), 0, ligaduras);
+                }
+            }
+
+            // Añadir todos los literales de c2 excepto el literal j
+            for (int k = 0; k < c2.size(); k++) {
+                if (k != j) {
+                    resolvente[n++] = unificador.renombrarAparte(c2.literal(k), 1, ligaduras);
+                }
+            }
+
+            metricas.resolucionExitosa(n);
+            return Clausula.de(resolvente);
+        } finally {
+            ligaduras.deshacer(marca);
+            ligaduras.olvidarRenombres();
+        }
     }
-}
\ No newline at end of file
+}
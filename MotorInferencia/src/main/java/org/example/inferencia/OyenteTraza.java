@@ -0,0 +1,35 @@
+package org.example.inferencia;
+
+import org.example.logica.Clausula;
+
+// Traza de la búsqueda, opcional: el motor solo la llama si se configuró una (ver
+// MotorInferencia.setTraza). Con varios hilos (modo paralelo o lotes en paralelo) las
+// llamadas pueden llegar desde hilos distintos
+public interface OyenteTraza {
+    default void consultaIniciada(Clausula consultaNegada) {
+    }
+
+    // Antes de cada cláusula dada del bucle secuencial
+    default void iteracion(int iteracion, int procesadas, int pendientes) {
+    }
+
+    // Antes de cada generación del modo paralelo
+    default void generacion(int hastaIteracion, int dadas, int procesadas) {
+    }
+
+    // Un resolvente que quedó como pendiente
+    default void resolucion(int numero, Clausula c1, Clausula c2, Clausula resolvente) {
+    }
+
+    default void contradiccion(Clausula c1, Clausula c2) {
+    }
+
+    default void consultaTerminada(MotorInferencia motor, ResultadoConsulta resultado, Presupuesto presupuesto) {
+    }
+
+    default void respuestaDeCache(long version) {
+    }
+
+    default void loteTerminado(ResultadoLote lote) {
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.inferencia;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+
+// Límites de una consulta por refutación. Un valor 0 (o un plazo null) significa sin límite;
+// por defecto solo se limita la cantidad de cláusulas dadas, como el antiguo MAX_ITERACIONES
+@Getter
+@Setter
+@NoArgsConstructor
+public class Presupuesto {
+    private int maxIteraciones = 1000; // Cláusulas dadas
+    private Duration plazo; // Tiempo de reloj desde el inicio de la consulta
+    private long maxResoluciones = 0;
+    private int maxClausulasVivas = 0; // Tamaño del almacén (base más cláusulas derivadas vivas)
+    private int maxLongitudClausula = 0; // Los resolventes más largos se descartan
+
+    public static Presupuesto sinLimites() {
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.maxIteraciones = 0;
+        return presupuesto;
+    }
+
+    // Copia independiente: cambiar después el original no cambia la copia
+    public Presupuesto copia() {
+        Presupuesto copia = new Presupuesto();
+        copia.maxIteraciones = maxIteraciones;
+        copia.plazo = plazo;
+        copia.maxResoluciones = maxResoluciones;
+        copia.maxClausulasVivas = maxClausulasVivas;
+        copia.maxLongitudClausula = maxLongitudClausula;
+        return copia;
+    }
+
+    // Copia con otro plazo (por ejemplo lo que queda del plazo después de esperar turno)
+    public Presupuesto conPlazo(Duration nuevoPlazo) {
+        Presupuesto copia = copia();
+        copia.plazo = nuevoPlazo;
+        return copia;
+    }
+
+    @Override
+    public String toString() {
+        return "iteraciones " + limite(maxIteraciones) + ", plazo " + (plazo == null ? "-" : plazo.toMillis() + " ms") +
+                ", resoluciones " + limite(maxResoluciones) + ", vivas " + limite(maxClausulasVivas) +
+                ", longitud " + limite(maxLongitudClausula);
+    }
+
+    private static String limite(long valor) {
+        return valor > 0 ? String.valueOf(valor) : "-";
+    }
+}
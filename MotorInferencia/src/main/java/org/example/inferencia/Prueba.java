@@ -0,0 +1,105 @@
+package org.example.inferencia;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Prueba por refutación: solo los pasos que llevan a la cláusula vacía, numerados de 0 en adelante
+// de modo que los padres de cada paso aparecen antes que él. Las cláusulas y las sustituciones
+// se guardan como texto para que la prueba pueda serializarse y leerse sin el motor. El texto
+// se arma la primera vez que se piden los pasos (o al serializar): hasta entonces la prueba solo
+// guarda las cláusulas usadas y los números de sus padres
+public class Prueba implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public enum Origen {
+        BASE, LEMA, CONSULTA, RESOLUCION
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Paso implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int id;
+        private final Origen origen;
+        private final String clausula;
+        // Solo en RESOLUCION: padres, posición del literal resuelto en cada uno y unificador, con
+        // las variables de cada padre por separado y los valores en las variables del resolvente
+        private final int padre1;
+        private final int literal1;
+        private final int padre2;
+        private final int literal2;
+        // Siempre mapas serializables (LinkedHashMap o el mapa vacío de Collections)
+        @SuppressWarnings("serial")
+        private final Map<String, String> sustitucion1;
+        @SuppressWarnings("serial")
+        private final Map<String, String> sustitucion2;
+
+        static Paso hoja(int id, Origen origen, String clausula) {
+            return new Paso(id, origen, clausula, -1, -1, -1, -1, Collections.emptyMap(), Collections.emptyMap());
+        }
+
+        @Override
+        public String toString() {
+            String texto = id + ". " + clausula;
+            if (origen != Origen.RESOLUCION) {
+                return texto + "  [" + origen.name().toLowerCase() + "]";
+            }
+            return texto + "  [" + padre1 + "." + literal1 + " con " + padre2 + "." + literal2 +
+                    (sustitucion1.isEmpty() ? "" : ", " + sustitucion1) +
+                    (sustitucion2.isEmpty() ? "" : ", " + sustitucion2) + "]";
+        }
+    }
+
+    private final int cantidad;
+    @SuppressWarnings("serial") // Lista no modificable sobre un ArrayList, serializable
+    private List<Paso> pasos;
+    private transient Supplier<List<Paso>> construir;
+
+    Prueba(int cantidad, Supplier<List<Paso>> construir) {
+        this.cantidad = cantidad;
+        this.construir = construir;
+    }
+
+    public synchronized List<Paso> getPasos() {
+        if (pasos == null) {
+            pasos = Collections.unmodifiableList(construir.get());
+            construir = null;
+        }
+        return pasos;
+    }
+
+    public Paso getConclusion() {
+        return getPasos().get(cantidad - 1);
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getPasos();
+        out.defaultWriteObject();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Paso paso : getPasos()) {
+            sb.append(paso).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.inferencia;
+
+import org.example.logica.Clausula;
+import org.example.logica.Termino;
+import org.example.utils.Ligaduras;
+import org.example.utils.UnificadorTerminos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Procedencia de las cláusulas de una búsqueda: cada cláusula usada recibe un número y cada
+// resolvente guarda solo los números de sus padres y la posición del literal resuelto en cada
+// uno (cuatro enteros). El unificador no se guarda: es el MGU de esos dos literales, así que se
+// vuelve a calcular al extraer la prueba y solo para los pasos que la prueba usa. Las cláusulas
+// de la base se numeran la primera vez que aparecen como padres
+class RegistroDerivaciones {
+    private static final int CAMPOS = 4;
+
+    private final List<Clausula> clausulas = new ArrayList<>();
+    private final List<Prueba.Origen> origenes = new ArrayList<>();
+    private int[] padres = new int[CAMPOS * 64];
+    private final Map<Clausula, Integer> ids = new HashMap<>();
+
+    int registrar(Clausula clausula, Prueba.Origen origen) {
+        int id = clausulas.size();
+        clausulas.add(clausula);
+        origenes.add(origen);
+        if (padres.length < (id + 1) * CAMPOS) {
+            padres = Arrays.copyOf(padres, padres.length * 2);
+        }
+        Arrays.fill(padres, id * CAMPOS, (id + 1) * CAMPOS, -1);
+        ids.put(clausula, id);
+        return id;
+    }
+
+    // Un resolvente reemplaza la entrada de una cláusula igual eliminada antes por subsunción: los
+    // padres siempre tienen números menores, así que el grafo no puede tener ciclos
+    int registrarResolvente(Clausula resolvente, Clausula c1, int literal1, Clausula c2, int literal2) {
+        int padre1 = id(c1);
+        int padre2 = id(c2);
+        int id = registrar(resolvente, Prueba.Origen.RESOLUCION);
+        padres[id * CAMPOS] = padre1;
+        padres[id * CAMPOS + 1] = literal1;
+        padres[id * CAMPOS + 2] = padre2;
+        padres[id * CAMPOS + 3] = literal2;
+        return id;
+    }
+
+    private int id(Clausula clausula) {
+        Integer id = ids.get(clausula);
+        return id != null ? id : registrar(clausula, Prueba.Origen.BASE);
+    }
+
+    int size() {
+        return clausulas.size();
+    }
+
+    // Prueba de la cláusula con el número dado: recorre sus ancestros y copia solo esos pasos,
+    // renumerados en orden, para que la prueba no retenga el resto del registro. Las
+    // sustituciones y el texto se calculan cuando se piden (ver Prueba)
+    Prueba extraer(int conclusion, UnificadorTerminos unificador) {
+        BitSet usados = new BitSet(clausulas.size());
+        List<Integer> pila = new ArrayList<>();
+        pila.add(conclusion);
+        while (!pila.isEmpty()) {
+            int id = pila.remove(pila.size() - 1);
+            if (usados.get(id)) {
+                continue;
+            }
+            usados.set(id);
+            if (origenes.get(id) == Prueba.Origen.RESOLUCION) {
+                pila.add(padres[id * CAMPOS]);
+                pila.add(padres[id * CAMPOS + 2]);
+            }
+        }
+
+        int cantidad = usados.cardinality();
+        Clausula[] pasos = new Clausula[cantidad];
+        Prueba.Origen[] origenesPasos = new Prueba.Origen[cantidad];
+        int[] padresPasos = new int[cantidad * CAMPOS];
+        int[] numeros = new int[clausulas.size()];
+        int numero = 0;
+        for (int id = usados.nextSetBit(0); id >= 0; id = usados.nextSetBit(id + 1), numero++) {
+            numeros[id] = numero;
+            pasos[numero] = clausulas.get(id);
+            origenesPasos[numero] = origenes.get(id);
+            for (int k = 0; k < CAMPOS; k++) {
+                padresPasos[numero * CAMPOS + k] = padres[id * CAMPOS + k];
+            }
+            if (origenes.get(id) == Prueba.Origen.RESOLUCION) {
+                padresPasos[numero * CAMPOS] = numeros[padres[id * CAMPOS]];
+                padresPasos[numero * CAMPOS + 2] = numeros[padres[id * CAMPOS + 2]];
+            }
+        }
+        return new Prueba(cantidad, () -> describir(pasos, origenesPasos, padresPasos, unificador));
+    }
+
+    private static List<Prueba.Paso> describir(Clausula[] clausulas, Prueba.Origen[] origenes, int[] padres,
+                                               UnificadorTerminos unificador) {
+        List<Prueba.Paso> pasos = new ArrayList<>(clausulas.length);
+        for (int numero = 0; numero < clausulas.length; numero++) {
+            String clausula = clausulas[numero].toString();
+            if (origenes[numero] != Prueba.Origen.RESOLUCION) {
+                pasos.add(Prueba.Paso.hoja(numero, origenes[numero], clausula));
+                continue;
+            }
+
+            int padre1 = padres[numero * CAMPOS];
+            int literal1 = padres[numero * CAMPOS + 1];
+            int padre2 = padres[numero * CAMPOS + 2];
+            int literal2 = padres[numero * CAMPOS + 3];
+            List<Map<String, String>> sustituciones =
+                    sustituciones(clausulas[padre1], literal1, clausulas[padre2], literal2, unificador);
+            pasos.add(new Prueba.Paso(numero, Prueba.Origen.RESOLUCION, clausula, padre1, literal1, padre2, literal2,
+                    sustituciones.get(0), sustituciones.get(1)));
+        }
+        return pasos;
+    }
+
+    // Vuelve a unificar los literales resueltos (c1 en el lado 0 y c2 en el lado 1, como en la
+    // resolución) y lee el valor de cada variable de los padres. Los literales que quedan en el
+    // resolvente se renombran primero y en el mismo orden, para que las variables de los valores
+    // coincidan con las del resolvente guardado
+    private static List<Map<String, String>> sustituciones(Clausula c1, int i, Clausula c2, int j,
+                                                           UnificadorTerminos unificador) {
+        Ligaduras ligaduras = unificador.ligadurasDelHilo();
+        int marca = ligaduras.marca();
+        if (!unificador.unificar(c1.literal(i).getAtomo(), 0, c2.literal(j).getAtomo(), 1, ligaduras)) {
+            throw new IllegalStateException("Los padres registrados no unifican: " + c1 + " y " + c2);
+        }
+        try {
+            for (int k = 0; k < c1.size(); k++) {
+                if (k != i) {
+                    unificador.renombrarAparte(c1.literal(k), 0, ligaduras);
+                }
+            }
+            for (int k = 0; k < c2.size(); k++) {
+                if (k != j) {
+                    unificador.renombrarAparte(c2.literal(k), 1, ligaduras);
+                }
+            }
+            return List.of(sustitucion(c1, 0, unificador, ligaduras), sustitucion(c2, 1, unificador, ligaduras));
+        } finally {
+            ligaduras.deshacer(marca);
+            ligaduras.olvidarRenombres();
+        }
+    }
+
+    private static Map<String, String> sustitucion(Clausula clausula, int lado, UnificadorTerminos unificador,
+                                                   Ligaduras ligaduras) {
+        Set<Termino> variables = new LinkedHashSet<>();
+        for (int k = 0; k < clausula.size(); k++) {
+            variablesDe(clausula.literal(k).getAtomo(), variables);
+        }
+
+        // Las variables que solo cambian de nombre no se anotan: el resolvente ya las muestra
+        Map<String, String> resultado = new LinkedHashMap<>();
+        for (Termino variable : variables) {
+            if (ligaduras.valor(variable, lado) != null) {
+                Termino valor = unificador.renombrarAparte(variable, lado, ligaduras);
+                if (!valor.esVariable()) {
+                    resultado.put(variable.toString(), valor.toString());
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private static void variablesDe(Termino termino, Set<Termino> variables) {
+        if (termino.esVariable()) {
+            variables.add(termino);
+            return;
+        }
+        for (int i = 0; i < termino.aridad(); i++) {
+            variablesDe(termino.argumento(i), variables);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.inferencia;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Resultado de una consulta por refutación con las estadísticas de la búsqueda. DESCONOCIDO
+// indica que se agotó el presupuesto (ver getLimite) antes de encontrar o descartar una prueba,
+// o que la red Rete no puede descartar la consulta (FUERA_DE_LA_RED).
+// Con el método SLD, clausulasDadas cuenta las submetas evaluadas y maximoClausulasVivas las
+// respuestas guardadas en las tablas
+@Getter
+@AllArgsConstructor
+public class ResultadoConsulta {
+    public enum Respuesta {
+        SI, NO, DESCONOCIDO
+    }
+
+    public enum Metodo {
+        RESOLUCION, SLD, RETE
+    }
+
+    public enum Limite {
+        ITERACIONES("excedido número máximo de iteraciones"),
+        PLAZO("excedido el plazo de la consulta"),
+        RESOLUCIONES("excedido número máximo de resoluciones"),
+        CLAUSULAS_VIVAS("excedido número máximo de cláusulas vivas"),
+        LONGITUD_CLAUSULA("se descartaron resolventes por su longitud"),
+        FUERA_DE_LA_RED("la base tiene cláusulas que el encadenamiento hacia adelante no cubre");
+
+        private final String descripcion;
+
+        Limite(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    private final Respuesta respuesta;
+    private final Limite limite; // null salvo en DESCONOCIDO
+    private final boolean desdeCache;
+    private final int resoluciones;
+    private final int paresIntentados;
+    private final int clausulasDadas;
+    private final int maximoClausulasVivas;
+    private final long nanosegundos;
+    private final Prueba prueba; // solo en SI y con MotorInferencia.registrarPruebas
+    private final Metodo metodo; // null si la respuesta vino de la caché o si no llegó a resolverse
+
+    static ResultadoConsulta desdeCache(boolean respuesta) {
+        return new ResultadoConsulta(respuesta ? Respuesta.SI : Respuesta.NO, null, true, 0, 0, 0, 0, 0, null, null);
+    }
+
+    // Consulta cuyo plazo venció antes de empezar a resolverla (ver ServicioConsultas)
+    static ResultadoConsulta vencida(long nanosegundos) {
+        return new ResultadoConsulta(Respuesta.DESCONOCIDO, Limite.PLAZO, false, 0, 0, 0, 0, nanosegundos, null, null);
+    }
+
+    public boolean esConocida() {
+        return respuesta != Respuesta.DESCONOCIDO;
+    }
+
+    // Adaptador para la API booleana: DESCONOCIDO se informa como antes, con una Exception
+    public boolean aBooleano() throws Exception {
+        if (respuesta == Respuesta.DESCONOCIDO) {
+            throw new Exception("No se puede determinar la consulta con la información disponible (" +
+                    limite.getDescripcion() + ")");
+        }
+        return respuesta == Respuesta.SI;
+    }
+
+    @Override
+    public String toString() {
+        return respuesta + (limite != null ? " (" + limite.getDescripcion() + ")" : "") +
+                (desdeCache ? " [caché]" : "") + (metodo == Metodo.SLD ? " [SLD]" : metodo == Metodo.RETE ? " [Rete]" : "") + ": " + resoluciones + " resoluciones, " + clausulasDadas +
+                " cláusulas dadas, máximo " + maximoClausulasVivas + " vivas, " +
+                String.format("%.2f ms", nanosegundos / 1e6);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.inferencia;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+// Resultado de consultarLote: un ResultadoConsulta por consulta (en el mismo orden) y el
+// rendimiento total del lote, separando el tiempo de preparar los lemas de la base
+@Getter
+public class ResultadoLote {
+    private final List<ResultadoConsulta> resultados;
+    private final int lemas;
+    private final long nanosegundosLemas;
+    private final long nanosegundosTotales;
+    private final int si;
+    private final int no;
+    private final int desconocidas;
+    private final long resoluciones;
+
+    ResultadoLote(List<ResultadoConsulta> resultados, int lemas, long nanosegundosLemas, long nanosegundosTotales) {
+        this.resultados = Collections.unmodifiableList(resultados);
+        this.lemas = lemas;
+        this.nanosegundosLemas = nanosegundosLemas;
+        this.nanosegundosTotales = nanosegundosTotales;
+
+        int si = 0, no = 0, desconocidas = 0;
+        long resoluciones = 0;
+        for (ResultadoConsulta resultado : resultados) {
+            switch (resultado.getRespuesta()) {
+                case SI -> si++;
+                case NO -> no++;
+                case DESCONOCIDO -> desconocidas++;
+            }
+            resoluciones += resultado.getResoluciones();
+        }
+        this.si = si;
+        this.no = no;
+        this.desconocidas = desconocidas;
+        this.resoluciones = resoluciones;
+    }
+
+    public double consultasPorSegundo() {
+        return nanosegundosTotales == 0 ? 0 : resultados.size() * 1e9 / nanosegundosTotales;
+    }
+
+    @Override
+    public String toString() {
+        return resultados.size() + " consultas (" + si + " SÍ, " + no + " NO, " + desconocidas + " desconocidas), " +
+                lemas + " lemas de la base en " + String.format("%.2f ms", nanosegundosLemas / 1e6) + ", " +
+                resoluciones + " resoluciones, " + String.format("%.2f ms en total, %.1f consultas/s",
+                nanosegundosTotales / 1e6, consultasPorSegundo());
+    }
+}
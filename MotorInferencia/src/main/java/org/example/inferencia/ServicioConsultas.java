@@ -0,0 +1,219 @@
+package org.example.inferencia;
+
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.example.sld.MotorSLD;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fachada para atender consultas concurrentes (por ejemplo desde un servidor) sin crear un motor
+// por petición. Las consultas se resuelven sobre una BaseVersionada: cada una toma la versión
+// actual al empezar a resolver y la usa hasta el final, así que ninguna consulta la modifica ni
+// la ve cambiar aunque un escritor publique versiones nuevas mientras tanto. Sin una base
+// versionada, el servicio usa una copia fija de la base del motor. Cada consulta corre en su
+// propio hilo virtual y todo lo suyo queda en su contexto (un EstadoBusqueda, o un MotorSLD con
+// tablas propias que comparte el índice de cabezas de la versión); del motor de origen solo se
+// copia la configuración.
+//
+// Control de admisión: como mucho 'maxConcurrentes' consultas resuelven a la vez (el trabajo es
+// de CPU) y como mucho 'maxEnEspera' esperan turno; con la cola llena la consulta se rechaza en
+// el momento con RejectedExecutionException. El plazo del presupuesto cuenta desde que se envía
+// la consulta, incluida la espera: si vence antes de empezar, la respuesta es DESCONOCIDO (PLAZO)
+public class ServicioConsultas implements AutoCloseable {
+    private final MotorInferencia configuracion;
+    private final BaseVersionada versiones;
+    private final Presupuesto presupuesto;
+
+    private final int maxConcurrentes;
+    private final int maxEnEspera;
+    private final Semaphore turnos;
+    private final AtomicInteger admitidas = new AtomicInteger(); // En espera o resolviendo
+    private final ExecutorService hilos = hilosVirtuales();
+
+    private final LongAdder atendidas = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final LongAdder vencidas = new LongAdder();
+
+    public ServicioConsultas(MotorInferencia motor) {
+        this(motor, Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    public ServicioConsultas(MotorInferencia motor, int maxConcurrentes, int maxEnEspera) {
+        this(motor, new BaseVersionada(motor.getBaseCompilada()), maxConcurrentes, maxEnEspera);
+    }
+
+    public ServicioConsultas(MotorInferencia motor, BaseVersionada versiones) {
+        this(motor, versiones, Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    public ServicioConsultas(MotorInferencia motor, BaseVersionada versiones, int maxConcurrentes, int maxEnEspera) {
+        if (maxConcurrentes < 1 || maxEnEspera < 0) {
+            throw new IllegalArgumentException("Límites de admisión inválidos: " + maxConcurrentes + " concurrentes, " +
+                    maxEnEspera + " en espera");
+        }
+        this.configuracion = motor.nuevoTrabajador();
+        this.versiones = versiones;
+        // Copia: el motor de origen puede cambiar su presupuesto después
+        this.presupuesto = motor.getPresupuesto().copia();
+        this.maxConcurrentes = maxConcurrentes;
+        this.maxEnEspera = maxEnEspera;
+        this.turnos = new Semaphore(maxConcurrentes, true);
+    }
+
+    // Un hilo virtual por consulta: la que espera turno no ocupa un hilo del sistema
+    private static ExecutorService hilosVirtuales() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    public CompletableFuture<ResultadoConsulta> enviar(String consulta) {
+        return enviar(consulta, presupuesto);
+    }
+
+    // La consulta se compila en el hilo que llama, así que un error de sintaxis se lanza acá
+    // (IllegalArgumentException) y no en el futuro
+    public CompletableFuture<ResultadoConsulta> enviar(String consulta, Presupuesto presupuestoConsulta) {
+        Literal literal = Compilador.literal(consulta);
+        long enviada = System.nanoTime();
+
+        if (admitidas.incrementAndGet() > maxConcurrentes + maxEnEspera) {
+            admitidas.decrementAndGet();
+            rechazadas.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Servicio saturado: " + maxConcurrentes + " consultas en curso y " + maxEnEspera + " en espera"));
+        }
+
+        CompletableFuture<ResultadoConsulta> futuro = new CompletableFuture<>();
+        try {
+            hilos.execute(() -> atender(literal, presupuestoConsulta, enviada, futuro));
+        } catch (RejectedExecutionException e) {
+            admitidas.decrementAndGet(); // Servicio cerrado
+            rechazadas.increment();
+            futuro.completeExceptionally(e);
+        }
+        return futuro;
+    }
+
+    // Versión bloqueante de enviar
+    public ResultadoConsulta consultar(String consulta, Presupuesto presupuestoConsulta) throws InterruptedException {
+        try {
+            return enviar(consulta, presupuestoConsulta).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public ResultadoConsulta consultar(String consulta) throws InterruptedException {
+        return consultar(consulta, presupuesto);
+    }
+
+    private void atender(Literal consulta, Presupuesto presupuestoConsulta, long enviada,
+                         CompletableFuture<ResultadoConsulta> futuro) {
+        // El turno y la admisión se liberan antes de completar el futuro, así que quien recibe la
+        // respuesta ya ve el lugar libre
+        ResultadoConsulta resultado = null;
+        Exception error = null;
+        try {
+            turnos.acquire();
+            try {
+                resultado = resolver(consulta, presupuestoConsulta, enviada);
+            } finally {
+                turnos.release();
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            error = e;
+        } finally {
+            admitidas.decrementAndGet();
+        }
+
+        if (error != null) {
+            futuro.completeExceptionally(error);
+        } else {
+            futuro.complete(resultado);
+        }
+    }
+
+    private ResultadoConsulta resolver(Literal consulta, Presupuesto presupuestoConsulta, long enviada) {
+        Presupuesto restante = presupuestoConsulta;
+        if (presupuestoConsulta.getPlazo() != null) {
+            long espera = System.nanoTime() - enviada;
+            long quedan = presupuestoConsulta.getPlazo().toNanos() - espera;
+            if (quedan <= 0) {
+                vencidas.increment();
+                return ResultadoConsulta.vencida(espera);
+            }
+            restante = presupuestoConsulta.conPlazo(Duration.ofNanos(quedan));
+        }
+
+        // El mismo enrutamiento que MotorInferencia.consultar, sin caché ni lemas
+        VersionBase version = versiones.actual();
+        BaseCompilada base = version.getClausulas();
+        ResultadoConsulta resultado;
+        if (configuracion.isEncadenamientoHaciaAtras() && !configuracion.isRegistrarPruebas() && !consulta.isNegado() &&
+                base.esHornPara(consulta.getPredicado())) {
+            resultado = new MotorSLD(version.programaSLD()).consultar(consulta, restante);
+        } else {
+            EstadoBusqueda estado = configuracion.nuevaBusqueda(base, consulta, configuracion.getEstrategia(), restante);
+            resultado = configuracion.refutar(estado, consulta, Collections.emptyList());
+        }
+        atendidas.increment();
+        return resultado;
+    }
+
+    public int getMaxConcurrentes() {
+        return maxConcurrentes;
+    }
+
+    public int getMaxEnEspera() {
+        return maxEnEspera;
+    }
+
+    // Consultas admitidas que todavía no terminaron (en espera de turno o resolviendo)
+    public int getEnCurso() {
+        return admitidas.get();
+    }
+
+    public long getAtendidas() {
+        return atendidas.sum();
+    }
+
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    public long getVencidas() {
+        return vencidas.sum();
+    }
+
+    public BaseVersionada getVersiones() {
+        return versiones;
+    }
+
+    // Cláusulas de la versión actual
+    public BaseCompilada getBase() {
+        return versiones.actual().getClausulas();
+    }
+
+    // No admite consultas nuevas y espera a que terminen las ya admitidas
+    @Override
+    public void close() {
+        hilos.shutdown();
+        try {
+            hilos.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
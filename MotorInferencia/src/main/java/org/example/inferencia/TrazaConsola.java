@@ -0,0 +1,84 @@
+package org.example.inferencia;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.logica.Clausula;
+
+// Traza por consola de la búsqueda. Por defecto imprime una iteración de cada diez y solo las
+// resoluciones clave (una de cada veinte y las que dan resolventes de hasta dos literales);
+// con 'detallada' imprime todas
+@Getter
+@Setter
+@NoArgsConstructor
+public class TrazaConsola implements OyenteTraza {
+    private boolean detallada = false;
+
+    public TrazaConsola(boolean detallada) {
+        this.detallada = detallada;
+    }
+
+    @Override
+    public void consultaIniciada(Clausula consultaNegada) {
+        System.out.println("\n>> Agregada cláusula de la consulta negada: " + consultaNegada);
+    }
+
+    @Override
+    public void iteracion(int iteracion, int procesadas, int pendientes) {
+        if (detallada || iteracion % 10 == 1) {
+            System.out.println("\n>> Iteración " + iteracion + " (" + procesadas + " procesadas, " +
+                    pendientes + " pendientes)");
+        }
+    }
+
+    @Override
+    public void generacion(int hastaIteracion, int dadas, int procesadas) {
+        System.out.println("\n>> Generación hasta iteración " + hastaIteracion + " (" + dadas +
+                " cláusulas dadas, " + procesadas + " procesadas)");
+    }
+
+    @Override
+    public void resolucion(int numero, Clausula c1, Clausula c2, Clausula resolvente) {
+        if (detallada || numero % 20 == 0 || resolvente.size() <= 2) {
+            System.out.println(">> Resolución #" + numero + ": " + c1 + " + " + c2 + " = " + resolvente);
+        }
+    }
+
+    @Override
+    public void contradiccion(Clausula c1, Clausula c2) {
+        System.out.println("\n>> ENCONTRADA CLÁUSULA VACÍA!");
+        System.out.println(">> Resolución entre: " + c1 + " y " + c2);
+    }
+
+    @Override
+    public void consultaTerminada(MotorInferencia motor, ResultadoConsulta resultado, Presupuesto presupuesto) {
+        if (resultado.getMetodo() == ResultadoConsulta.Metodo.SLD) {
+            System.out.println("\n>> Encadenamiento hacia atrás: " + resultado);
+            System.out.println(">> Submetas evaluadas: " + resultado.getClausulasDadas() + ", respuestas en las tablas: " +
+                    resultado.getMaximoClausulasVivas());
+            return;
+        }
+        switch (resultado.getRespuesta()) {
+            case SI -> System.out.println(">> Total de resoluciones realizadas: " + resultado.getResoluciones() +
+                    " (" + resultado.getParesIntentados() + " pares de literales intentados)");
+            case DESCONOCIDO -> System.out.println("\n>> PRESUPUESTO AGOTADO: " +
+                    resultado.getLimite().getDescripcion() + " (" + presupuesto + ")");
+            case NO -> System.out.println("\n>> NO SE ENCONTRÓ CONTRADICCIÓN después de " +
+                    resultado.getResoluciones() + " resoluciones");
+        }
+        System.out.println(">> Selección " + motor.getEstrategiaUsada() + ": " + resultado.getClausulasDadas() + " cláusulas dadas");
+        System.out.println(">> Subsunción: " + motor.getSubsumidasHaciaAdelante() + " descartadas hacia adelante, " +
+                motor.getSubsumidasHaciaAtras() + " eliminadas hacia atrás (máximo " +
+                resultado.getMaximoClausulasVivas() + " cláusulas vivas)");
+    }
+
+    @Override
+    public void respuestaDeCache(long version) {
+        System.out.println("\n>> Respuesta tomada de la caché (versión " + version + " de la base)");
+    }
+
+    @Override
+    public void loteTerminado(ResultadoLote lote) {
+        System.out.println("\n>> Lote: " + lote);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.inferencia;
+
+import org.example.sld.MotorSLD;
+
+// Una versión publicada de una BaseVersionada: sus cláusulas están congeladas, así que quien la
+// toma la puede consultar desde cualquier hilo, sin bloqueo y sin ver los cambios posteriores
+public final class VersionBase {
+    private final long numero;
+    private final BaseCompilada clausulas;
+    private volatile MotorSLD programaSLD;
+
+    VersionBase(long numero, BaseCompilada clausulas) {
+        this.numero = numero;
+        this.clausulas = clausulas;
+    }
+
+    public long getNumero() {
+        return numero;
+    }
+
+    public BaseCompilada getClausulas() {
+        return clausulas;
+    }
+
+    public int size() {
+        return clausulas.size();
+    }
+
+    // Índice de cabezas para encadenamiento hacia atrás sobre esta versión, armado la primera
+    // vez que se pide. Es una plantilla: cada consulta usa una copia con tablas propias
+    // (new MotorSLD(programa)). Si dos hilos lo piden a la vez puede armarse dos veces, pero
+    // las dos copias son iguales
+    public MotorSLD programaSLD() {
+        MotorSLD programa = programaSLD;
+        if (programa == null) {
+            programa = new MotorSLD(clausulas.getClausulas());
+            programaSLD = programa;
+        }
+        return programa;
+    }
+
+    @Override
+    public String toString() {
+        return "versión " + numero + " (" + clausulas.size() + " cláusulas en " + clausulas.cantidadCapas() + " capas)";
+    }
+}
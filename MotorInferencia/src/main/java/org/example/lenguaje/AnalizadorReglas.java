@@ -0,0 +1,325 @@
+package org.example.lenguaje;
+
+import org.example.logica.Literal;
+import org.example.logica.Simbolos;
+import org.example.logica.Termino;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Analizador descendente recursivo de una sentencia del lenguaje de reglas. La precedencia, de
+// menor a mayor, es ⇒ (asociativa a derecha), ∨, ∧ y luego ¬, los cuantificadores y los
+// paréntesis. ∀ abarca todo lo que sigue hasta el paréntesis que lo encierra (∀x P(x) ⇒ Q(x)),
+// y ∃ seguido de un paréntesis abarca solo ese paréntesis (∃y[P(y)] ⇒ Q). Los símbolos se
+// internan mientras se lee (los átomos salen ya compilados).
+//
+// Solo se aceptan sentencias que se pasan a FNC sin skolemizar: ∀ en posición positiva y ∃ en
+// la premisa de una implicación (∃y P(y) ⇒ Q equivale a ∀y (P(y) ⇒ Q)). Las variables
+// cuantificadas que no siguen la convención de Simbolos.esNombreVariable se renombran a ?nombre
+final class AnalizadorReglas {
+    private sealed interface Formula permits Atomo, Conjuncion, Disyuncion, Implicacion, Cuantificada {
+    }
+
+    private record Atomo(Literal literal) implements Formula {
+    }
+
+    private record Conjuncion(List<Formula> partes) implements Formula {
+    }
+
+    private record Disyuncion(List<Formula> partes) implements Formula {
+    }
+
+    private record Implicacion(Formula premisa, Formula conclusion) implements Formula {
+    }
+
+    private record Cuantificada(boolean universal, Formula cuerpo, int columna) implements Formula {
+    }
+
+    private final List<Lexico.Token> tokens;
+    private final int numeroLinea;
+    private int pos;
+
+    // Variables cuantificadas visibles (nombre escrito -> cuántos cuantificadores abiertos lo ligan)
+    private final Map<String, Integer> ligadas = new HashMap<>();
+
+    private AnalizadorReglas(List<Lexico.Token> tokens, int numeroLinea) {
+        this.tokens = tokens;
+        this.numeroLinea = numeroLinea;
+    }
+
+    // Analiza una línea (sin comentarios ni vacía) y entrega sus cláusulas al destino
+    static void analizar(String linea, int numeroLinea, DestinoCarga destino) {
+        AnalizadorReglas analizador = new AnalizadorReglas(Lexico.tokens(linea, numeroLinea), numeroLinea);
+        Formula formula = analizador.implicacion();
+        if (analizador.siguienteEs(Lexico.Tipo.PUNTO)) {
+            analizador.pos++;
+        }
+        if (analizador.pos < analizador.tokens.size()) {
+            throw analizador.error("texto sobrante");
+        }
+        analizador.verificarCuantificadores(formula, true);
+        analizador.emitir(formula, new ArrayList<>(), destino);
+    }
+
+    private Formula implicacion() {
+        Formula premisa = disyuncion();
+        if (!siguienteEs(Lexico.Tipo.IMPLICA)) {
+            return premisa;
+        }
+        pos++;
+        return new Implicacion(premisa, implicacion());
+    }
+
+    private Formula disyuncion() {
+        List<Formula> partes = new ArrayList<>();
+        partes.add(conjuncion());
+        while (siguienteEs(Lexico.Tipo.O)) {
+            pos++;
+            partes.add(conjuncion());
+        }
+        return partes.size() == 1 ? partes.get(0) : new Disyuncion(aplanar(partes, Disyuncion.class));
+    }
+
+    private Formula conjuncion() {
+        List<Formula> partes = new ArrayList<>();
+        partes.add(unaria());
+        while (siguienteEs(Lexico.Tipo.Y)) {
+            pos++;
+            partes.add(unaria());
+        }
+        return partes.size() == 1 ? partes.get(0) : new Conjuncion(aplanar(partes, Conjuncion.class));
+    }
+
+    private Formula unaria() {
+        Lexico.Token token = siguiente("se esperaba un átomo");
+        switch (token.tipo()) {
+            case NO -> {
+                pos++;
+                Formula negada = unaria();
+                if (!(negada instanceof Atomo atomo)) {
+                    throw error("la negación solo se admite sobre átomos");
+                }
+                return new Atomo(atomo.literal().complemento());
+            }
+            case PARATODO, EXISTE -> {
+                return cuantificada(token);
+            }
+            case ABRE -> {
+                pos++;
+                Formula interior = implicacion();
+                esperar(Lexico.Tipo.CIERRA, "falta cerrar el paréntesis");
+                return interior;
+            }
+            case NOMBRE -> {
+                return new Atomo(new Literal(atomo(), false));
+            }
+            default -> throw error("se esperaba un átomo");
+        }
+    }
+
+    private Formula cuantificada(Lexico.Token cuantificador) {
+        pos++;
+
+        // La primera variable siempre lo es; las siguientes, mientras no sean un predicado
+        List<String> variables = new ArrayList<>();
+        variables.add(esperar(Lexico.Tipo.NOMBRE, "se esperaba una variable").texto());
+        while (true) {
+            if (siguienteEs(Lexico.Tipo.COMA)) {
+                pos++;
+                variables.add(esperar(Lexico.Tipo.NOMBRE, "se esperaba una variable").texto());
+            } else if (siguienteEs(Lexico.Tipo.NOMBRE) && !tokenEs(pos + 1, Lexico.Tipo.ABRE)) {
+                variables.add(tokens.get(pos++).texto());
+            } else {
+                break;
+            }
+        }
+        if (siguienteEs(Lexico.Tipo.DOS_PUNTOS) || siguienteEs(Lexico.Tipo.PUNTO)) {
+            pos++;
+        }
+
+        boolean universal = cuantificador.tipo() == Lexico.Tipo.PARATODO;
+        for (String variable : variables) {
+            ligadas.merge(variable, 1, Integer::sum);
+        }
+        Formula cuerpo = !universal && siguienteEs(Lexico.Tipo.ABRE) ? unaria() : implicacion();
+        for (String variable : variables) {
+            ligadas.computeIfPresent(variable, (v, n) -> n == 1 ? null : n - 1);
+        }
+        return new Cuantificada(universal, cuerpo, cuantificador.columna());
+    }
+
+    // 'positivo' es la polaridad de la subfórmula, que cambia en la premisa de ⇒ (la negación
+    // solo se admite sobre átomos, así que no encierra cuantificadores)
+    private void verificarCuantificadores(Formula formula, boolean positivo) {
+        if (formula instanceof Cuantificada cuantificada) {
+            if (cuantificada.universal() != positivo) {
+                throw error(cuantificada.columna(), cuantificada.universal() ?
+                        "∀ en la premisa de una implicación requiere skolemizar" :
+                        "∃ fuera de la premisa de una implicación requiere skolemizar (para una premisa " +
+                                "existencial, encierre su alcance entre paréntesis: ∃y[...] ⇒ ...)");
+            }
+            verificarCuantificadores(cuantificada.cuerpo(), positivo);
+        } else if (formula instanceof Implicacion implicacion) {
+            verificarCuantificadores(implicacion.premisa(), !positivo);
+            verificarCuantificadores(implicacion.conclusion(), positivo);
+        } else if (formula instanceof Conjuncion conjuncion) {
+            for (Formula parte : conjuncion.partes()) {
+                verificarCuantificadores(parte, positivo);
+            }
+        } else if (formula instanceof Disyuncion disyuncion) {
+            for (Formula parte : disyuncion.partes()) {
+                verificarCuantificadores(parte, positivo);
+            }
+        }
+    }
+
+    private Termino atomo() {
+        Lexico.Token predicado = esperar(Lexico.Tipo.NOMBRE, "se esperaba un predicado");
+        if (ligadas.containsKey(predicado.texto()) || Simbolos.esNombreVariable(predicado.texto())) {
+            pos--;
+            throw error("se esperaba un predicado y '" + predicado.texto() + "' es una variable");
+        }
+        return compuesto(predicado);
+    }
+
+    private Termino termino() {
+        Lexico.Token nombre = esperar(Lexico.Tipo.NOMBRE, "se esperaba un término");
+        if (tokenEs(pos, Lexico.Tipo.ABRE)) {
+            return compuesto(nombre);
+        }
+        String texto = nombre.texto();
+        if (ligadas.containsKey(texto) && !Simbolos.esNombreVariable(texto)) {
+            return Termino.variable(Simbolos.id("?" + texto));
+        }
+        int simbolo = Simbolos.id(texto);
+        return ligadas.containsKey(texto) || Simbolos.esNombreVariable(texto) ?
+                Termino.variable(simbolo) : Termino.constante(simbolo);
+    }
+
+    // Nombre con argumentos opcionales; "P()" equivale a la constante P
+    private Termino compuesto(Lexico.Token nombre) {
+        int simbolo = Simbolos.id(nombre.texto());
+        if (!siguienteEs(Lexico.Tipo.ABRE)) {
+            return Termino.constante(simbolo);
+        }
+        pos++;
+        List<Termino> argumentos = new ArrayList<>();
+        if (!siguienteEs(Lexico.Tipo.CIERRA)) {
+            argumentos.add(termino());
+            while (siguienteEs(Lexico.Tipo.COMA)) {
+                pos++;
+                argumentos.add(termino());
+            }
+        }
+        esperar(Lexico.Tipo.CIERRA, "se esperaba ',' o ')'");
+        return Termino.compuesto(simbolo, argumentos.toArray(new Termino[0]));
+    }
+
+    // Pasa la fórmula a hechos, reglas y disyunciones; 'premisas' son las de las implicaciones
+    // que la encierran (A ⇒ (B ⇒ C) equivale a A ∧ B ⇒ C)
+    private void emitir(Formula formula, List<Literal> premisas, DestinoCarga destino) {
+        if (formula instanceof Cuantificada cuantificada) {
+            emitir(cuantificada.cuerpo(), premisas, destino);
+        } else if (formula instanceof Atomo atomo) {
+            if (premisas.isEmpty()) {
+                destino.hecho(atomo.literal());
+            } else {
+                destino.regla(premisas, atomo.literal());
+            }
+        } else if (formula instanceof Conjuncion conjuncion) {
+            for (Formula parte : conjuncion.partes()) {
+                emitir(parte, premisas, destino);
+            }
+        } else if (formula instanceof Disyuncion disyuncion) {
+            List<Literal> literales = new ArrayList<>();
+            for (Literal premisa : premisas) {
+                literales.add(premisa.complemento());
+            }
+            agregarDisyuntos(disyuncion, literales);
+            destino.disyuncion(literales);
+        } else if (formula instanceof Implicacion implicacion) {
+            List<Literal> todas = new ArrayList<>(premisas);
+            agregarPremisas(implicacion.premisa(), todas);
+            emitir(implicacion.conclusion(), todas, destino);
+        }
+    }
+
+    private void agregarPremisas(Formula premisa, List<Literal> premisas) {
+        if (premisa instanceof Cuantificada cuantificada) {
+            agregarPremisas(cuantificada.cuerpo(), premisas);
+        } else if (premisa instanceof Atomo atomo) {
+            premisas.add(atomo.literal());
+        } else if (premisa instanceof Conjuncion conjuncion) {
+            for (Formula parte : conjuncion.partes()) {
+                agregarPremisas(parte, premisas);
+            }
+        } else {
+            throw error("la premisa de una implicación debe ser una conjunción de átomos");
+        }
+    }
+
+    private void agregarDisyuntos(Formula disyunto, List<Literal> literales) {
+        if (disyunto instanceof Cuantificada cuantificada) {
+            agregarDisyuntos(cuantificada.cuerpo(), literales);
+        } else if (disyunto instanceof Atomo atomo) {
+            literales.add(atomo.literal());
+        } else if (disyunto instanceof Disyuncion disyuncion) {
+            for (Formula parte : disyuncion.partes()) {
+                agregarDisyuntos(parte, literales);
+            }
+        } else {
+            throw error("una disyunción solo puede tener átomos");
+        }
+    }
+
+    // (A ∧ B) ∧ C se guarda como una sola conjunción de tres partes (igual con ∨)
+    private static List<Formula> aplanar(List<Formula> partes, Class<? extends Formula> tipo) {
+        List<Formula> resultado = new ArrayList<>();
+        for (Formula parte : partes) {
+            if (parte instanceof Conjuncion conjuncion && tipo == Conjuncion.class) {
+                resultado.addAll(conjuncion.partes());
+            } else if (parte instanceof Disyuncion disyuncion && tipo == Disyuncion.class) {
+                resultado.addAll(disyuncion.partes());
+            } else {
+                resultado.add(parte);
+            }
+        }
+        return resultado;
+    }
+
+    private boolean siguienteEs(Lexico.Tipo tipo) {
+        return tokenEs(pos, tipo);
+    }
+
+    private boolean tokenEs(int posicion, Lexico.Tipo tipo) {
+        return posicion < tokens.size() && tokens.get(posicion).tipo() == tipo;
+    }
+
+    private Lexico.Token siguiente(String mensaje) {
+        if (pos >= tokens.size()) {
+            throw error(mensaje);
+        }
+        return tokens.get(pos);
+    }
+
+    private Lexico.Token esperar(Lexico.Tipo tipo, String mensaje) {
+        Lexico.Token token = siguiente(mensaje);
+        if (token.tipo() != tipo) {
+            throw error(mensaje);
+        }
+        pos++;
+        return token;
+    }
+
+    private IllegalArgumentException error(String mensaje) {
+        return error(pos < tokens.size() ? tokens.get(pos).columna() : -1, mensaje);
+    }
+
+    // Columna -1: fin de línea
+    private IllegalArgumentException error(int columna, String mensaje) {
+        String donde = columna >= 0 ? "columna " + columna : "fin de línea";
+        return new IllegalArgumentException("Línea " + numeroLinea + ", " + donde + ": " + mensaje);
+    }
+}
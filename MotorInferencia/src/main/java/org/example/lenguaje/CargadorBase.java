@@ -0,0 +1,107 @@
+package org.example.lenguaje;
+
+import org.example.logica.Literal;
+import org.example.model.BaseConocimiento;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Carga bases escritas en el lenguaje de reglas, una sentencia por línea:
+//
+//   Gato(Tuna)
+//   ∀x Gato(x) ⇒ Animal(x)
+//   ∀x Romano(x) ⇒ (Leal(x, Cesar) ∨ Odia(x, Cesar))
+//   ∀x [∃y (Mata(x, y) ∧ Animal(y)) ⇒ ∀z ¬Ama(z, x)]
+//   Mata(Jack, Tuna) ∨ Mata(Curiosidad, Tuna)     # un comentario
+//   forall x, y: Hombre(x) & Gobernante(y) & IntentaAsesinar(x, y) => ~Leal(x, y)
+//
+// Una conjunción sin implicación son varios hechos y una conclusión conjuntiva son varias reglas.
+// Lo que sigue a '#', '%' o '//' es comentario y el punto final es opcional. El archivo se lee de
+// a una línea (la memoria no depende del tamaño del archivo, solo de lo que guarde el destino) y
+// un error de sintaxis detiene la carga con una IllegalArgumentException que indica la línea
+public final class CargadorBase {
+    private CargadorBase() {
+    }
+
+    public static BaseConocimiento leer(String texto) {
+        BaseConocimiento base = new BaseConocimiento();
+        try {
+            cargar(new StringReader(texto), DestinoCarga.de(base));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Un StringReader no falla
+        }
+        return base;
+    }
+
+    public static ResultadoCarga cargar(Path archivo, BaseConocimiento base) throws IOException {
+        return cargar(archivo, DestinoCarga.de(base));
+    }
+
+    public static ResultadoCarga cargar(Path archivo, DestinoCarga destino) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return cargar(lector, destino);
+        }
+    }
+
+    public static ResultadoCarga cargar(Reader fuente, DestinoCarga destino) throws IOException {
+        long inicio = System.nanoTime();
+        BufferedReader lector = fuente instanceof BufferedReader buffer ? buffer : new BufferedReader(fuente, 1 << 16);
+        Contador contador = new Contador(destino);
+        long lineas = 0;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            lineas++;
+            String sentencia = sinComentario(linea);
+            if (!sentencia.isBlank()) {
+                AnalizadorReglas.analizar(sentencia, (int) Math.min(lineas, Integer.MAX_VALUE), contador);
+            }
+        }
+        return new ResultadoCarga(lineas, contador.hechos, contador.reglas, contador.disyunciones,
+                System.nanoTime() - inicio);
+    }
+
+    private static String sinComentario(String linea) {
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (c == '#' || c == '%' || (c == '/' && i + 1 < linea.length() && linea.charAt(i + 1) == '/')) {
+                return linea.substring(0, i);
+            }
+        }
+        return linea;
+    }
+
+    private static final class Contador implements DestinoCarga {
+        private final DestinoCarga destino;
+        long hechos;
+        long reglas;
+        long disyunciones;
+
+        Contador(DestinoCarga destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void hecho(Literal hecho) {
+            hechos++;
+            destino.hecho(hecho);
+        }
+
+        @Override
+        public void regla(List<Literal> premisas, Literal conclusion) {
+            reglas++;
+            destino.regla(premisas, conclusion);
+        }
+
+        @Override
+        public void disyuncion(List<Literal> literales) {
+            disyunciones++;
+            destino.disyuncion(literales);
+        }
+    }
+}
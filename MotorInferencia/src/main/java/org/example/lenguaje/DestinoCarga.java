@@ -0,0 +1,91 @@
+package org.example.lenguaje;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.BaseVersionada;
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Recibe lo que el cargador va leyendo, con los átomos ya compilados. Las premisas de una regla
+// son literales (una premisa negada es una condición negativa, como en Regla)
+public interface DestinoCarga {
+    void hecho(Literal hecho);
+
+    void regla(List<Literal> premisas, Literal conclusion);
+
+    void disyuncion(List<Literal> literales);
+
+    // Vuelca a una base de conocimiento, como Hecho, Regla y cláusulas disyuntivas de strings
+    static DestinoCarga de(BaseConocimiento base) {
+        return new DestinoCarga() {
+            @Override
+            public void hecho(Literal hecho) {
+                base.agregarHecho(new Hecho(hecho.toString()));
+            }
+
+            @Override
+            public void regla(List<Literal> premisas, Literal conclusion) {
+                Set<Hecho> hechos = new HashSet<>();
+                for (Literal premisa : premisas) {
+                    hechos.add(new Hecho(premisa.toString()));
+                }
+                base.agregarRegla(new Regla(hechos, new Hecho(conclusion.toString())));
+            }
+
+            @Override
+            public void disyuncion(List<Literal> literales) {
+                Set<String> clausula = new HashSet<>();
+                for (Literal literal : literales) {
+                    clausula.add(literal.toString());
+                }
+                base.agregarClausulasDisyuntivas(Set.of(clausula));
+            }
+        };
+    }
+
+    // Vuelca directamente las cláusulas, sin pasar por strings
+    static DestinoCarga de(BaseCompilada compilada) {
+        return new DestinoCarga() {
+            @Override
+            public void hecho(Literal hecho) {
+                compilada.agregar(Clausula.de(hecho));
+            }
+
+            @Override
+            public void regla(List<Literal> premisas, Literal conclusion) {
+                compilada.agregar(BaseCompilada.clausulaDe(premisas, conclusion));
+            }
+
+            @Override
+            public void disyuncion(List<Literal> literales) {
+                compilada.agregar(Clausula.de(literales));
+            }
+        };
+    }
+
+    // Vuelca a una base versionada: los lectores ven la carga por versiones mientras avanza
+    static DestinoCarga de(BaseVersionada versionada) {
+        return new DestinoCarga() {
+            @Override
+            public void hecho(Literal hecho) {
+                versionada.agregar(Clausula.de(hecho));
+            }
+
+            @Override
+            public void regla(List<Literal> premisas, Literal conclusion) {
+                versionada.agregar(BaseCompilada.clausulaDe(premisas, conclusion));
+            }
+
+            @Override
+            public void disyuncion(List<Literal> literales) {
+                versionada.agregar(Clausula.de(literales));
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.lenguaje;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Separa una línea del lenguaje de reglas en tokens. Cada conectivo tiene su símbolo lógico y
+// un equivalente ASCII: ¬ ~ !, ∧ &, ∨ |, ⇒ => ->, ∀ forall, ∃ exists
+final class Lexico {
+    enum Tipo {
+        NOMBRE, NO, Y, O, IMPLICA, PARATODO, EXISTE, ABRE, CIERRA, COMA, DOS_PUNTOS, PUNTO
+    }
+
+    // 'columna' empieza en 1, para los mensajes de error
+    record Token(Tipo tipo, String texto, int columna) {
+    }
+
+    private Lexico() {
+    }
+
+    static List<Token> tokens(String linea, int numeroLinea) {
+        List<Token> tokens = new ArrayList<>();
+        int pos = 0;
+        while (pos < linea.length()) {
+            char c = linea.charAt(pos);
+            int inicio = pos;
+            if (Character.isWhitespace(c)) {
+                pos++;
+                continue;
+            }
+
+            String texto = null;
+            Tipo tipo = switch (c) {
+                case '¬', '~', '!' -> Tipo.NO;
+                case '∧', '&' -> Tipo.Y;
+                case '∨', '|' -> Tipo.O;
+                case '⇒', '→' -> Tipo.IMPLICA;
+                case '∀' -> Tipo.PARATODO;
+                case '∃' -> Tipo.EXISTE;
+                case '(', '[', '{' -> Tipo.ABRE;
+                case ')', ']', '}' -> Tipo.CIERRA;
+                case ',' -> Tipo.COMA;
+                case ':' -> Tipo.DOS_PUNTOS;
+                case '.' -> Tipo.PUNTO;
+                default -> null;
+            };
+            if (tipo != null) {
+                pos++;
+            } else if ((c == '=' || c == '-') && pos + 1 < linea.length() && linea.charAt(pos + 1) == '>') {
+                tipo = Tipo.IMPLICA;
+                pos += 2;
+            } else if (esParteDeNombre(c)) {
+                while (pos < linea.length() && esParteDeNombre(linea.charAt(pos))) {
+                    pos++;
+                }
+                texto = linea.substring(inicio, pos);
+                tipo = switch (texto) {
+                    case "forall" -> Tipo.PARATODO;
+                    case "exists" -> Tipo.EXISTE;
+                    default -> Tipo.NOMBRE;
+                };
+            } else {
+                throw new IllegalArgumentException("Línea " + numeroLinea + ", columna " + (inicio + 1) +
+                        ": carácter inesperado '" + c + "'");
+            }
+            tokens.add(new Token(tipo, texto != null ? texto : linea.substring(inicio, pos), inicio + 1));
+        }
+        return tokens;
+    }
+
+    static boolean esParteDeNombre(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '?' || c == '\'';
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.lenguaje;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Lo que leyó una carga y a qué ritmo (las líneas cuentan también comentarios y líneas vacías)
+@Getter
+@AllArgsConstructor
+public class ResultadoCarga {
+    private final long lineas;
+    private final long hechos;
+    private final long reglas;
+    private final long disyunciones;
+    private final long nanosegundos;
+
+    public double hechosPorSegundo() {
+        return nanosegundos == 0 ? 0 : hechos * 1e9 / nanosegundos;
+    }
+
+    @Override
+    public String toString() {
+        return lineas + " líneas: " + hechos + " hechos, " + reglas + " reglas, " + disyunciones + " disyunciones, " +
+                String.format("%.2f ms (%.0f hechos/s)", nanosegundos / 1e6, hechosPorSegundo());
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.logica;
+
+import java.util.Arrays;
+
+// Almacén de cláusulas en arreglos de enteros, sin un objeto por cláusula. Cada literal se
+// guarda como un código (número de átomo * 2 + signo) y cada cláusula como [cantidad, códigos
+// ordenados...] dentro de páginas de tamaño fijo; la cláusula se nombra por su posición (un int).
+// Los duplicados se detectan con una tabla hash de direccionamiento abierto sobre esas
+// posiciones, así que comprobar si una cláusula ya se vio no crea Literal ni Clausula: solo se
+// materializan las que el llamador decide conservar (ver clausula). No es seguro entre hilos
+public final class ArenaClausulas {
+    static final int TAMANO_PAGINA = 1 << 16; // Enteros por página
+    private static final int PAGINA_INICIAL = 1 << 10;
+
+    private int[][] paginas = new int[4][];
+    private int cantidadPaginas = 0;
+    private int libre = TAMANO_PAGINA; // Posición libre en la última página
+
+    // Átomos numerados por orden de llegada y tabla (átomo -> número + 1, 0 = libre)
+    private Termino[] atomos = new Termino[256];
+    private int cantidadAtomos = 0;
+    private int[] tablaAtomos = new int[512];
+
+    // Tabla de cláusulas: posición + 1 (0 = libre) y el hash de la cláusula en paralelo
+    private int[] tablaClausulas = new int[1024];
+    private int[] hashes = new int[1024];
+    private int cantidadClausulas = 0;
+
+    // Código de un literal; el átomo se numera la primera vez que aparece
+    public int codigo(Termino atomo, boolean negado) {
+        int mascara = tablaAtomos.length - 1;
+        int i = mezclar(atomo.hashCode()) & mascara;
+        while (tablaAtomos[i] != 0) {
+            if (atomos[tablaAtomos[i] - 1] == atomo) {
+                return (tablaAtomos[i] - 1) * 2 + (negado ? 1 : 0);
+            }
+            i = (i + 1) & mascara;
+        }
+
+        if (cantidadAtomos == atomos.length) {
+            atomos = Arrays.copyOf(atomos, cantidadAtomos * 2);
+        }
+        atomos[cantidadAtomos++] = atomo;
+        tablaAtomos[i] = cantidadAtomos;
+        if (cantidadAtomos * 2 > tablaAtomos.length) {
+            redimensionarAtomos();
+        }
+        return (cantidadAtomos - 1) * 2 + (negado ? 1 : 0);
+    }
+
+    public int codigo(Literal literal) {
+        return codigo(literal.getAtomo(), literal.isNegado());
+    }
+
+    public Literal literalDe(int codigo) {
+        return new Literal(atomos[codigo >>> 1], (codigo & 1) != 0);
+    }
+
+    // Ordena y quita repetidos de los primeros 'cantidad' códigos (dentro del mismo arreglo) y
+    // agrega la cláusula si no estaba. Devuelve su posición, o -(posición) - 1 si ya estaba
+    public int agregar(int[] codigos, int cantidad) {
+        cantidad = normalizar(codigos, cantidad);
+        int hash = hash(codigos, cantidad);
+        int mascara = tablaClausulas.length - 1;
+        int i = mezclar(hash) & mascara;
+        while (tablaClausulas[i] != 0) {
+            int posicion = tablaClausulas[i] - 1;
+            if (hashes[i] == hash && iguales(posicion, codigos, cantidad)) {
+                return -posicion - 1;
+            }
+            i = (i + 1) & mascara;
+        }
+
+        int posicion = reservar(cantidad + 1);
+        int[] pagina = paginas[posicion / TAMANO_PAGINA];
+        int desde = posicion % TAMANO_PAGINA;
+        pagina[desde] = cantidad;
+        System.arraycopy(codigos, 0, pagina, desde + 1, cantidad);
+
+        tablaClausulas[i] = posicion + 1;
+        hashes[i] = hash;
+        cantidadClausulas++;
+        if (cantidadClausulas * 2 > tablaClausulas.length) {
+            redimensionarClausulas();
+        }
+        return posicion;
+    }
+
+    // Posición de la cláusula con esos literales, o -1 si no está (también normaliza 'codigos')
+    public int buscar(int[] codigos, int cantidad) {
+        cantidad = normalizar(codigos, cantidad);
+        int hash = hash(codigos, cantidad);
+        int mascara = tablaClausulas.length - 1;
+        for (int i = mezclar(hash) & mascara; tablaClausulas[i] != 0; i = (i + 1) & mascara) {
+            if (hashes[i] == hash && iguales(tablaClausulas[i] - 1, codigos, cantidad)) {
+                return tablaClausulas[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    public int cantidadLiterales(int posicion) {
+        return paginas[posicion / TAMANO_PAGINA][posicion % TAMANO_PAGINA];
+    }
+
+    public int codigo(int posicion, int k) {
+        return paginas[posicion / TAMANO_PAGINA][posicion % TAMANO_PAGINA + 1 + k];
+    }
+
+    // Materializa la cláusula guardada en 'posicion' (con el orden normal de Clausula)
+    public Clausula clausula(int posicion) {
+        int cantidad = cantidadLiterales(posicion);
+        Literal[] literales = new Literal[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            literales[k] = literalDe(codigo(posicion, k));
+        }
+        return Clausula.normalizar(literales, cantidad);
+    }
+
+    public int size() {
+        return cantidadClausulas;
+    }
+
+    public int cantidadAtomos() {
+        return cantidadAtomos;
+    }
+
+    // Memoria reservada por las páginas y las tablas (los átomos en sí están internados y no cuentan)
+    public long bytesReservados() {
+        long enteros = cantidadPaginas == 0 ? 0 : (long) (cantidadPaginas - 1) * TAMANO_PAGINA +
+                paginas[cantidadPaginas - 1].length;
+        enteros += tablaAtomos.length + 2L * tablaClausulas.length;
+        return enteros * 4 + (long) atomos.length * 4;
+    }
+
+    // Reserva 'enteros' consecutivos; una cláusula nunca queda partida entre dos páginas
+    private int reservar(int enteros) {
+        if (enteros > TAMANO_PAGINA) {
+            throw new IllegalArgumentException("Cláusula de " + (enteros - 1) + " literales: no cabe en una página");
+        }
+        if (libre + enteros > TAMANO_PAGINA) {
+            if (cantidadPaginas == paginas.length) {
+                paginas = Arrays.copyOf(paginas, cantidadPaginas * 2);
+            }
+            if ((long) (cantidadPaginas + 1) * TAMANO_PAGINA > Integer.MAX_VALUE) {
+                throw new IllegalStateException("La arena de cláusulas superó las " + cantidadPaginas + " páginas");
+            }
+            // La primera página empieza chica y crece hasta el tamaño fijo: una consulta corta no
+            // reserva una página entera
+            paginas[cantidadPaginas] = new int[cantidadPaginas == 0 ? PAGINA_INICIAL : TAMANO_PAGINA];
+            cantidadPaginas++;
+            libre = 0;
+        }
+        int[] pagina = paginas[cantidadPaginas - 1];
+        if (libre + enteros > pagina.length) {
+            paginas[cantidadPaginas - 1] = Arrays.copyOf(pagina, Math.min(TAMANO_PAGINA,
+                    Math.max(libre + enteros, pagina.length * 2)));
+        }
+        int posicion = (cantidadPaginas - 1) * TAMANO_PAGINA + libre;
+        libre += enteros;
+        return posicion;
+    }
+
+    private boolean iguales(int posicion, int[] codigos, int cantidad) {
+        int[] pagina = paginas[posicion / TAMANO_PAGINA];
+        int desde = posicion % TAMANO_PAGINA;
+        if (pagina[desde] != cantidad) {
+            return false;
+        }
+        for (int k = 0; k < cantidad; k++) {
+            if (pagina[desde + 1 + k] != codigos[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void redimensionarAtomos() {
+        int[] nueva = new int[tablaAtomos.length * 2];
+        int mascara = nueva.length - 1;
+        for (int numero = 0; numero < cantidadAtomos; numero++) {
+            int i = mezclar(atomos[numero].hashCode()) & mascara;
+            while (nueva[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            nueva[i] = numero + 1;
+        }
+        tablaAtomos = nueva;
+    }
+
+    private void redimensionarClausulas() {
+        int[] nuevaTabla = new int[tablaClausulas.length * 2];
+        int[] nuevosHashes = new int[nuevaTabla.length];
+        int mascara = nuevaTabla.length - 1;
+        for (int j = 0; j < tablaClausulas.length; j++) {
+            if (tablaClausulas[j] == 0) {
+                continue;
+            }
+            int i = mezclar(hashes[j]) & mascara;
+            while (nuevaTabla[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            nuevaTabla[i] = tablaClausulas[j];
+            nuevosHashes[i] = hashes[j];
+        }
+        tablaClausulas = nuevaTabla;
+        hashes = nuevosHashes;
+    }
+
+    // Los códigos se ordenan como enteros: es otro orden que el de Clausula, pero también canónico.
+    // Solo se quitan los códigos repetidos, es decir literales idénticos, que es lo mismo que
+    // descarta Clausula.normalizar; dos literales que solo unifican quedan los dos
+    private static int normalizar(int[] codigos, int cantidad) {
+        Arrays.sort(codigos, 0, cantidad);
+        int distintos = cantidad == 0 ? 0 : 1;
+        for (int k = 1; k < cantidad; k++) {
+            if (codigos[k] != codigos[distintos - 1]) {
+                codigos[distintos++] = codigos[k];
+            }
+        }
+        return distintos;
+    }
+
+    private static int hash(int[] codigos, int cantidad) {
+        int h = cantidad;
+        for (int k = 0; k < cantidad; k++) {
+            h = h * 31 + codigos[k];
+        }
+        return h;
+    }
+
+    // Dispersa los bits bajos antes de enmascarar (los hash de términos y códigos son muy regulares)
+    private static int mezclar(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
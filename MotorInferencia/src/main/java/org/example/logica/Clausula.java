@@ -0,0 +1,82 @@
+package org.example.logica;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+// Cláusula compilada: disyunción de literales ordenados y sin repetidos, de modo que dos
+// cláusulas con los mismos literales tienen la misma representación
+public final class Clausula {
+    public static final Clausula VACIA = new Clausula(new Literal[0]);
+
+    private final Literal[] literales;
+    private final int hash;
+
+    private Clausula(Literal[] literales) {
+        this.literales = literales;
+        this.hash = Arrays.hashCode(literales);
+    }
+
+    public static Clausula de(Literal... literales) {
+        return normalizar(literales.clone(), literales.length);
+    }
+
+    public static Clausula de(Collection<Literal> literales) {
+        return normalizar(literales.toArray(new Literal[0]), literales.size());
+    }
+
+    // Ordena y elimina repetidos de los primeros 'cantidad' literales del arreglo
+    static Clausula normalizar(Literal[] literales, int cantidad) {
+        if (cantidad == 0) {
+            return VACIA;
+        }
+
+        Arrays.sort(literales, 0, cantidad);
+        int distintos = 1;
+        for (int i = 1; i < cantidad; i++) {
+            if (!literales[i].equals(literales[distintos - 1])) {
+                literales[distintos++] = literales[i];
+            }
+        }
+        return new Clausula(distintos == literales.length ? literales : Arrays.copyOf(literales, distintos));
+    }
+
+    public int size() {
+        return literales.length;
+    }
+
+    public Literal literal(int i) {
+        return literales[i];
+    }
+
+    public boolean esVacia() {
+        return literales.length == 0;
+    }
+
+    // Vista como conjunto de strings, para los llamadores que trabajan con Set<Set<String>>
+    public Set<String> aCadenas() {
+        Set<String> resultado = new HashSet<>();
+        for (Literal literal : literales) {
+            resultado.add(literal.toString());
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Clausula otra)) return false;
+        return hash == otra.hash && Arrays.equals(literales, otra.literales);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(literales);
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.logica;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Traduce literales escritos como strings ("¬Leal(x, Cesar)") al modelo compilado.
+// Los literales analizados se guardan en una caché de correspondencia directa: cada string va a
+// una sola casilla según su hash y reemplaza lo que hubiera en ella. Las consultas y los literales
+// de las reglas, que se repiten, se analizan casi siempre una sola vez, y la caché no pasa de
+// CASILLAS entradas aunque por ella pasen millones de hechos distintos (cargas por streaming,
+// hechos que después se retiran)
+public final class Compilador {
+    private static final int CASILLAS = 4096; // Potencia de 2
+
+    private record Entrada(String expresion, Literal literal) {
+    }
+
+    private static final AtomicReferenceArray<Entrada> literales = new AtomicReferenceArray<>(CASILLAS);
+
+    private Compilador() {
+    }
+
+    public static Literal literal(String expresion) {
+        int hash = expresion.hashCode();
+        int casilla = (hash ^ (hash >>> 16)) & (CASILLAS - 1);
+        Entrada entrada = literales.get(casilla);
+        if (entrada != null && entrada.expresion().equals(expresion)) {
+            return entrada.literal();
+        }
+        Literal literal = new Analizador(expresion).literal();
+        literales.set(casilla, new Entrada(expresion, literal));
+        return literal;
+    }
+
+    public static Termino termino(String expresion) {
+        return new Analizador(expresion).terminoCompleto();
+    }
+
+    public static Clausula clausula(Collection<String> literalesClausula) {
+        List<Literal> resultado = new ArrayList<>(literalesClausula.size());
+        for (String expresion : literalesClausula) {
+            resultado.add(literal(expresion));
+        }
+        return Clausula.de(resultado);
+    }
+
+    public static Set<Clausula> clausulas(Collection<? extends Collection<String>> clausulas) {
+        Set<Clausula> resultado = new LinkedHashSet<>();
+        for (Collection<String> clausula : clausulas) {
+            resultado.add(clausula(clausula));
+        }
+        return resultado;
+    }
+
+    // Analizador descendente recursivo; admite términos anidados a cualquier profundidad
+    private static final class Analizador {
+        private final String texto;
+        private int pos;
+
+        Analizador(String texto) {
+            this.texto = texto;
+        }
+
+        Literal literal() {
+            boolean negado = false;
+            saltarEspacios();
+            while (pos < texto.length() && texto.charAt(pos) == '¬') {
+                negado = !negado;
+                pos++;
+                saltarEspacios();
+            }
+            Termino atomo = termino();
+            verificarFin();
+            if (atomo.esVariable()) {
+                throw error("se esperaba un predicado");
+            }
+            return new Literal(atomo, negado);
+        }
+
+        Termino terminoCompleto() {
+            Termino termino = termino();
+            verificarFin();
+            return termino;
+        }
+
+        private Termino termino() {
+            saltarEspacios();
+            int inicio = pos;
+            while (pos < texto.length() && !esDelimitador(texto.charAt(pos))) {
+                pos++;
+            }
+            String nombre = texto.substring(inicio, pos).trim();
+            if (nombre.isEmpty()) {
+                throw error("se esperaba un nombre");
+            }
+
+            saltarEspacios();
+            if (pos >= texto.length() || texto.charAt(pos) != '(') {
+                int simbolo = Simbolos.id(nombre);
+                return Simbolos.esNombreVariable(nombre) ? Termino.variable(simbolo) : Termino.constante(simbolo);
+            }
+
+            pos++;
+            List<Termino> argumentos = new ArrayList<>();
+            saltarEspacios();
+            if (pos < texto.length() && texto.charAt(pos) == ')') {
+                pos++;
+                return Termino.constante(Simbolos.id(nombre));
+            }
+            while (true) {
+                argumentos.add(termino());
+                saltarEspacios();
+                if (pos >= texto.length()) {
+                    throw error("falta ')'");
+                }
+                char c = texto.charAt(pos++);
+                if (c == ')') break;
+                if (c != ',') throw error("se esperaba ',' o ')'");
+            }
+            return Termino.compuesto(Simbolos.id(nombre), argumentos.toArray(new Termino[0]));
+        }
+
+        private boolean esDelimitador(char c) {
+            return c == '(' || c == ')' || c == ',';
+        }
+
+        private void saltarEspacios() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private void verificarFin() {
+            saltarEspacios();
+            if (pos != texto.length()) {
+                throw error("texto sobrante");
+            }
+        }
+
+        private IllegalArgumentException error(String mensaje) {
+            return new IllegalArgumentException("Expresión inválida '" + texto + "' en posición " + pos + ": " + mensaje);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.logica;
+
+// Literal compilado: un átomo internado más el bit de signo
+public final class Literal implements Comparable<Literal> {
+    private final Termino atomo;
+    private final boolean negado;
+
+    public Literal(Termino atomo, boolean negado) {
+        this.atomo = atomo;
+        this.negado = negado;
+    }
+
+    public Termino getAtomo() {
+        return atomo;
+    }
+
+    public boolean isNegado() {
+        return negado;
+    }
+
+    public int getPredicado() {
+        return atomo.getSimbolo();
+    }
+
+    public int aridad() {
+        return atomo.aridad();
+    }
+
+    public Literal complemento() {
+        return new Literal(atomo, !negado);
+    }
+
+    // Signo contrario y mismo predicado/aridad: candidatos a resolverse entre sí
+    public boolean esComplementarioPosible(Literal otro) {
+        return negado != otro.negado && atomo.getSimbolo() == otro.atomo.getSimbolo() &&
+                atomo.aridad() == otro.atomo.aridad();
+    }
+
+    @Override
+    public int compareTo(Literal otro) {
+        int c = atomo.compareTo(otro.atomo);
+        if (c != 0) return c;
+        return Boolean.compare(negado, otro.negado);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Literal otro)) return false;
+        return atomo == otro.atomo && negado == otro.negado;
+    }
+
+    @Override
+    public int hashCode() {
+        return atomo.hashCode() * 2 + (negado ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return negado ? "¬" + atomo : atomo.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.logica;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tabla global de símbolos internados: cada nombre de predicado, función, constante o variable
+// recibe un identificador entero estable, de modo que el motor compara enteros en lugar de strings
+public final class Simbolos {
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] nombres = new String[64];
+    private static int cantidad = 0;
+
+    private Simbolos() {
+    }
+
+    public static int id(String nombre) {
+        Integer id = ids.get(nombre);
+        return id != null ? id : registrar(nombre);
+    }
+
+    private static synchronized int registrar(String nombre) {
+        Integer existente = ids.get(nombre);
+        if (existente != null) {
+            return existente;
+        }
+
+        if (cantidad == nombres.length) {
+            nombres = Arrays.copyOf(nombres, cantidad * 2);
+        }
+        nombres[cantidad] = nombre;
+        ids.put(nombre, cantidad);
+        return cantidad++;
+    }
+
+    public static String nombre(int id) {
+        return nombres[id];
+    }
+
+    public static int cantidad() {
+        return ids.size();
+    }
+
+    // Mismo criterio que Unificador.Termino: x, y, z o cualquier nombre que empiece con '?'
+    public static boolean esNombreVariable(String nombre) {
+        return nombre.equals("x") || nombre.equals("y") ||
+                nombre.equals("z") || nombre.startsWith("?");
+    }
+}
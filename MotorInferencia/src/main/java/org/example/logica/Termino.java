@@ -0,0 +1,198 @@
+package org.example.logica;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Término de primer orden compilado e internado (hash-consing): dos términos estructuralmente
+// iguales son siempre la misma instancia, así que la igualdad se decide con ==
+public final class Termino implements Comparable<Termino> {
+    private static final ConcurrentHashMap<Termino, Termino> tabla = new ConcurrentHashMap<>();
+    private static final Termino[] SIN_ARGUMENTOS = new Termino[0];
+
+    // Banco de variables numeradas ?0, ?1, ... (ver variableNumerada)
+    private static volatile Termino[] numeradas = new Termino[0];
+
+    // Las variables se numeran también en un espacio propio y denso (0, 1, 2, ... en orden de
+    // creación), separado de los símbolos, que comparten numeración con todas las constantes.
+    // Ligaduras dimensiona sus arreglos por este número, así que su tamaño depende de cuántas
+    // variables distintas hay y no de cuántos símbolos se internaron
+    private static volatile Termino[] variables = new Termino[16];
+    private static int cantidadVariables = 0;
+
+    private final int simbolo; // Símbolo del functor/constante, o índice de la variable
+    private final boolean variable;
+    private final Termino[] argumentos;
+    private final int hash;
+    private final boolean base; // Sin variables
+    private final int peso; // Cantidad de símbolos
+    private int indiceVariable = -1; // Solo en variables; se fija antes de publicarla en la tabla
+
+    private Termino(int simbolo, boolean variable, Termino[] argumentos) {
+        this.simbolo = simbolo;
+        this.variable = variable;
+        this.argumentos = argumentos;
+
+        int h = simbolo * 31 + (variable ? 1 : 0);
+        boolean sinVariables = !variable;
+        int simbolos = 1;
+        for (Termino argumento : argumentos) {
+            h = h * 31 + argumento.hash;
+            sinVariables &= argumento.base;
+            simbolos += argumento.peso;
+        }
+        this.hash = h;
+        this.base = sinVariables;
+        this.peso = simbolos;
+    }
+
+    public static Termino variable(int simbolo) {
+        Termino candidato = new Termino(simbolo, true, SIN_ARGUMENTOS);
+        Termino existente = tabla.get(candidato);
+        return existente != null ? existente : registrarVariable(candidato);
+    }
+
+    private static synchronized Termino registrarVariable(Termino candidato) {
+        Termino existente = tabla.get(candidato);
+        if (existente != null) {
+            return existente;
+        }
+        if (cantidadVariables == variables.length) {
+            variables = Arrays.copyOf(variables, cantidadVariables * 2);
+        }
+        candidato.indiceVariable = cantidadVariables;
+        variables[cantidadVariables++] = candidato;
+        tabla.put(candidato, candidato);
+        return candidato;
+    }
+
+    // Variable con ese índice denso (ver getIndiceVariable)
+    public static Termino variablePorIndice(int indice) {
+        return variables[indice];
+    }
+
+    public static Termino constante(int simbolo) {
+        return internar(new Termino(simbolo, false, SIN_ARGUMENTOS));
+    }
+
+    public static Termino compuesto(int simbolo, Termino... argumentos) {
+        if (argumentos.length == 0) {
+            return constante(simbolo);
+        }
+        return internar(new Termino(simbolo, false, argumentos.clone()));
+    }
+
+    // Variable ?k del banco; las cláusulas renombradas usan solo estas variables
+    public static Termino variableNumerada(int k) {
+        Termino[] banco = numeradas;
+        return k < banco.length ? banco[k] : ampliarBanco(k);
+    }
+
+    private static synchronized Termino ampliarBanco(int k) {
+        Termino[] banco = numeradas;
+        if (k >= banco.length) {
+            int anterior = banco.length;
+            banco = Arrays.copyOf(banco, Math.max(k + 1, anterior * 2 + 8));
+            for (int i = anterior; i < banco.length; i++) {
+                banco[i] = variable(Simbolos.id("?" + i));
+            }
+            numeradas = banco;
+        }
+        return banco[k];
+    }
+
+    private static Termino internar(Termino candidato) {
+        Termino existente = tabla.putIfAbsent(candidato, candidato);
+        return existente != null ? existente : candidato;
+    }
+
+    public static int terminosInternados() {
+        return tabla.size();
+    }
+
+    public int getSimbolo() {
+        return simbolo;
+    }
+
+    public boolean esVariable() {
+        return variable;
+    }
+
+    // Índice denso de la variable (0, 1, 2, ...); -1 si no es una variable
+    public int getIndiceVariable() {
+        return indiceVariable;
+    }
+
+    public int aridad() {
+        return argumentos.length;
+    }
+
+    public Termino argumento(int i) {
+        return argumentos[i];
+    }
+
+    public boolean tieneArgumentos() {
+        return argumentos.length > 0;
+    }
+
+    public boolean esBase() {
+        return base;
+    }
+
+    public int getPeso() {
+        return peso;
+    }
+
+    // Orden total determinista (depende solo de los identificadores de símbolos)
+    @Override
+    public int compareTo(Termino otro) {
+        if (this == otro) return 0;
+        if (variable != otro.variable) return variable ? -1 : 1;
+        if (simbolo != otro.simbolo) return Integer.compare(simbolo, otro.simbolo);
+        if (argumentos.length != otro.argumentos.length) {
+            return Integer.compare(argumentos.length, otro.argumentos.length);
+        }
+        for (int i = 0; i < argumentos.length; i++) {
+            int c = argumentos[i].compareTo(otro.argumentos[i]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    // Igualdad superficial: los argumentos ya están internados y se comparan por identidad.
+    // Solo la usa la tabla de internado; fuera de ella basta con ==
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Termino otro)) return false;
+        if (hash != otro.hash || simbolo != otro.simbolo || variable != otro.variable) return false;
+        if (argumentos.length != otro.argumentos.length) return false;
+        for (int i = 0; i < argumentos.length; i++) {
+            if (argumentos[i] != otro.argumentos[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        escribir(sb);
+        return sb.toString();
+    }
+
+    void escribir(StringBuilder sb) {
+        sb.append(Simbolos.nombre(simbolo));
+        if (argumentos.length > 0) {
+            sb.append("(");
+            for (int i = 0; i < argumentos.length; i++) {
+                if (i > 0) sb.append(", ");
+                argumentos[i].escribir(sb);
+            }
+            sb.append(")");
+        }
+    }
+}
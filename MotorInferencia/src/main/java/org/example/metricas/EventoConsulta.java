@@ -0,0 +1,46 @@
+package org.example.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Evento JFR de una consulta por refutación. Mientras no se esté grabando, begin/shouldCommit
+// no cuestan casi nada y el motor no llena los campos
+@Name("org.example.Consulta")
+@Label("Consulta")
+@Category("Motor de inferencia")
+@Description("Refutación de una consulta")
+@StackTrace(false)
+public class EventoConsulta extends jdk.jfr.Event {
+    @Label("Consulta")
+    public String consulta;
+
+    @Label("Respuesta")
+    public String respuesta;
+
+    @Label("Límite alcanzado")
+    public String limite;
+
+    @Label("Estrategia")
+    public String estrategia;
+
+    @Label("Resoluciones")
+    public long resoluciones;
+
+    @Label("Pares intentados")
+    public long paresIntentados;
+
+    @Label("Cláusulas dadas")
+    public long clausulasDadas;
+
+    @Label("Máximo de cláusulas vivas")
+    public long maximoClausulasVivas;
+
+    @Label("Subsumidas hacia adelante")
+    public long subsumidasHaciaAdelante;
+
+    @Label("Subsumidas hacia atrás")
+    public long subsumidasHaciaAtras;
+}
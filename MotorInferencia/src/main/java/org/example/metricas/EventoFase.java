@@ -0,0 +1,23 @@
+package org.example.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Evento JFR de una fase del motor (ver Fase); su duración es la de la fase
+@Name("org.example.Fase")
+@Label("Fase")
+@Category("Motor de inferencia")
+@StackTrace(false)
+public class EventoFase extends jdk.jfr.Event {
+    @Label("Fase")
+    public String fase;
+
+    public static EventoFase iniciar(Fase fase) {
+        EventoFase evento = new EventoFase();
+        evento.fase = fase.name();
+        evento.begin();
+        return evento;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.metricas;
+
+// Fases del motor cuyo tiempo se mide por separado
+public enum Fase {
+    COMPILACION("compilación de la base"),
+    LEMAS("lemas de la base"),
+    SATURACION("saturación"),
+    SUBSUNCION("incorporación y subsunción");
+
+    private final String descripcion;
+
+    Fase(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
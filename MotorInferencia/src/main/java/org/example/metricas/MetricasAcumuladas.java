@@ -0,0 +1,136 @@
+package org.example.metricas;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contadores e histograma de longitudes acumulados entre consultas. Usa LongAdder para que los
+// hilos del modo paralelo no compitan por el mismo contador
+public class MetricasAcumuladas implements MetricasMotor {
+    // Las longitudes de resolvente desde LONGITUD_MAXIMA en adelante van a la última casilla
+    public static final int LONGITUD_MAXIMA = 16;
+
+    private final LongAdder resolucionesIntentadas = new LongAdder();
+    private final LongAdder resolucionesExitosas = new LongAdder();
+    private final LongAdder unificacionesFallidas = new LongAdder();
+    private final LongAdder clausulasRetenidas = new LongAdder();
+    private final LongAdder subsumidasHaciaAdelante = new LongAdder();
+    private final LongAdder subsumidasHaciaAtras = new LongAdder();
+    private final AtomicLongArray longitudes = new AtomicLongArray(LONGITUD_MAXIMA + 1);
+    private final Map<Fase, LongAdder> nanosegundosPorFase = new EnumMap<>(Fase.class);
+
+    public MetricasAcumuladas() {
+        for (Fase fase : Fase.values()) {
+            nanosegundosPorFase.put(fase, new LongAdder());
+        }
+    }
+
+    @Override
+    public void resolucionIntentada() {
+        resolucionesIntentadas.increment();
+    }
+
+    @Override
+    public void unificacionFallida() {
+        unificacionesFallidas.increment();
+    }
+
+    @Override
+    public void resolucionExitosa(int longitudResolvente) {
+        resolucionesExitosas.increment();
+        longitudes.incrementAndGet(Math.min(longitudResolvente, LONGITUD_MAXIMA));
+    }
+
+    @Override
+    public void clausulaRetenida() {
+        clausulasRetenidas.increment();
+    }
+
+    @Override
+    public void clausulasSubsumidas(int haciaAdelante, int haciaAtras) {
+        subsumidasHaciaAdelante.add(haciaAdelante);
+        subsumidasHaciaAtras.add(haciaAtras);
+    }
+
+    @Override
+    public void fase(Fase fase, long nanosegundos) {
+        nanosegundosPorFase.get(fase).add(nanosegundos);
+    }
+
+    public long getResolucionesIntentadas() {
+        return resolucionesIntentadas.sum();
+    }
+
+    public long getResolucionesExitosas() {
+        return resolucionesExitosas.sum();
+    }
+
+    public long getUnificacionesFallidas() {
+        return unificacionesFallidas.sum();
+    }
+
+    public long getClausulasRetenidas() {
+        return clausulasRetenidas.sum();
+    }
+
+    public long getSubsumidasHaciaAdelante() {
+        return subsumidasHaciaAdelante.sum();
+    }
+
+    public long getSubsumidasHaciaAtras() {
+        return subsumidasHaciaAtras.sum();
+    }
+
+    // Cantidad de resolventes de cada longitud (la última casilla acumula las mayores)
+    public long[] getLongitudes() {
+        long[] resultado = new long[longitudes.length()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = longitudes.get(i);
+        }
+        return resultado;
+    }
+
+    public long getNanosegundos(Fase fase) {
+        return nanosegundosPorFase.get(fase).sum();
+    }
+
+    public void reiniciar() {
+        resolucionesIntentadas.reset();
+        resolucionesExitosas.reset();
+        unificacionesFallidas.reset();
+        clausulasRetenidas.reset();
+        subsumidasHaciaAdelante.reset();
+        subsumidasHaciaAtras.reset();
+        for (int i = 0; i < longitudes.length(); i++) {
+            longitudes.set(i, 0);
+        }
+        for (LongAdder nanosegundos : nanosegundosPorFase.values()) {
+            nanosegundos.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("resoluciones: ").append(getResolucionesIntentadas()).append(" intentadas, ")
+                .append(getResolucionesExitosas()).append(" exitosas, ")
+                .append(getUnificacionesFallidas()).append(" sin unificar\n");
+        sb.append("cláusulas: ").append(getClausulasRetenidas()).append(" retenidas, ")
+                .append(getSubsumidasHaciaAdelante()).append(" subsumidas hacia adelante, ")
+                .append(getSubsumidasHaciaAtras()).append(" hacia atrás\n");
+        sb.append("longitud de los resolventes:");
+        long[] cantidades = getLongitudes();
+        for (int i = 0; i < cantidades.length; i++) {
+            if (cantidades[i] > 0) {
+                sb.append(' ').append(i).append(i == LONGITUD_MAXIMA ? "+" : "").append('=').append(cantidades[i]);
+            }
+        }
+        sb.append('\n');
+        for (Fase fase : Fase.values()) {
+            sb.append(fase.getDescripcion()).append(": ")
+                    .append(String.format("%.3f ms", getNanosegundos(fase) / 1e6)).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.metricas;
+
+// Puntos de medición del motor. La implementación por defecto (NULAS) no hace nada: el motor
+// la llama siempre sin construir argumentos costosos, y lo que cuesta medir (por ejemplo tomar
+// tiempos en cada incorporación) solo se hace si activas() es true. Las implementaciones deben
+// admitir llamadas desde varios hilos, porque el modo paralelo y los lotes resuelven en paralelo
+public interface MetricasMotor {
+    MetricasMotor NULAS = new MetricasNulas();
+
+    default boolean activas() {
+        return true;
+    }
+
+    // Un par de literales complementarios que se intenta resolver
+    void resolucionIntentada();
+
+    // El par intentado no unificó
+    void unificacionFallida();
+
+    // El par unificó y produjo un resolvente de la longitud dada (0 para la cláusula vacía)
+    void resolucionExitosa(int longitudResolvente);
+
+    // El resolvente pasó la subsunción hacia adelante y quedó como pendiente
+    void clausulaRetenida();
+
+    // Totales de subsunción de una consulta
+    void clausulasSubsumidas(int haciaAdelante, int haciaAtras);
+
+    void fase(Fase fase, long nanosegundos);
+}
@@ -0,0 +1,33 @@
+package org.example.metricas;
+
+// Métricas desactivadas: todas las llamadas son vacías y el JIT las elimina
+final class MetricasNulas implements MetricasMotor {
+    @Override
+    public boolean activas() {
+        return false;
+    }
+
+    @Override
+    public void resolucionIntentada() {
+    }
+
+    @Override
+    public void unificacionFallida() {
+    }
+
+    @Override
+    public void resolucionExitosa(int longitudResolvente) {
+    }
+
+    @Override
+    public void clausulaRetenida() {
+    }
+
+    @Override
+    public void clausulasSubsumidas(int haciaAdelante, int haciaAtras) {
+    }
+
+    @Override
+    public void fase(Fase fase, long nanosegundos) {
+    }
+}
@@ -1,31 +1,156 @@
 package org.example.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Getter
-@Setter
-@AllArgsConstructor
+// Los conjuntos solo cambian a través de los métodos de la base, que actualizan la versión y
+// avisan a los oyentes; los getters devuelven vistas no modificables
 @NoArgsConstructor
 public class BaseConocimiento {
-    private Set<Hecho> hechos = new HashSet<>();
-    private Set<Regla> reglas = new HashSet<>();
-    private Set<Set<String>> clausulasDisyuntivas = new HashSet<>();
+    private final Set<Hecho> hechos = new HashSet<>();
+    // Regla se compara por identidad: en un HashSet su orden cambiaría de una ejecución a otra, y
+    // con él el orden de las cláusulas compiladas (y los contadores de la búsqueda)
+    private final Set<Regla> reglas = new LinkedHashSet<>();
+    private final Set<Set<String>> clausulasDisyuntivas = new HashSet<>();
+
+    // Los cambios hechos a través de los métodos agregar/retirar se notifican a los oyentes
+    private final List<OyenteBase> oyentes = new ArrayList<>();
+
+    // Sello de versión: toda modificación lo incrementa (usado para invalidar cachés)
+    private final AtomicLong version = new AtomicLong();
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Todavía no hay oyentes, así que se copian los conjuntos directamente
+    public BaseConocimiento(Set<Hecho> hechos, Set<Regla> reglas, Set<Set<String>> clausulasDisyuntivas) {
+        this.hechos.addAll(hechos);
+        this.reglas.addAll(reglas);
+        for (Set<String> clausula : clausulasDisyuntivas) {
+            this.clausulasDisyuntivas.add(copia(clausula));
+        }
+    }
+
+    public Set<Hecho> getHechos() {
+        return Collections.unmodifiableSet(hechos);
+    }
+
+    public Set<Regla> getReglas() {
+        return Collections.unmodifiableSet(reglas);
+    }
+
+    public Set<Set<String>> getClausulasDisyuntivas() {
+        return Collections.unmodifiableSet(clausulasDisyuntivas);
+    }
+
+    // Reemplazar un conjunto completo retira lo que sobra y agrega lo que falta, elemento por
+    // elemento, así que los oyentes se enteran como de cualquier otro cambio
+    public void setHechos(Set<Hecho> nuevos) {
+        for (Hecho hecho : new ArrayList<>(hechos)) {
+            if (!nuevos.contains(hecho)) {
+                retirarHecho(hecho);
+            }
+        }
+        for (Hecho hecho : nuevos) {
+            agregarHecho(hecho);
+        }
+    }
+
+    public void setReglas(Set<Regla> nuevas) {
+        for (Regla regla : new ArrayList<>(reglas)) {
+            if (!nuevas.contains(regla)) {
+                retirarRegla(regla);
+            }
+        }
+        for (Regla regla : nuevas) {
+            agregarRegla(regla);
+        }
+    }
+
+    public void setClausulasDisyuntivas(Set<Set<String>> nuevas) {
+        for (Set<String> clausula : new ArrayList<>(clausulasDisyuntivas)) {
+            if (!nuevas.contains(clausula)) {
+                retirarClausulaDisyuntiva(clausula);
+            }
+        }
+        agregarClausulasDisyuntivas(nuevas);
+    }
 
     public void agregarHecho(Hecho hecho) {
-        this.hechos.add(hecho);
+        if (this.hechos.add(hecho)) {
+            version.incrementAndGet();
+            for (OyenteBase oyente : oyentes) {
+                oyente.hechoAgregado(hecho);
+            }
+        }
+    }
+
+    public void retirarHecho(Hecho hecho) {
+        if (this.hechos.remove(hecho)) {
+            version.incrementAndGet();
+            for (OyenteBase oyente : oyentes) {
+                oyente.hechoRetirado(hecho);
+            }
+        }
     }
 
     public void agregarRegla(Regla regla) {
-        this.reglas.add(regla);
+        if (this.reglas.add(regla)) {
+            version.incrementAndGet();
+            for (OyenteBase oyente : oyentes) {
+                oyente.reglaAgregada(regla);
+            }
+        }
+    }
+
+    public void retirarRegla(Regla regla) {
+        if (this.reglas.remove(regla)) {
+            version.incrementAndGet();
+            for (OyenteBase oyente : oyentes) {
+                oyente.reglaRetirada(regla);
+            }
+        }
     }
 
     public void agregarClausulasDisyuntivas(Set<Set<String>> clausulas) {
-        this.clausulasDisyuntivas.addAll(clausulas);
+        for (Set<String> clausula : clausulas) {
+            Set<String> propia = copia(clausula);
+            if (this.clausulasDisyuntivas.add(propia)) {
+                version.incrementAndGet();
+                for (OyenteBase oyente : oyentes) {
+                    oyente.clausulaAgregada(propia);
+                }
+            }
+        }
+    }
+
+    // Copia propia de una cláusula: cambiar después el conjunto del llamador no cambia la base
+    private static Set<String> copia(Set<String> clausula) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(clausula));
+    }
+
+    public void retirarClausulaDisyuntiva(Set<String> clausula) {
+        if (this.clausulasDisyuntivas.remove(clausula)) {
+            version.incrementAndGet();
+            for (OyenteBase oyente : oyentes) {
+                oyente.clausulaRetirada(clausula);
+            }
+        }
+    }
+
+    public void agregarOyente(OyenteBase oyente) {
+        oyentes.add(oyente);
+    }
+
+    public void quitarOyente(OyenteBase oyente) {
+        oyentes.remove(oyente);
     }
 }
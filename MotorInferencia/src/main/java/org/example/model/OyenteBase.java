@@ -0,0 +1,19 @@
+package org.example.model;
+
+import java.util.Set;
+
+// Recibe los cambios de una BaseConocimiento para mantener al día estructuras derivadas
+// (cláusulas compiladas, índices, redes de encadenamiento) sin reconstruirlas
+public interface OyenteBase {
+    void hechoAgregado(Hecho hecho);
+
+    void hechoRetirado(Hecho hecho);
+
+    void reglaAgregada(Regla regla);
+
+    void reglaRetirada(Regla regla);
+
+    void clausulaAgregada(Set<String> clausula);
+
+    void clausulaRetirada(Set<String> clausula);
+}
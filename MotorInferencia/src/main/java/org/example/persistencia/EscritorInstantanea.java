@@ -0,0 +1,225 @@
+package org.example.persistencia;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.lenguaje.DestinoCarga;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.example.logica.Simbolos;
+import org.example.logica.Termino;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Arma las secciones de una instantánea (ver InstantaneaBase) en arreglos de enteros y las
+// escribe de una vez sobre el archivo mapeado. Los términos se numeran en postorden, así que
+// los argumentos de un término siempre tienen un número menor. También puede recibir lo que lee
+// el CargadorBase: así las sentencias van del texto a la instantánea sin pasar por Hecho/Regla
+final class EscritorInstantanea implements DestinoCarga {
+    private final Map<Integer, Integer> simbolos = new HashMap<>(); // Global -> local
+    private final List<byte[]> textos = new ArrayList<>();
+    private final Map<Termino, Integer> terminos = new IdentityHashMap<>(); // Términos internados
+    private final Enteros posicionesTerminos = new Enteros();
+    private final Enteros arena = new Enteros();
+    private final Enteros inicioLiterales = new Enteros();
+    private final Enteros tipos = new Enteros();
+    private final Enteros literales = new Enteros();
+    private final Map<Integer, Enteros> ocurrencias = new HashMap<>(); // Predicado local -> cláusulas
+
+    EscritorInstantanea agregar(BaseConocimiento base) {
+        for (Hecho hecho : base.getHechos()) {
+            agregar(BaseCompilada.clausulaDe(hecho), InstantaneaBase.HECHO);
+        }
+        for (Regla regla : base.getReglas()) {
+            agregar(BaseCompilada.clausulaDe(regla), InstantaneaBase.REGLA);
+        }
+        for (Set<String> clausula : base.getClausulasDisyuntivas()) {
+            agregar(Compilador.clausula(clausula), InstantaneaBase.DISYUNTIVA);
+        }
+        return this;
+    }
+
+    @Override
+    public void hecho(Literal hecho) {
+        agregar(Clausula.de(hecho), InstantaneaBase.HECHO);
+    }
+
+    @Override
+    public void regla(List<Literal> premisas, Literal conclusion) {
+        agregar(BaseCompilada.clausulaDe(premisas, conclusion), InstantaneaBase.REGLA);
+    }
+
+    @Override
+    public void disyuncion(List<Literal> literales) {
+        agregar(Clausula.de(literales), InstantaneaBase.DISYUNTIVA);
+    }
+
+    void agregar(Clausula clausula, int tipo) {
+        int numero = tipos.size();
+        inicioLiterales.agregar(literales.size());
+        tipos.agregar(tipo);
+        for (int i = 0; i < clausula.size(); i++) {
+            Literal literal = clausula.literal(i);
+            literales.agregar(numerar(literal.getAtomo()) * 2 + (literal.isNegado() ? 1 : 0));
+
+            Enteros delPredicado = ocurrencias.computeIfAbsent(simbolo(literal.getPredicado()), p -> new Enteros());
+            if (delPredicado.size() == 0 || delPredicado.ultimo() != numero) {
+                delPredicado.agregar(numero);
+            }
+        }
+    }
+
+    private int numerar(Termino termino) {
+        Integer numero = terminos.get(termino);
+        if (numero != null) {
+            return numero;
+        }
+
+        int[] argumentos = new int[termino.aridad()];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = numerar(termino.argumento(i));
+        }
+        numero = posicionesTerminos.size();
+        posicionesTerminos.agregar(arena.size());
+        arena.agregar(simbolo(termino.getSimbolo()));
+        arena.agregar(termino.aridad() * 2 + (termino.esVariable() ? 1 : 0));
+        for (int argumento : argumentos) {
+            arena.agregar(argumento);
+        }
+        terminos.put(termino, numero);
+        return numero;
+    }
+
+    private int simbolo(int global) {
+        Integer local = simbolos.get(global);
+        if (local == null) {
+            local = textos.size();
+            simbolos.put(global, local);
+            textos.add(Simbolos.nombre(global).getBytes(StandardCharsets.UTF_8));
+        }
+        return local;
+    }
+
+    // Las posiciones guardadas (de términos, literales y ocurrencias) son absolutas, en enteros
+    void escribir(Path archivo) throws IOException {
+        Integer[] predicados = ocurrencias.keySet().toArray(new Integer[0]);
+        Arrays.sort(predicados, (a, b) -> Arrays.compareUnsigned(textos.get(a), textos.get(b)));
+
+        int bytesTextos = 0;
+        for (byte[] texto : textos) {
+            bytesTextos += texto.length;
+        }
+
+        long inicioSimbolos = InstantaneaBase.TAMANO_CABECERA;
+        long inicioTextos = inicioSimbolos + textos.size() + 1;
+        long inicioTerminos = inicioTextos + (bytesTextos + 3) / 4;
+        long inicioArena = inicioTerminos + posicionesTerminos.size();
+        long inicioClausulas = inicioArena + arena.size();
+        long inicioTipos = inicioClausulas + tipos.size() + 1;
+        long inicioLiteralesAbsoluto = inicioTipos + tipos.size();
+        long inicioPredicados = inicioLiteralesAbsoluto + literales.size();
+        long inicioOcurrencias = inicioPredicados + 2L * (predicados.length + 1);
+        long fin = inicioOcurrencias;
+        for (Enteros clausulas : ocurrencias.values()) {
+            fin += clausulas.size();
+        }
+        if (fin * 4 > Integer.MAX_VALUE) {
+            throw new IOException("La instantánea supera los 2 GB: " + archivo);
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_WRITE, 0, fin * 4);
+            datos.order(ByteOrder.LITTLE_ENDIAN);
+            IntBuffer enteros = datos.asIntBuffer();
+
+            enteros.put(InstantaneaBase.C_MAGICO, InstantaneaBase.MAGICO);
+            enteros.put(InstantaneaBase.C_VERSION, InstantaneaBase.VERSION);
+            enteros.put(InstantaneaBase.C_SIMBOLOS, textos.size());
+            enteros.put(InstantaneaBase.C_TERMINOS, posicionesTerminos.size());
+            enteros.put(InstantaneaBase.C_CLAUSULAS, tipos.size());
+            enteros.put(InstantaneaBase.C_PREDICADOS, predicados.length);
+            enteros.put(InstantaneaBase.C_INICIO_SIMBOLOS, (int) inicioSimbolos);
+            enteros.put(InstantaneaBase.C_INICIO_TEXTOS, (int) inicioTextos * 4);
+            enteros.put(InstantaneaBase.C_INICIO_TERMINOS, (int) inicioTerminos);
+            enteros.put(InstantaneaBase.C_INICIO_CLAUSULAS, (int) inicioClausulas);
+            enteros.put(InstantaneaBase.C_INICIO_TIPOS, (int) inicioTipos);
+            enteros.put(InstantaneaBase.C_INICIO_PREDICADOS, (int) inicioPredicados);
+            enteros.put(InstantaneaBase.C_FIN, (int) fin);
+
+            int desplazamiento = 0;
+            datos.position((int) inicioTextos * 4);
+            for (int i = 0; i < textos.size(); i++) {
+                enteros.put((int) inicioSimbolos + i, desplazamiento);
+                datos.put(textos.get(i));
+                desplazamiento += textos.get(i).length;
+            }
+            enteros.put((int) inicioSimbolos + textos.size(), desplazamiento);
+
+            enteros.position((int) inicioTerminos);
+            posicionesTerminos.escribir(enteros, (int) inicioArena);
+            arena.escribir(enteros, 0);
+            inicioLiterales.escribir(enteros, (int) inicioLiteralesAbsoluto);
+            enteros.put((int) (inicioLiteralesAbsoluto + literales.size()));
+            tipos.escribir(enteros, 0);
+            literales.escribir(enteros, 0);
+
+            int ocurrencia = (int) inicioOcurrencias;
+            for (Integer predicado : predicados) {
+                enteros.put(predicado);
+                enteros.put(ocurrencia);
+                ocurrencia += ocurrencias.get(predicado).size();
+            }
+            enteros.put(-1);
+            enteros.put(ocurrencia);
+            for (Integer predicado : predicados) {
+                ocurrencias.get(predicado).escribir(enteros, 0);
+            }
+            datos.force();
+        }
+    }
+
+    // Arreglo de enteros que crece al agregar, sin encajonarlos
+    private static final class Enteros {
+        private int[] valores = new int[16];
+        private int cantidad = 0;
+
+        void agregar(int valor) {
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            valores[cantidad++] = valor;
+        }
+
+        int ultimo() {
+            return valores[cantidad - 1];
+        }
+
+        int size() {
+            return cantidad;
+        }
+
+        // Escribe los valores a partir de la posición actual, sumando 'base' a cada uno
+        void escribir(IntBuffer destino, int base) {
+            for (int i = 0; i < cantidad; i++) {
+                destino.put(valores[i] + base);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package org.example.persistencia;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.lenguaje.CargadorBase;
+import org.example.lenguaje.ResultadoCarga;
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+import org.example.logica.Simbolos;
+import org.example.logica.Termino;
+import org.example.model.BaseConocimiento;
+import org.example.rete.RedRete;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Instantánea binaria de una base de conocimiento ya compilada, para no volver a armar los
+// Hecho/Regla y convertirlos a FNC en cada arranque. El archivo se mapea en memoria y se lee en
+// el lugar: abrirlo solo valida la cabecera, y cada cláusula se decodifica cuando se pide. Todo
+// son enteros de 32 bits little-endian, en secciones que la cabecera ubica (en enteros salvo
+// los textos, en bytes):
+//
+// - Símbolos: desplazamiento de cada nombre (más uno final) dentro de los textos UTF-8
+// - Términos: posición de cada término en el arena; en el arena cada término es
+//   [símbolo, aridad * 2 + esVariable, argumentos...] y sus argumentos son términos anteriores
+// - Cláusulas: posición de los literales de cada cláusula (más una final), el tipo de elemento
+//   de la base del que salió y los literales (término * 2 + negado). Los identificadores de
+//   Simbolos cambian entre ejecuciones, así que al decodificar la cláusula se vuelve a normalizar
+// - Predicados: pares [símbolo, primera ocurrencia] ordenados por nombre (más un par final) y
+//   las ocurrencias: las cláusulas que tienen un literal con cada predicado
+//
+// Los términos y símbolos ya decodificados se recuerdan; como los términos son inmutables e
+// internados, dos hilos que decodifican el mismo término obtienen la misma instancia y la carrera
+// es inofensiva. El mapeo no se libera explícitamente (lo hace el recolector), y una instantánea
+// no puede superar los 2 GB
+public final class InstantaneaBase {
+    static final int MAGICO = 0x464E494D; // "MINF"
+    static final int VERSION = 1;
+
+    // Tipo de cada cláusula: la red Rete solo usa los hechos y las reglas
+    static final int HECHO = 0;
+    static final int REGLA = 1;
+    static final int DISYUNTIVA = 2;
+
+    // Posiciones de la cabecera
+    static final int C_MAGICO = 0;
+    static final int C_VERSION = 1;
+    static final int C_SIMBOLOS = 2;
+    static final int C_TERMINOS = 3;
+    static final int C_CLAUSULAS = 4;
+    static final int C_PREDICADOS = 5;
+    static final int C_INICIO_SIMBOLOS = 6;
+    static final int C_INICIO_TEXTOS = 7;
+    static final int C_INICIO_TERMINOS = 8;
+    static final int C_INICIO_CLAUSULAS = 9;
+    static final int C_INICIO_TIPOS = 10;
+    static final int C_INICIO_PREDICADOS = 11;
+    static final int C_FIN = 12;
+    static final int TAMANO_CABECERA = 16;
+
+    private final MappedByteBuffer datos;
+    private final IntBuffer enteros;
+    private final int cantidadSimbolos;
+    private final int cantidadTerminos;
+    private final int cantidadClausulas;
+    private final int cantidadPredicados;
+    private final int inicioSimbolos;
+    private final int inicioTextos;
+    private final int inicioTerminos;
+    private final int inicioClausulas;
+    private final int inicioTipos;
+    private final int inicioPredicados;
+
+    // Identificador global (en Simbolos) de cada símbolo local más uno; 0 si no se resolvió todavía
+    private final int[] simbolos;
+    private final Termino[] terminos;
+
+    private InstantaneaBase(MappedByteBuffer datos) throws IOException {
+        this.datos = datos;
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+        this.enteros = datos.asIntBuffer();
+        if (datos.capacity() < TAMANO_CABECERA * 4 || enteros.get(C_MAGICO) != MAGICO) {
+            throw new IOException("El archivo no es una instantánea de base de conocimiento");
+        }
+        if (enteros.get(C_VERSION) != VERSION) {
+            throw new IOException("Versión de instantánea no soportada: " + enteros.get(C_VERSION));
+        }
+        if ((long) enteros.get(C_FIN) * 4 != datos.capacity()) {
+            throw new IOException("Instantánea truncada: se esperaban " + (long) enteros.get(C_FIN) * 4 +
+                    " bytes y hay " + datos.capacity());
+        }
+
+        cantidadSimbolos = enteros.get(C_SIMBOLOS);
+        cantidadTerminos = enteros.get(C_TERMINOS);
+        cantidadClausulas = enteros.get(C_CLAUSULAS);
+        cantidadPredicados = enteros.get(C_PREDICADOS);
+        inicioSimbolos = enteros.get(C_INICIO_SIMBOLOS);
+        inicioTextos = enteros.get(C_INICIO_TEXTOS);
+        inicioTerminos = enteros.get(C_INICIO_TERMINOS);
+        inicioClausulas = enteros.get(C_INICIO_CLAUSULAS);
+        inicioTipos = enteros.get(C_INICIO_TIPOS);
+        inicioPredicados = enteros.get(C_INICIO_PREDICADOS);
+        simbolos = new int[cantidadSimbolos];
+        terminos = new Termino[cantidadTerminos];
+    }
+
+    public static InstantaneaBase abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("La instantánea supera los 2 GB: " + archivo);
+            }
+            return new InstantaneaBase(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    // Escribe las cláusulas de los hechos, reglas y cláusulas disyuntivas de la base
+    public static void guardar(BaseConocimiento base, Path archivo) throws IOException {
+        new EscritorInstantanea().agregar(base).escribir(archivo);
+    }
+
+    // Convierte un archivo del lenguaje de reglas (ver CargadorBase) en una instantánea; en
+    // memoria solo quedan los arreglos de enteros de las secciones
+    public static ResultadoCarga convertir(Path fuente, Path archivo) throws IOException {
+        EscritorInstantanea escritor = new EscritorInstantanea();
+        ResultadoCarga resultado = CargadorBase.cargar(fuente, escritor);
+        escritor.escribir(archivo);
+        return resultado;
+    }
+
+    public int cantidadClausulas() {
+        return cantidadClausulas;
+    }
+
+    public int cantidadTerminos() {
+        return cantidadTerminos;
+    }
+
+    public int cantidadSimbolos() {
+        return cantidadSimbolos;
+    }
+
+    public long tamano() {
+        return datos.capacity();
+    }
+
+    public Clausula clausula(int i) {
+        int inicio = enteros.get(inicioClausulas + i);
+        int fin = enteros.get(inicioClausulas + i + 1);
+        Literal[] literales = new Literal[fin - inicio];
+        for (int j = 0; j < literales.length; j++) {
+            int codigo = enteros.get(inicio + j);
+            literales[j] = new Literal(termino(codigo >>> 1), (codigo & 1) != 0);
+        }
+        return Clausula.de(literales);
+    }
+
+    // Cláusulas con algún literal del predicado, usando el índice del archivo (búsqueda binaria
+    // por nombre) sin decodificar las demás
+    public List<Clausula> clausulasConPredicado(String predicado) {
+        byte[] nombre = predicado.getBytes(StandardCharsets.UTF_8);
+        int desde = 0;
+        int hasta = cantidadPredicados - 1;
+        while (desde <= hasta) {
+            int medio = (desde + hasta) >>> 1;
+            int c = compararNombre(enteros.get(inicioPredicados + medio * 2), nombre);
+            if (c < 0) {
+                desde = medio + 1;
+            } else if (c > 0) {
+                hasta = medio - 1;
+            } else {
+                int inicio = enteros.get(inicioPredicados + medio * 2 + 1);
+                int fin = enteros.get(inicioPredicados + medio * 2 + 3);
+                List<Clausula> resultado = new ArrayList<>(fin - inicio);
+                for (int k = inicio; k < fin; k++) {
+                    resultado.add(clausula(enteros.get(k)));
+                }
+                return resultado;
+            }
+        }
+        return List.of();
+    }
+
+    public BaseCompilada aBaseCompilada() {
+        BaseCompilada compilada = new BaseCompilada();
+        cargarEn(compilada);
+        return compilada;
+    }
+
+    public void cargarEn(BaseCompilada compilada) {
+        for (int i = 0; i < cantidadClausulas; i++) {
+            compilada.agregar(clausula(i));
+        }
+    }
+
+    // Hechos y reglas (premisas negadas más la conclusión) a la red; las disyuntivas no participan,
+    // pero la red las cuenta (ver RedRete.esCompleta)
+    public void cargarEn(RedRete red) {
+        List<Clausula> hechos = new ArrayList<>();
+        for (int i = 0; i < cantidadClausulas; i++) {
+            int tipo = enteros.get(inicioTipos + i);
+            if (tipo == HECHO) {
+                hechos.add(clausula(i));
+            } else if (tipo == REGLA) {
+                Clausula regla = clausula(i);
+                List<Literal> premisas = new ArrayList<>();
+                Literal conclusion = null;
+                for (int j = 0; j < regla.size(); j++) {
+                    if (regla.literal(j).isNegado()) {
+                        premisas.add(regla.literal(j).complemento());
+                    } else {
+                        conclusion = regla.literal(j);
+                    }
+                }
+                red.agregarRegla(premisas, conclusion);
+            } else {
+                red.agregarClausulaDisyuntiva(clausula(i));
+            }
+        }
+        for (Clausula hecho : hechos) {
+            red.agregarHecho(hecho.literal(0));
+        }
+    }
+
+    private Termino termino(int k) {
+        Termino termino = terminos[k];
+        if (termino == null) {
+            int posicion = enteros.get(inicioTerminos + k);
+            int simbolo = simbolo(enteros.get(posicion));
+            int cabecera = enteros.get(posicion + 1);
+            if ((cabecera & 1) != 0) {
+                termino = Termino.variable(simbolo);
+            } else {
+                Termino[] argumentos = new Termino[cabecera >>> 1];
+                for (int i = 0; i < argumentos.length; i++) {
+                    argumentos[i] = termino(enteros.get(posicion + 2 + i));
+                }
+                termino = Termino.compuesto(simbolo, argumentos);
+            }
+            terminos[k] = termino;
+        }
+        return termino;
+    }
+
+    private int simbolo(int local) {
+        int global = simbolos[local] - 1;
+        if (global < 0) {
+            global = Simbolos.id(new String(texto(local), StandardCharsets.UTF_8));
+            simbolos[local] = global + 1;
+        }
+        return global;
+    }
+
+    private byte[] texto(int local) {
+        int inicio = enteros.get(inicioSimbolos + local);
+        byte[] texto = new byte[enteros.get(inicioSimbolos + local + 1) - inicio];
+        datos.get(inicioTextos + inicio, texto);
+        return texto;
+    }
+
+    private int compararNombre(int local, byte[] nombre) {
+        return Arrays.compareUnsigned(texto(local), nombre);
+    }
+}
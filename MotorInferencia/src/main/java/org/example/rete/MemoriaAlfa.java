@@ -0,0 +1,18 @@
+package org.example.rete;
+
+import org.example.logica.Literal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Memoria alfa: hechos que encajan con un patrón de premisa (mismo predicado, signo, constantes
+// y variables repetidas). Se comparte entre todas las reglas que usan el mismo patrón
+class MemoriaAlfa {
+    final Literal patron;
+    final List<Literal> hechos = new ArrayList<>();
+    final List<NodoUnion> sucesores = new ArrayList<>();
+
+    MemoriaAlfa(Literal patron) {
+        this.patron = patron;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.rete;
+
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Nodo de unión (beta) de una regla. El nodo i combina los tokens que llegan del nodo i-1 con
+// los hechos de la memoria alfa de la premisa i; ambos lados se indexan por los valores de las
+// variables compartidas, así que la unión es una búsqueda en un mapa y no un producto cruzado.
+// Las activaciones llevan un signo: agregar propaga coincidencias nuevas y retirar propaga la
+// eliminación de las coincidencias que usaban un hecho retirado
+class NodoUnion {
+    final RedRete red;
+    final ReglaCompilada regla;
+    final int indice;
+    final Literal patron;
+    final int[] ranurasPatron; // Ranura de cada aparición de variable del patrón, en preorden
+    final int[] ranurasCompartidas; // Ranuras ya ligadas por las premisas anteriores
+
+    private final Map<List<Termino>, List<Token>> izquierda = new HashMap<>();
+    private final Map<List<Termino>, List<Token>> derecha = new HashMap<>();
+
+    NodoUnion(RedRete red, ReglaCompilada regla, int indice, Literal patron, int[] ranurasPatron,
+              int[] ranurasCompartidas) {
+        this.red = red;
+        this.regla = regla;
+        this.indice = indice;
+        this.patron = patron;
+        this.ranurasPatron = ranurasPatron;
+        this.ranurasCompartidas = ranurasCompartidas;
+    }
+
+    // Activación desde la memoria alfa con un hecho que entra o sale
+    void activarDerecha(Literal hecho, boolean agregar) {
+        Termino[] valores = emparejar(hecho);
+        if (valores == null) {
+            return;
+        }
+
+        Token parcial = new Token(valores, new Literal[]{hecho});
+        if (indice == 0) {
+            propagar(parcial, agregar);
+            return;
+        }
+
+        List<Termino> clave = clave(valores);
+        actualizar(derecha, clave, parcial, agregar);
+        for (Token token : izquierda.getOrDefault(clave, Collections.emptyList())) {
+            propagar(combinar(token, parcial), agregar);
+        }
+    }
+
+    // Activación desde el nodo anterior con un token que entra o sale
+    void activarIzquierda(Token token, boolean agregar) {
+        List<Termino> clave = clave(token.valores);
+        actualizar(izquierda, clave, token, agregar);
+        for (Token parcial : derecha.getOrDefault(clave, Collections.emptyList())) {
+            propagar(combinar(token, parcial), agregar);
+        }
+    }
+
+    private void propagar(Token token, boolean agregar) {
+        if (indice + 1 < regla.nodos.length) {
+            regla.nodos[indice + 1].activarIzquierda(token, agregar);
+        } else {
+            red.disparar(regla, token, agregar);
+        }
+    }
+
+    private static void actualizar(Map<List<Termino>, List<Token>> memoria, List<Termino> clave, Token token,
+                                   boolean agregar) {
+        if (agregar) {
+            memoria.computeIfAbsent(clave, k -> new ArrayList<>()).add(token);
+            return;
+        }
+        List<Token> tokens = memoria.get(clave);
+        if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+            memoria.remove(clave);
+        }
+    }
+
+    private List<Termino> clave(Termino[] valores) {
+        Termino[] compartidos = new Termino[ranurasCompartidas.length];
+        for (int i = 0; i < compartidos.length; i++) {
+            compartidos[i] = valores[ranurasCompartidas[i]];
+        }
+        return Arrays.asList(compartidos);
+    }
+
+    private Token combinar(Token token, Token parcial) {
+        Termino[] valores = token.valores.clone();
+        for (int ranura : ranurasPatron) {
+            valores[ranura] = parcial.valores[ranura];
+        }
+        Literal[] hechos = Arrays.copyOf(token.hechos, token.hechos.length + 1);
+        hechos[token.hechos.length] = parcial.hechos[0];
+        return new Token(valores, hechos);
+    }
+
+    // Liga las variables del patrón con los subtérminos del hecho; null si no encaja
+    private Termino[] emparejar(Literal hecho) {
+        Termino[] ligaduras = new Termino[regla.cantidadVariables];
+        int[] siguiente = {0};
+        return emparejar(patron.getAtomo(), hecho.getAtomo(), ligaduras, siguiente) ? ligaduras : null;
+    }
+
+    private boolean emparejar(Termino patron, Termino termino, Termino[] ligaduras, int[] siguiente) {
+        if (patron.esVariable()) {
+            int ranura = ranurasPatron[siguiente[0]++];
+            if (ligaduras[ranura] == null) {
+                ligaduras[ranura] = termino;
+                return true;
+            }
+            return ligaduras[ranura] == termino;
+        }
+
+        if (patron.getSimbolo() != termino.getSimbolo() || patron.aridad() != termino.aridad() ||
+                termino.esVariable()) {
+            return false;
+        }
+
+        for (int i = 0; i < patron.aridad(); i++) {
+            if (!emparejar(patron.argumento(i), termino.argumento(i), ligaduras, siguiente)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
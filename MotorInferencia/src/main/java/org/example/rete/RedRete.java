@@ -0,0 +1,455 @@
+package org.example.rete;
+
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.OyenteBase;
+import org.example.model.Regla;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Red Rete de encadenamiento hacia adelante para las reglas de Horn (Regla) de una base.
+// Cada patrón de premisa tiene una memoria alfa compartida y cada regla una cadena de nodos de
+// unión sobre sus variables compartidas. Al agregar un hecho solo se propaga ese hecho por la
+// red, y una vez saturada, saber si un literal base se deriva es una búsqueda en un conjunto.
+// Solo se derivan conclusiones base (sin variables libres). Que un literal no esté derivado
+// significa que la base no lo implica solo si la red es completa (ver esCompleta): todas las
+// reglas son definidas y seguras, los hechos afirmados son positivos y base, y no hay cláusulas
+// disyuntivas; si no, la ausencia no decide nada.
+//
+// Mantenimiento de la verdad: cada hecho derivado cuenta sus justificaciones vigentes (tokens
+// completos que lo producen). Al retirar un hecho o una regla se borra primero todo lo que tenía
+// alguna justificación afectada (sobreborrado) y luego se restituyen los hechos que todavía
+// conservan una justificación, igual que en el algoritmo DRed; así los ciclos de reglas no
+// dejan hechos que se sostienen solo entre sí
+public class RedRete implements OyenteBase {
+    private final Map<Literal, MemoriaAlfa> alfas = new HashMap<>();
+    private final Map<Long, List<MemoriaAlfa>> alfasPorPredicado = new HashMap<>();
+    private final List<ReglaCompilada> reglas = new ArrayList<>();
+    private final Map<Regla, ReglaCompilada> porRegla = new HashMap<>();
+    private final Set<Literal> hechos = new LinkedHashSet<>();
+    private final Set<Literal> hechosBase = new HashSet<>();
+    private final Map<Literal, Integer> soportes = new HashMap<>();
+    private final Deque<Literal> agenda = new ArrayDeque<>();
+    private final Deque<Literal> porBorrar = new ArrayDeque<>();
+    private int activaciones = 0;
+    private int fueraDeLaRed = 0; // Reglas, hechos y cláusulas vigentes que hacen la red incompleta
+
+    public static RedRete compilar(BaseConocimiento base) {
+        RedRete red = new RedRete();
+        for (Regla regla : base.getReglas()) {
+            red.agregarRegla(regla);
+        }
+        for (Hecho hecho : base.getHechos()) {
+            red.agregarHecho(hecho);
+        }
+        for (Set<String> clausula : base.getClausulasDisyuntivas()) {
+            red.clausulaAgregada(clausula);
+        }
+        return red;
+    }
+
+    public void agregarRegla(Regla regla) {
+        if (porRegla.containsKey(regla)) {
+            return;
+        }
+        List<Literal> premisas = new ArrayList<>();
+        for (Hecho premisa : regla.getPremisas()) {
+            premisas.add(Compilador.literal(premisa.toString()));
+        }
+        porRegla.put(regla, compilarRegla(premisas, Compilador.literal(regla.getConclusion().toString())));
+    }
+
+    public void agregarRegla(List<Literal> premisas, Literal conclusion) {
+        compilarRegla(premisas, conclusion);
+    }
+
+    private ReglaCompilada compilarRegla(List<Literal> premisas, Literal conclusion) {
+        List<Literal> orden = ordenarPremisas(premisas);
+
+        // Asignar una ranura a cada variable en el orden en que aparece
+        Map<Termino, Integer> ranuras = new LinkedHashMap<>();
+        for (Literal premisa : orden) {
+            for (Termino variable : variablesEnPreorden(premisa.getAtomo())) {
+                ranuras.putIfAbsent(variable, ranuras.size());
+            }
+        }
+
+        ReglaCompilada compilada = new ReglaCompilada(conclusion, ranuras, esDefinidaYSegura(orden, conclusion, ranuras));
+        if (!compilada.completa) {
+            fueraDeLaRed++;
+        }
+        compilada.nodos = new NodoUnion[orden.size()];
+        Set<Integer> ligadas = new LinkedHashSet<>();
+        for (int i = 0; i < orden.size(); i++) {
+            Literal premisa = orden.get(i);
+            List<Termino> variables = variablesEnPreorden(premisa.getAtomo());
+            int[] ranurasPatron = new int[variables.size()];
+            Set<Integer> compartidas = new LinkedHashSet<>();
+            for (int k = 0; k < variables.size(); k++) {
+                ranurasPatron[k] = ranuras.get(variables.get(k));
+                if (ligadas.contains(ranurasPatron[k])) {
+                    compartidas.add(ranurasPatron[k]);
+                }
+            }
+            for (int ranura : ranurasPatron) {
+                ligadas.add(ranura);
+            }
+
+            compilada.nodos[i] = new NodoUnion(this, compilada, i, premisa, ranurasPatron,
+                    compartidas.stream().mapToInt(Integer::intValue).toArray());
+        }
+        reglas.add(compilada);
+
+        if (orden.isEmpty()) {
+            disparar(compilada, new Token(new Termino[0], new Literal[0]), true);
+        } else {
+            // Conectar cada nodo a su memoria alfa; la memoria del primer nodo se vuelve a recorrer
+            // para combinar los hechos que ya estaban en la red
+            for (int i = orden.size() - 1; i >= 0; i--) {
+                NodoUnion nodo = compilada.nodos[i];
+                MemoriaAlfa alfa = memoriaAlfa(nodo.patron);
+                for (Literal hecho : alfa.hechos) {
+                    nodo.activarDerecha(hecho, true);
+                }
+                alfa.sucesores.add(nodo);
+            }
+        }
+        saturar();
+        return compilada;
+    }
+
+    public boolean retirarRegla(Regla regla) {
+        ReglaCompilada compilada = porRegla.remove(regla);
+        if (compilada == null) {
+            return false;
+        }
+
+        reglas.remove(compilada);
+        if (!compilada.completa) {
+            fueraDeLaRed--;
+        }
+        for (MemoriaAlfa alfa : alfas.values()) {
+            alfa.sucesores.removeIf(nodo -> nodo.regla == compilada);
+        }
+
+        // Las justificaciones que aportaba la regla dejan de valer
+        for (Map.Entry<Literal, Integer> disparo : compilada.disparos.entrySet()) {
+            soportes.computeIfPresent(disparo.getKey(), (h, n) -> n == disparo.getValue() ? null : n - disparo.getValue());
+            porBorrar.add(disparo.getKey());
+        }
+        mantenerVerdad();
+        return true;
+    }
+
+    public boolean agregarHecho(Hecho hecho) {
+        return agregarHecho(Compilador.literal(hecho.toString()));
+    }
+
+    public boolean agregarHecho(Literal hecho) {
+        if (!hechosBase.add(hecho)) {
+            return false;
+        }
+        if (!esDefinido(hecho)) {
+            fueraDeLaRed++;
+        }
+        agenda.add(hecho);
+        saturar();
+        return true;
+    }
+
+    public boolean retirarHecho(Hecho hecho) {
+        return retirarHecho(Compilador.literal(hecho.toString()));
+    }
+
+    // Retira un hecho afirmado e invalida los hechos derivados que ya no tienen justificación
+    public boolean retirarHecho(Literal hecho) {
+        if (!hechosBase.remove(hecho)) {
+            return false;
+        }
+        if (!esDefinido(hecho)) {
+            fueraDeLaRed--;
+        }
+        porBorrar.add(hecho);
+        mantenerVerdad();
+        return true;
+    }
+
+    // Consulta después de la saturación: si algún hecho derivado es instancia de la consulta. Una
+    // consulta base es una búsqueda en el conjunto; una con variables recorre los hechos derivados
+    public boolean consultar(String consulta) {
+        return consultar(Compilador.literal(consulta));
+    }
+
+    public boolean consultar(Literal consulta) {
+        if (consulta.getAtomo().esBase()) {
+            return hechos.contains(consulta);
+        }
+        for (Literal hecho : hechos) {
+            if (hecho.isNegado() == consulta.isNegado() &&
+                    encaja(consulta.getAtomo(), hecho.getAtomo(), new HashMap<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Con la red completa los hechos derivados son el modelo mínimo de la base: lo que no está
+    // derivado no se sigue de ella
+    public boolean esCompleta() {
+        return fueraDeLaRed == 0;
+    }
+
+    // Cláusula que no es de Horn (por ejemplo de una instantánea): la red no la usa, pero deja de
+    // ser completa
+    public void agregarClausulaDisyuntiva(Clausula clausula) {
+        fueraDeLaRed++;
+    }
+
+    public Set<Literal> getHechos() {
+        return Collections.unmodifiableSet(hechos);
+    }
+
+    public int getCantidadMemoriasAlfa() {
+        return alfas.size();
+    }
+
+    public int getActivaciones() {
+        return activaciones;
+    }
+
+    public boolean esAfirmado(Literal hecho) {
+        return hechosBase.contains(hecho);
+    }
+
+    void disparar(ReglaCompilada regla, Token token, boolean agregar) {
+        Termino atomo = instanciar(regla.conclusion.getAtomo(), regla, token.valores);
+        if (atomo == null) {
+            return;
+        }
+
+        Literal derivado = new Literal(atomo, regla.conclusion.isNegado());
+        if (agregar) {
+            regla.disparos.merge(derivado, 1, Integer::sum);
+            soportes.merge(derivado, 1, Integer::sum);
+            if (!hechos.contains(derivado)) {
+                agenda.add(derivado);
+            }
+        } else {
+            regla.disparos.computeIfPresent(derivado, (h, n) -> n == 1 ? null : n - 1);
+            soportes.computeIfPresent(derivado, (h, n) -> n == 1 ? null : n - 1);
+            porBorrar.add(derivado);
+        }
+    }
+
+    private void saturar() {
+        while (!agenda.isEmpty()) {
+            Literal hecho = agenda.poll();
+            if (!hechos.add(hecho)) {
+                continue;
+            }
+            propagar(hecho, true);
+        }
+    }
+
+    // Sobreborrado y restitución (DRed) a partir de los hechos encolados en porBorrar
+    private void mantenerVerdad() {
+        Set<Literal> sobreborrados = new LinkedHashSet<>();
+        while (!porBorrar.isEmpty()) {
+            Literal hecho = porBorrar.poll();
+            if (!hechos.remove(hecho)) {
+                continue;
+            }
+            sobreborrados.add(hecho);
+            propagar(hecho, false);
+        }
+
+        // Los tokens que quedan solo usan hechos presentes, así que un soporte positivo es una
+        // justificación válida
+        for (Literal hecho : sobreborrados) {
+            if (hechosBase.contains(hecho) || soportes.containsKey(hecho)) {
+                agenda.add(hecho);
+            }
+        }
+        saturar();
+    }
+
+    private void propagar(Literal hecho, boolean agregar) {
+        for (MemoriaAlfa alfa : alfasPorPredicado.getOrDefault(clave(hecho), Collections.emptyList())) {
+            if (!encaja(alfa.patron.getAtomo(), hecho.getAtomo(), new HashMap<>())) {
+                continue;
+            }
+            if (agregar) {
+                alfa.hechos.add(hecho);
+            } else {
+                alfa.hechos.remove(hecho);
+            }
+            for (NodoUnion nodo : new ArrayList<>(alfa.sucesores)) {
+                activaciones++;
+                nodo.activarDerecha(hecho, agregar);
+            }
+        }
+    }
+
+    @Override
+    public void hechoAgregado(Hecho hecho) {
+        agregarHecho(hecho);
+    }
+
+    @Override
+    public void hechoRetirado(Hecho hecho) {
+        retirarHecho(hecho);
+    }
+
+    @Override
+    public void reglaAgregada(Regla regla) {
+        agregarRegla(regla);
+    }
+
+    @Override
+    public void reglaRetirada(Regla regla) {
+        retirarRegla(regla);
+    }
+
+    // Las cláusulas disyuntivas no son de Horn y no participan en el encadenamiento; solo se
+    // cuentan para saber si la red es completa
+    @Override
+    public void clausulaAgregada(Set<String> clausula) {
+        fueraDeLaRed++;
+    }
+
+    @Override
+    public void clausulaRetirada(Set<String> clausula) {
+        fueraDeLaRed--;
+    }
+
+    private MemoriaAlfa memoriaAlfa(Literal patron) {
+        MemoriaAlfa alfa = alfas.get(patron);
+        if (alfa == null) {
+            alfa = new MemoriaAlfa(patron);
+            for (Literal hecho : hechos) {
+                if (hecho.isNegado() == patron.isNegado() &&
+                        encaja(patron.getAtomo(), hecho.getAtomo(), new HashMap<>())) {
+                    alfa.hechos.add(hecho);
+                }
+            }
+            alfas.put(patron, alfa);
+            alfasPorPredicado.computeIfAbsent(clave(patron), k -> new ArrayList<>()).add(alfa);
+        }
+        return alfa;
+    }
+
+    // Pruebas de la memoria alfa: constantes iguales y variables repetidas consistentes
+    private static boolean encaja(Termino patron, Termino termino, Map<Termino, Termino> ligaduras) {
+        if (patron.esVariable()) {
+            Termino previo = ligaduras.putIfAbsent(patron, termino);
+            return previo == null || previo == termino;
+        }
+        if (patron.getSimbolo() != termino.getSimbolo() || patron.aridad() != termino.aridad() ||
+                termino.esVariable()) {
+            return false;
+        }
+        for (int i = 0; i < patron.aridad(); i++) {
+            if (!encaja(patron.argumento(i), termino.argumento(i), ligaduras)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Termino instanciar(Termino termino, ReglaCompilada regla, Termino[] token) {
+        if (termino.esBase()) {
+            return termino;
+        }
+        if (termino.esVariable()) {
+            Integer ranura = regla.ranuras.get(termino);
+            return ranura != null ? token[ranura] : null; // Variable que no aparece en las premisas
+        }
+
+        Termino[] argumentos = new Termino[termino.aridad()];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = instanciar(termino.argumento(i), regla, token);
+            if (argumentos[i] == null) {
+                return null;
+            }
+        }
+        return Termino.compuesto(termino.getSimbolo(), argumentos);
+    }
+
+    // Regla definida (premisas y conclusión positivas) y segura (la conclusión solo usa variables
+    // de las premisas): solo entonces sus disparos derivan todo lo que la regla implica
+    private static boolean esDefinidaYSegura(List<Literal> premisas, Literal conclusion, Map<Termino, Integer> ranuras) {
+        for (Literal premisa : premisas) {
+            if (premisa.isNegado()) {
+                return false;
+            }
+        }
+        return !conclusion.isNegado() && ranuras.keySet().containsAll(variablesEnPreorden(conclusion.getAtomo()));
+    }
+
+    private static boolean esDefinido(Literal hecho) {
+        return !hecho.isNegado() && hecho.getAtomo().esBase();
+    }
+
+    // Orden de unión: cada premisa siguiente es la que comparte más variables con las anteriores
+    private static List<Literal> ordenarPremisas(List<Literal> premisas) {
+        List<Literal> restantes = new ArrayList<>(premisas);
+        Collections.sort(restantes);
+        List<Literal> orden = new ArrayList<>();
+        Set<Termino> ligadas = new LinkedHashSet<>();
+
+        while (!restantes.isEmpty()) {
+            Literal mejor = restantes.get(0);
+            int mejorCompartidas = -1;
+            for (Literal candidata : restantes) {
+                int compartidas = 0;
+                for (Termino variable : variablesEnPreorden(candidata.getAtomo())) {
+                    if (ligadas.contains(variable)) {
+                        compartidas++;
+                    }
+                }
+                if (compartidas > mejorCompartidas) {
+                    mejor = candidata;
+                    mejorCompartidas = compartidas;
+                }
+            }
+            restantes.remove(mejor);
+            orden.add(mejor);
+            ligadas.addAll(variablesEnPreorden(mejor.getAtomo()));
+        }
+        return orden;
+    }
+
+    private static List<Termino> variablesEnPreorden(Termino termino) {
+        List<Termino> variables = new ArrayList<>();
+        agregarVariables(termino, variables);
+        return variables;
+    }
+
+    private static void agregarVariables(Termino termino, List<Termino> variables) {
+        if (termino.esVariable()) {
+            variables.add(termino);
+            return;
+        }
+        for (int i = 0; i < termino.aridad(); i++) {
+            agregarVariables(termino.argumento(i), variables);
+        }
+    }
+
+    private static long clave(Literal literal) {
+        return ((long) literal.getPredicado() << 32) | ((long) literal.aridad() << 1) | (literal.isNegado() ? 1L : 0L);
+    }
+}
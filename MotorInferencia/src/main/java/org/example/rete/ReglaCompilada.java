@@ -0,0 +1,24 @@
+package org.example.rete;
+
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Regla de Horn compilada en una cadena de nodos de unión, uno por premisa
+class ReglaCompilada {
+    final Literal conclusion;
+    final Map<Termino, Integer> ranuras; // Variable de la regla -> ranura en los tokens
+    final int cantidadVariables;
+    final boolean completa; // Definida y segura (ver RedRete.esDefinidaYSegura)
+    final Map<Literal, Integer> disparos = new HashMap<>(); // Justificaciones vigentes por hecho derivado
+    NodoUnion[] nodos;
+
+    ReglaCompilada(Literal conclusion, Map<Termino, Integer> ranuras, boolean completa) {
+        this.conclusion = conclusion;
+        this.ranuras = ranuras;
+        this.cantidadVariables = ranuras.size();
+        this.completa = completa;
+    }
+}
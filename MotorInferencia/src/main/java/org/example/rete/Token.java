@@ -0,0 +1,33 @@
+package org.example.rete;
+
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+
+import java.util.Arrays;
+
+// Coincidencia parcial de una regla: valores de sus variables (por ranura) y los hechos que
+// encajaron con cada premisa. Dos tokens son iguales si se formaron con los mismos hechos, lo
+// que permite retirarlos de las memorias cuando se retira uno de esos hechos
+final class Token {
+    final Termino[] valores;
+    final Literal[] hechos;
+    private final int hash;
+
+    Token(Termino[] valores, Literal[] hechos) {
+        this.valores = valores;
+        this.hechos = hechos;
+        this.hash = Arrays.hashCode(hechos);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Token otro)) return false;
+        return hash == otro.hash && Arrays.equals(hechos, otro.hechos);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.sld;
+
+import org.example.logica.Termino;
+
+// Cláusula de Horn con cabeza: cabeza :- cuerpo[0], ..., cuerpo[n-1] (un hecho tiene el cuerpo vacío)
+record ClausulaDefinida(Termino cabeza, Termino[] cuerpo) {
+}
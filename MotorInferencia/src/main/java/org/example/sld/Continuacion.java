@@ -0,0 +1,26 @@
+package org.example.sld;
+
+import org.example.logica.Termino;
+
+import java.util.Arrays;
+
+// Resto de una cláusula que espera las respuestas de su primera submeta pendiente: al terminar
+// el cuerpo, 'respuesta' (la llamada de 'destino' instanciada) es una respuesta nueva de
+// 'destino'. Las variables están renombradas juntas (?0, ?1, ... en orden de aparición), así
+// que dos continuaciones iguales salvo nombres de variables son iguales
+record Continuacion(Tabla destino, Termino respuesta, Termino[] pendientes) {
+    Termino submeta() {
+        return pendientes[0];
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Continuacion otra && destino == otra.destino && respuesta == otra.respuesta &&
+                Arrays.equals(pendientes, otra.pendientes);
+    }
+
+    @Override
+    public int hashCode() {
+        return (System.identityHashCode(destino) * 31 + respuesta.hashCode()) * 31 + Arrays.hashCode(pendientes);
+    }
+}
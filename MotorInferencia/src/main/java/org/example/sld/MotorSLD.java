@@ -0,0 +1,297 @@
+package org.example.sld;
+
+import org.example.indices.ArbolDiscriminacion;
+import org.example.inferencia.Presupuesto;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+import org.example.utils.Ligaduras;
+import org.example.utils.UnificadorTerminos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Encadenamiento hacia atrás (resolución SLD) con tabulación, para consultas sobre cláusulas de
+// Horn. Las cabezas de las cláusulas definidas se indexan en un árbol de discriminación. Cada
+// submeta tiene una tabla por variante: la primera llamada la resuelve contra las cláusulas y
+// las siguientes solo se suscriben a sus respuestas, así que las submetas repetidas no se
+// recalculan y las reglas recursivas terminan (si las respuestas son finitas). Como en SLG, una
+// llamada no espera a que la tabla llamada termine: deja una continuación (el resto de la
+// cláusula) que se reanuda con cada respuesta, y el trabajo pendiente se atiende en orden de
+// llegada. Cada par continuación-respuesta se procesa una sola vez, y cuando no queda trabajo
+// todas las tablas están completas.
+//
+// Una consulta se detiene en cuanto sabe la respuesta (o al agotar el presupuesto). Las tablas
+// completas se conservan para las consultas siguientes; las incompletas se descartan junto con
+// el trabajo pendiente al empezar la consulta siguiente, de modo que cada consulta solo hace (y
+// solo descuenta de su presupuesto) el trabajo de sus propias submetas. Quien crea el motor
+// debe descartarlo si cambian las cláusulas
+public class MotorSLD {
+    private final ArbolDiscriminacion<ClausulaDefinida> cabezas;
+    private final Map<Termino, Tabla> tablas = new HashMap<>();
+    private final List<Tabla> incompletas = new ArrayList<>();
+    private final ArrayDeque<Object> trabajo = new ArrayDeque<>();
+    private final UnificadorTerminos unificador = new UnificadorTerminos();
+    private int cantidadClausulas = 0;
+
+    // Estadísticas de la consulta en curso
+    private int resoluciones;
+    private int intentos;
+    private int submetas;
+
+    // Una respuesta que una continuación todavía no consumió
+    private record Reanudacion(Continuacion continuacion, Termino respuesta) {
+    }
+
+    // Solo se usan las cláusulas con exactamente un literal positivo; las demás se ignoran
+    // (ver BaseCompilada.esHornPara para decidir si la consulta puede resolverse así)
+    public MotorSLD(Collection<Clausula> clausulas) {
+        cabezas = new ArbolDiscriminacion<>();
+        for (Clausula clausula : clausulas) {
+            Termino cabeza = null;
+            List<Termino> cuerpo = new ArrayList<>();
+            boolean definida = true;
+            for (int i = 0; i < clausula.size() && definida; i++) {
+                Literal literal = clausula.literal(i);
+                if (literal.isNegado()) {
+                    cuerpo.add(literal.getAtomo());
+                } else if (cabeza == null) {
+                    cabeza = literal.getAtomo();
+                } else {
+                    definida = false;
+                }
+            }
+            if (definida && cabeza != null) {
+                cabezas.insertar(cabeza, new ClausulaDefinida(cabeza, cuerpo.toArray(new Termino[0])));
+                cantidadClausulas++;
+            }
+        }
+    }
+
+    // Motor sobre las mismas cláusulas con sus propias tablas (vacías). El índice de cabezas no
+    // cambia al consultar, así que se comparte: cada consulta concurrente puede tener su motor
+    // sin volver a indexar las cláusulas
+    public MotorSLD(MotorSLD otro) {
+        cabezas = otro.cabezas;
+        cantidadClausulas = otro.cantidadClausulas;
+    }
+
+    public int getCantidadClausulas() {
+        return cantidadClausulas;
+    }
+
+    public int getCantidadTablas() {
+        return tablas.size();
+    }
+
+    public void limpiarTablas() {
+        tablas.clear();
+        incompletas.clear();
+        trabajo.clear();
+    }
+
+    // La consulta debe ser un literal positivo; la respuesta es SI en cuanto su tabla tiene una
+    // respuesta y NO si la tabla se completa vacía
+    public ResultadoConsulta consultar(Literal consulta, Presupuesto presupuesto) {
+        if (consulta.isNegado()) {
+            throw new IllegalArgumentException("El encadenamiento hacia atrás solo demuestra literales positivos: " + consulta);
+        }
+
+        long inicio = System.nanoTime();
+        resoluciones = 0;
+        intentos = 0;
+        submetas = 0;
+        descartarIncompletas();
+
+        Tabla tabla = llamar(canonizar(consulta.getAtomo()));
+        ResultadoConsulta.Limite limite = null;
+        int pasos = 0;
+        while (tabla.respuestas.isEmpty() && !tabla.completa) {
+            Object tarea = trabajo.poll();
+            if (tarea == null) {
+                completarTodas();
+                break;
+            }
+            if (tarea instanceof Tabla nueva) {
+                resolverConClausulas(nueva);
+            } else {
+                Reanudacion reanudacion = (Reanudacion) tarea;
+                reanudar(reanudacion.continuacion(), reanudacion.respuesta());
+            }
+
+            limite = agotado(presupuesto, ++pasos, inicio);
+            if (limite != null) {
+                break;
+            }
+        }
+
+        ResultadoConsulta.Respuesta respuesta = !tabla.respuestas.isEmpty() ? ResultadoConsulta.Respuesta.SI :
+                tabla.completa ? ResultadoConsulta.Respuesta.NO : ResultadoConsulta.Respuesta.DESCONOCIDO;
+        return new ResultadoConsulta(respuesta, respuesta == ResultadoConsulta.Respuesta.DESCONOCIDO ? limite : null,
+                false, resoluciones, intentos, submetas, contarRespuestas(), System.nanoTime() - inicio, null,
+                ResultadoConsulta.Metodo.SLD);
+    }
+
+    // Las iteraciones cuentan las tablas nuevas de esta consulta y las cláusulas vivas, su trabajo
+    // pendiente. Agotar el presupuesto deja tablas incompletas, que la consulta siguiente descarta
+    private ResultadoConsulta.Limite agotado(Presupuesto presupuesto, int pasos, long inicio) {
+        if (presupuesto.getMaxIteraciones() > 0 && submetas > presupuesto.getMaxIteraciones()) {
+            return ResultadoConsulta.Limite.ITERACIONES;
+        }
+        if (presupuesto.getMaxResoluciones() > 0 && resoluciones > presupuesto.getMaxResoluciones()) {
+            return ResultadoConsulta.Limite.RESOLUCIONES;
+        }
+        if (presupuesto.getMaxClausulasVivas() > 0 && trabajo.size() > presupuesto.getMaxClausulasVivas()) {
+            return ResultadoConsulta.Limite.CLAUSULAS_VIVAS;
+        }
+        if (presupuesto.getPlazo() != null && (pasos & 0xFF) == 0 &&
+                System.nanoTime() - inicio >= presupuesto.getPlazo().toNanos()) {
+            return ResultadoConsulta.Limite.PLAZO;
+        }
+        return null;
+    }
+
+    // Tabla de la variante canónica dada; si es nueva, queda pendiente resolverla con las cláusulas
+    private Tabla llamar(Termino variante) {
+        Tabla tabla = tablas.get(variante);
+        if (tabla == null) {
+            tabla = new Tabla(variante);
+            tablas.put(variante, tabla);
+            incompletas.add(tabla);
+            trabajo.add(tabla);
+            submetas++;
+        }
+        return tabla;
+    }
+
+    // La llamada se lee en el lado 0 y la cláusula en el lado 1, así que no hace falta
+    // renombrar la cláusula antes de unificar
+    private void resolverConClausulas(Tabla tabla) {
+        for (ClausulaDefinida clausula : cabezas.unificables(tabla.llamada)) {
+            Ligaduras ligaduras = unificador.ligadurasDelHilo();
+            int marca = ligaduras.marca();
+            intentos++;
+            if (!unificador.unificar(tabla.llamada, 0, clausula.cabeza(), 1, ligaduras)) {
+                continue;
+            }
+            resoluciones++;
+
+            try {
+                Termino respuesta = unificador.renombrarAparte(tabla.llamada, 0, ligaduras);
+                Termino[] cuerpo = new Termino[clausula.cuerpo().length];
+                for (int i = 0; i < cuerpo.length; i++) {
+                    cuerpo[i] = unificador.renombrarAparte(clausula.cuerpo()[i], 1, ligaduras);
+                }
+                continuar(tabla, respuesta, cuerpo);
+            } finally {
+                ligaduras.deshacer(marca);
+                ligaduras.olvidarRenombres();
+            }
+        }
+    }
+
+    // Una respuesta de la primera submeta pendiente: la continuación se lee en el lado 0 y la
+    // respuesta en el lado 1, y lo que queda de la cláusula se renombra junto
+    private void reanudar(Continuacion continuacion, Termino respuestaSubmeta) {
+        Ligaduras ligaduras = unificador.ligadurasDelHilo();
+        int marca = ligaduras.marca();
+        intentos++;
+        if (!unificador.unificar(continuacion.submeta(), 0, respuestaSubmeta, 1, ligaduras)) {
+            return;
+        }
+        resoluciones++;
+
+        try {
+            Termino respuesta = unificador.renombrarAparte(continuacion.respuesta(), 0, ligaduras);
+            Termino[] resto = new Termino[continuacion.pendientes().length - 1];
+            for (int i = 0; i < resto.length; i++) {
+                resto[i] = unificador.renombrarAparte(continuacion.pendientes()[i + 1], 0, ligaduras);
+            }
+            continuar(continuacion.destino(), respuesta, resto);
+        } finally {
+            ligaduras.deshacer(marca);
+            ligaduras.olvidarRenombres();
+        }
+    }
+
+    // Sin submetas pendientes la respuesta es de la tabla destino; si no, la continuación se
+    // suscribe a la tabla de su primera submeta y recibe las respuestas que esta ya tiene
+    private void continuar(Tabla destino, Termino respuesta, Termino[] pendientes) {
+        if (pendientes.length == 0) {
+            if (destino.agregarRespuesta(respuesta)) {
+                for (Continuacion consumidor : destino.consumidores) {
+                    trabajo.add(new Reanudacion(consumidor, respuesta));
+                }
+            }
+            return;
+        }
+
+        Continuacion continuacion = new Continuacion(destino, respuesta, pendientes);
+        Tabla llamada = llamar(canonizar(pendientes[0]));
+        if (llamada.agregarConsumidor(continuacion)) {
+            for (Termino existente : llamada.respuestas) {
+                trabajo.add(new Reanudacion(continuacion, existente));
+            }
+        }
+    }
+
+    // Las tablas completas no dependen del trabajo pendiente; las incompletas sí, así que se
+    // descartan con él (y las continuaciones que les entregaban respuestas) y se vuelven a llamar
+    // si la consulta las necesita
+    private void descartarIncompletas() {
+        if (incompletas.isEmpty()) {
+            return;
+        }
+        Set<Tabla> descartadas = new HashSet<>(incompletas);
+        for (Tabla tabla : incompletas) {
+            tablas.remove(tabla.llamada);
+        }
+        for (Tabla tabla : tablas.values()) {
+            tabla.quitarConsumidores(descartadas);
+        }
+        incompletas.clear();
+        trabajo.clear();
+    }
+
+    // Sin trabajo pendiente ninguna tabla puede ganar respuestas
+    private void completarTodas() {
+        for (Tabla tabla : incompletas) {
+            tabla.completa = true;
+        }
+        incompletas.clear();
+    }
+
+    private int contarRespuestas() {
+        int cantidad = 0;
+        for (Tabla tabla : tablas.values()) {
+            cantidad += tabla.respuestas.size();
+        }
+        return cantidad;
+    }
+
+    // Variante canónica: variables ?0, ?1, ... en orden de aparición
+    private static Termino canonizar(Termino termino) {
+        return termino.esBase() ? termino : canonizar(termino, new HashMap<>());
+    }
+
+    private static Termino canonizar(Termino termino, Map<Termino, Termino> renombres) {
+        if (termino.esBase()) {
+            return termino;
+        }
+        if (termino.esVariable()) {
+            return renombres.computeIfAbsent(termino, v -> Termino.variableNumerada(renombres.size()));
+        }
+        Termino[] argumentos = new Termino[termino.aridad()];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = canonizar(termino.argumento(i), renombres);
+        }
+        return Termino.compuesto(termino.getSimbolo(), argumentos);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.sld;
+
+import org.example.logica.Termino;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Tabla de una submeta (una por variante de la llamada): sus respuestas, sin repetidos y en el
+// orden en que se encontraron, y las continuaciones que esperan esas respuestas
+class Tabla {
+    final Termino llamada; // Variante canónica (variables ?0, ?1, ... en orden de aparición)
+    final List<Termino> respuestas = new ArrayList<>();
+    private final Set<Termino> vistas = new HashSet<>();
+
+    final List<Continuacion> consumidores = new ArrayList<>();
+    private final Set<Continuacion> consumidoresVistos = new HashSet<>();
+
+    boolean completa = false;
+
+    Tabla(Termino llamada) {
+        this.llamada = llamada;
+    }
+
+    boolean agregarRespuesta(Termino respuesta) {
+        if (!vistas.add(respuesta)) {
+            return false;
+        }
+        respuestas.add(respuesta);
+        return true;
+    }
+
+    boolean agregarConsumidor(Continuacion continuacion) {
+        if (!consumidoresVistos.add(continuacion)) {
+            return false;
+        }
+        consumidores.add(continuacion);
+        return true;
+    }
+
+    // Olvida las continuaciones que entregaban respuestas a tablas descartadas
+    void quitarConsumidores(Set<Tabla> destinos) {
+        if (consumidores.removeIf(continuacion -> destinos.contains(continuacion.destino()))) {
+            consumidoresVistos.removeIf(continuacion -> destinos.contains(continuacion.destino()));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.utils;
+
+import org.example.logica.Termino;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Sustitución triangular sobre un arreglo de ligaduras con un rastro (trail) de las casillas
+// ligadas para deshacer hasta una marca. Cada variable tiene una casilla por lado: las dos
+// cláusulas de una resolución usan lados distintos, así que sus variables quedan separadas
+// (renombradas aparte) sin reescribir ningún término. Las casillas se indexan por el índice denso
+// de la variable (Termino.getIndiceVariable), no por su símbolo, así que los arreglos crecen con
+// la cantidad de variables distintas y no con la de símbolos internados. Ligar, consultar y
+// deshacer no reservan memoria salvo cuando los arreglos tienen que crecer. No es thread-safe:
+// cada hilo usa las suyas (ver UnificadorTerminos.ligadurasDelHilo)
+public final class Ligaduras {
+    public static final int LADOS = 2;
+
+    private Termino[] valores = new Termino[64];
+    private int[] ladosValor = new int[64]; // Lado en el que se leen las variables del valor
+    private int[] rastro = new int[16];
+    private int tope = 0;
+
+    // Lado del último término devuelto por desreferenciar
+    private int ladoDesreferenciado;
+
+    // Renombrado a variables del banco (?0, ?1, ...) de las casillas libres, en orden de aparición
+    private Termino[] renombres = new Termino[64];
+    private int[] rastroRenombres = new int[16];
+    private int cantidadRenombres = 0;
+
+    private static int casilla(Termino variable, int lado) {
+        return variable.getIndiceVariable() * LADOS + lado;
+    }
+
+    // Valor ligado directamente a la variable (sin seguir la cadena), o null si está libre
+    public Termino valor(Termino variable) {
+        return valor(variable, 0);
+    }
+
+    public Termino valor(Termino variable, int lado) {
+        int indice = casilla(variable, lado);
+        return indice < valores.length ? valores[indice] : null;
+    }
+
+    // Sigue la cadena de ligaduras hasta un término que no es una variable ligada; el lado en el
+    // que hay que leer el resultado queda en getLadoDesreferenciado
+    public Termino desreferenciar(Termino termino, int lado) {
+        while (termino.esVariable()) {
+            int indice = casilla(termino, lado);
+            if (indice >= valores.length || valores[indice] == null) {
+                break;
+            }
+            termino = valores[indice];
+            lado = ladosValor[indice];
+        }
+        ladoDesreferenciado = lado;
+        return termino;
+    }
+
+    public int getLadoDesreferenciado() {
+        return ladoDesreferenciado;
+    }
+
+    void ligar(Termino variable, int lado, Termino termino, int ladoTermino) {
+        int indice = casilla(variable, lado);
+        if (indice >= valores.length) {
+            int tamano = Math.max(indice + 1, valores.length * 2);
+            valores = Arrays.copyOf(valores, tamano);
+            ladosValor = Arrays.copyOf(ladosValor, tamano);
+        }
+        if (tope == rastro.length) {
+            rastro = Arrays.copyOf(rastro, tope * 2);
+        }
+        valores[indice] = termino;
+        ladosValor[indice] = ladoTermino;
+        rastro[tope++] = indice;
+    }
+
+    public int marca() {
+        return tope;
+    }
+
+    // Libera las variables ligadas después de la marca
+    public void deshacer(int marca) {
+        while (tope > marca) {
+            valores[rastro[--tope]] = null;
+        }
+    }
+
+    public boolean estaVacia() {
+        return tope == 0;
+    }
+
+    // Casillas reservadas para ligaduras (crece con la cantidad de variables distintas)
+    int casillas() {
+        return valores.length;
+    }
+
+    // Variable del banco que representa a la variable libre en ese lado
+    Termino renombrar(Termino variable, int lado) {
+        int indice = casilla(variable, lado);
+        if (indice >= renombres.length) {
+            renombres = Arrays.copyOf(renombres, Math.max(indice + 1, renombres.length * 2));
+        }
+        Termino renombrada = renombres[indice];
+        if (renombrada == null) {
+            if (cantidadRenombres == rastroRenombres.length) {
+                rastroRenombres = Arrays.copyOf(rastroRenombres, cantidadRenombres * 2);
+            }
+            renombrada = Termino.variableNumerada(cantidadRenombres);
+            renombres[indice] = renombrada;
+            rastroRenombres[cantidadRenombres++] = indice;
+        }
+        return renombrada;
+    }
+
+    // Olvida los renombres para empezar una cláusula nueva
+    public void olvidarRenombres() {
+        while (cantidadRenombres > 0) {
+            renombres[rastroRenombres[--cantidadRenombres]] = null;
+        }
+    }
+
+    // Copia como mapa variable -> término de las ligaduras del lado 0 hechas desde la marca
+    Map<Termino, Termino> aMapa(int marca) {
+        Map<Termino, Termino> mapa = new HashMap<>();
+        for (int i = marca; i < tope; i++) {
+            mapa.put(Termino.variablePorIndice(rastro[i] / LADOS), valores[rastro[i]]);
+        }
+        return mapa;
+    }
+}
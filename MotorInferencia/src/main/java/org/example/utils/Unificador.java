@@ -1,5 +1,7 @@
 package org.example.utils;
 
+import org.example.logica.Simbolos;
+
 import java.util.*;
 
 public class Unificador {
@@ -13,6 +15,13 @@ public class Unificador {
             parsearExpresion(expresion);
         }
 
+        // Término compuesto ya armado (usado al aplicar sustituciones)
+        private Termino(String nombre, List<Termino> argumentos) {
+            this.nombre = nombre;
+            this.argumentos = argumentos;
+            this.esVariable = false;
+        }
+
         private void parsearExpresion(String expresion) {
             // Verificar si es negación
             boolean esNegacion = expresion.startsWith("¬");
@@ -39,8 +48,7 @@ public class Unificador {
                 this.nombre = expresion;
                 this.argumentos = new ArrayList<>();
                 // En lógica de primer orden, las variables comienzan con minúscula o son símbolos específicos
-                this.esVariable = expresion.equals("x") || expresion.equals("y") ||
-                        expresion.equals("z") || expresion.startsWith("?");
+                this.esVariable = Simbolos.esNombreVariable(expresion);
             }
         }
 
@@ -100,86 +108,136 @@ public class Unificador {
         }
     }
 
-    public Map<String, Termino> unificar(Termino t1, Termino t2) {
-        return unificar(t1, t2, new HashMap<>());
+    // Celda de una variable: null mientras está libre, o el término al que quedó ligada
+    private static final class Celda {
+        private final String nombre;
+        private Termino valor;
+
+        Celda(String nombre) {
+            this.nombre = nombre;
+        }
     }
 
-    private Map<String, Termino> unificar(Termino t1, Termino t2, Map<String, Termino> sustituciones) {
-        // Si ya tenemos sustituciones, aplicarlas primero
-        if (!sustituciones.isEmpty()) {
-            t1 = aplicarSustituciones(t1, sustituciones);
-            t2 = aplicarSustituciones(t2, sustituciones);
+    // Estado de unificación de cada hilo: una celda por nombre de variable (se crean una vez y se
+    // reutilizan) y el rastro de las celdas ligadas, que se deshace al terminar cada llamada
+    private static final class Entorno {
+        private final Map<String, Celda> celdas = new HashMap<>();
+        private final List<Celda> rastro = new ArrayList<>();
+
+        Celda celda(String nombre) {
+            Celda celda = celdas.get(nombre);
+            if (celda == null) {
+                celda = new Celda(nombre);
+                celdas.put(nombre, celda);
+            }
+            return celda;
+        }
+
+        void ligar(Celda celda, Termino valor) {
+            celda.valor = valor;
+            rastro.add(celda);
+        }
+
+        void deshacer() {
+            for (int i = rastro.size() - 1; i >= 0; i--) {
+                rastro.get(i).valor = null;
+            }
+            rastro.clear();
         }
+    }
+
+    private final ThreadLocal<Entorno> entornos = ThreadLocal.withInitial(Entorno::new);
 
-        // Si los términos son idénticos, no se necesita sustitución adicional
-        if (t1.equals(t2)) {
+    // Unificación con compartición de estructura: las variables se ligan en sus celdas (sin copiar
+    // el mapa de sustituciones) y los valores ligados son los propios subtérminos de la entrada.
+    // El resultado es el unificador más general ya resuelto (ninguna variable ligada aparece en
+    // los valores), o null si no se pueden unificar
+    public Map<String, Termino> unificar(Termino t1, Termino t2) {
+        Entorno entorno = entornos.get();
+        try {
+            if (!unificar(t1, t2, entorno)) {
+                return null;
+            }
+
+            Map<String, Termino> sustituciones = new HashMap<>();
+            for (Celda celda : entorno.rastro) {
+                sustituciones.put(celda.nombre, aplicarSustituciones(celda.valor, entorno));
+            }
             return sustituciones;
+        } finally {
+            entorno.deshacer();
+        }
+    }
+
+    private boolean unificar(Termino t1, Termino t2, Entorno entorno) {
+        // Las ligaduras se siguen solo cuando hace falta, sin reescribir los términos
+        t1 = desreferenciar(t1, entorno);
+        t2 = desreferenciar(t2, entorno);
+
+        if (t1 == t2) {
+            return true;
         }
 
         // Si t1 es variable
         if (t1.esVariable()) {
-            return unificarVariable(t1, t2, sustituciones);
+            return unificarVariable(t1, t2, entorno);
         }
 
         // Si t2 es variable
         if (t2.esVariable()) {
-            return unificarVariable(t2, t1, sustituciones);
+            return unificarVariable(t2, t1, entorno);
         }
 
-        // Si ambos son términos compuestos (predicados)
-        if (t1.tieneArgumentos() && t2.tieneArgumentos()) {
-            // Los nombres de los predicados deben coincidir
-            if (!t1.getNombre().equals(t2.getNombre())) {
-                return null; // No se pueden unificar predicados diferentes
-            }
-
-            // Los predicados deben tener el mismo número de argumentos
-            if (t1.getArgumentos().size() != t2.getArgumentos().size()) {
-                return null; // No se pueden unificar
-            }
+        // Los nombres de los predicados deben coincidir, y también el número de argumentos
+        if (!t1.getNombre().equals(t2.getNombre()) ||
+                t1.getArgumentos().size() != t2.getArgumentos().size()) {
+            return false;
+        }
 
-            // Unificar recursivamente cada argumento
-            Map<String, Termino> theta = new HashMap<>(sustituciones);
-            for (int i = 0; i < t1.getArgumentos().size(); i++) {
-                theta = unificar(t1.getArgumentos().get(i), t2.getArgumentos().get(i), theta);
-                if (theta == null) {
-                    return null; // Fallo en la unificación de argumentos
-                }
+        // Unificar recursivamente cada argumento
+        for (int i = 0; i < t1.getArgumentos().size(); i++) {
+            if (!unificar(t1.getArgumentos().get(i), t2.getArgumentos().get(i), entorno)) {
+                return false; // Fallo en la unificación de argumentos
             }
-
-            return theta;
         }
-
-        // Si llegamos aquí, los términos no se pueden unificar
-        return null;
+        return true;
     }
 
-    private Map<String, Termino> unificarVariable(Termino var, Termino termino, Map<String, Termino> sustituciones) {
-        String varNombre = var.getNombre();
-
-        // Verificar si la variable ya tiene una sustitución
-        if (sustituciones.containsKey(varNombre)) {
-            return unificar(sustituciones.get(varNombre), termino, sustituciones);
+    private boolean unificarVariable(Termino var, Termino termino, Entorno entorno) {
+        // Dos apariciones de la misma variable libre
+        if (termino.esVariable() && termino.getNombre().equals(var.getNombre())) {
+            return true;
         }
 
-        if (ocurreEn(var, termino)) {
-            return null; // No se puede unificar (ciclo infinito)
+        if (ocurreEn(var, termino, entorno)) {
+            return false; // No se puede unificar (ciclo infinito)
         }
 
-        // Crear nueva sustitución
-        Map<String, Termino> resultado = new HashMap<>(sustituciones);
-        resultado.put(varNombre, termino);
-        return resultado;
+        entorno.ligar(entorno.celda(var.getNombre()), termino);
+        return true;
+    }
+
+    // Sigue la cadena de ligaduras hasta un término que no es una variable ligada
+    private Termino desreferenciar(Termino termino, Entorno entorno) {
+        while (termino.esVariable()) {
+            Celda celda = entorno.celdas.get(termino.getNombre());
+            if (celda == null || celda.valor == null) {
+                break;
+            }
+            termino = celda.valor;
+        }
+        return termino;
     }
 
-    private boolean ocurreEn(Termino var, Termino termino) {
+    private boolean ocurreEn(Termino var, Termino termino, Entorno entorno) {
+        termino = desreferenciar(termino, entorno);
         if (termino.esVariable()) {
             return termino.getNombre().equals(var.getNombre());
         }
 
         // Buscar recursivamente en los argumentos
         for (Termino arg : termino.getArgumentos()) {
-            if (ocurreEn(var, arg)) {
+            if (ocurreEn(var, arg, entorno)) {
                 return true;
             }
         }
@@ -187,27 +245,26 @@ public class Unificador {
         return false;
     }
 
-    private Termino aplicarSustituciones(Termino termino, Map<String, Termino> sustituciones) {
-        // Si es una variable y tiene sustitución
-        if (termino.esVariable() && sustituciones.containsKey(termino.getNombre())) {
-            return sustituciones.get(termino.getNombre());
+    // Construye el término con las ligaduras aplicadas; los subtérminos que no cambian se comparten
+    private Termino aplicarSustituciones(Termino termino, Entorno entorno) {
+        termino = desreferenciar(termino, entorno);
+        if (!termino.tieneArgumentos()) {
+            return termino;
         }
 
-        // Si es un término compuesto, aplicar sustituciones a los argumentos
-        if (termino.tieneArgumentos()) {
-            List<Termino> nuevosArgs = new ArrayList<>();
-            for (Termino arg : termino.getArgumentos()) {
-                nuevosArgs.add(aplicarSustituciones(arg, sustituciones));
+        List<Termino> nuevosArgs = null;
+        for (int i = 0; i < termino.getArgumentos().size(); i++) {
+            Termino arg = termino.getArgumentos().get(i);
+            Termino sustituido = aplicarSustituciones(arg, entorno);
+            if (sustituido != arg && nuevosArgs == null) {
+                nuevosArgs = new ArrayList<>(termino.getArgumentos().subList(0, i));
+            }
+            if (nuevosArgs != null) {
+                nuevosArgs.add(sustituido);
             }
-
-            // Crear nuevo término con los argumentos sustituidos
-            Termino nuevoTermino = new Termino(termino.getNombre() + "()");
-            nuevoTermino.argumentos = nuevosArgs;
-            return nuevoTermino;
         }
 
-        // Si no es variable o no tiene sustitución, devolver el mismo término
-        return termino;
+        return nuevosArgs == null ? termino : new Termino(termino.getNombre(), nuevosArgs);
     }
 
     //Convierte un mapa de sustituciones de Términos a un mapa de Strings para uso en el motor
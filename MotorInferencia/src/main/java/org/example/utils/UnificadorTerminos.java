@@ -0,0 +1,211 @@
+package org.example.utils;
+
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+
+import java.util.Map;
+
+// Unificación sobre términos compilados: los símbolos se comparan como enteros y los
+// términos internados por identidad, sin volver a analizar strings. El camino rápido liga las
+// variables en un arreglo con rastro (Ligaduras) y se deshace al terminar; la versión con mapas
+// queda para los llamadores que necesitan guardar la sustitución
+public class UnificadorTerminos {
+    private final ThreadLocal<Ligaduras> ligaduras = ThreadLocal.withInitial(Ligaduras::new);
+
+    public Ligaduras ligadurasDelHilo() {
+        return ligaduras.get();
+    }
+
+    // Devuelve la sustitución (variable -> término) o null si no se pueden unificar
+    public Map<Termino, Termino> unificar(Termino t1, Termino t2) {
+        Ligaduras actuales = ligadurasDelHilo();
+        int marca = actuales.marca();
+        if (!unificar(t1, t2, actuales)) {
+            return null;
+        }
+        Map<Termino, Termino> sustituciones = actuales.aMapa(marca);
+        actuales.deshacer(marca);
+        return sustituciones;
+    }
+
+    // Liga en 'ligaduras' lo necesario para unificar; si falla las deja como estaban
+    public boolean unificar(Termino t1, Termino t2, Ligaduras ligaduras) {
+        return unificar(t1, 0, t2, 0, ligaduras);
+    }
+
+    // Unifica leyendo las variables de cada término en su propio lado: la misma variable x en
+    // los lados 0 y 1 son dos variables distintas
+    public boolean unificar(Termino t1, int lado1, Termino t2, int lado2, Ligaduras ligaduras) {
+        int marca = ligaduras.marca();
+        if (unificarEn(t1, lado1, t2, lado2, ligaduras)) {
+            return true;
+        }
+        ligaduras.deshacer(marca);
+        return false;
+    }
+
+    private boolean unificarEn(Termino t1, int lado1, Termino t2, int lado2, Ligaduras ligaduras) {
+        t1 = ligaduras.desreferenciar(t1, lado1);
+        lado1 = ligaduras.getLadoDesreferenciado();
+        t2 = ligaduras.desreferenciar(t2, lado2);
+        lado2 = ligaduras.getLadoDesreferenciado();
+
+        // Términos internados: idénticos si y solo si son la misma instancia (y, si tienen
+        // variables, están en el mismo lado)
+        if (t1 == t2 && (lado1 == lado2 || t1.esBase())) {
+            return true;
+        }
+
+        if (t1.esVariable()) {
+            return ligar(t1, lado1, t2, lado2, ligaduras);
+        }
+
+        if (t2.esVariable()) {
+            return ligar(t2, lado2, t1, lado1, ligaduras);
+        }
+
+        // Mismo functor y mismo número de argumentos
+        if (t1.getSimbolo() != t2.getSimbolo() || t1.aridad() != t2.aridad()) {
+            return false;
+        }
+
+        for (int i = 0; i < t1.aridad(); i++) {
+            if (!unificarEn(t1.argumento(i), lado1, t2.argumento(i), lado2, ligaduras)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean ligar(Termino variable, int lado, Termino termino, int ladoTermino, Ligaduras ligaduras) {
+        if (ocurreEn(variable, lado, termino, ladoTermino, ligaduras)) {
+            return false; // No se puede unificar (ciclo infinito)
+        }
+        ligaduras.ligar(variable, lado, termino, ladoTermino);
+        return true;
+    }
+
+    private boolean ocurreEn(Termino variable, int lado, Termino termino, int ladoTermino, Ligaduras ligaduras) {
+        termino = ligaduras.desreferenciar(termino, ladoTermino);
+        ladoTermino = ligaduras.getLadoDesreferenciado();
+        if (termino == variable && ladoTermino == lado) {
+            return true;
+        }
+        if (termino.esBase()) {
+            return false;
+        }
+        for (int i = 0; i < termino.aridad(); i++) {
+            if (ocurreEn(variable, lado, termino.argumento(i), ladoTermino, ligaduras)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Termino resolverVariable(Termino termino, Map<Termino, Termino> sustituciones) {
+        while (termino.esVariable()) {
+            Termino valor = sustituciones.get(termino);
+            if (valor == null) {
+                break;
+            }
+            termino = valor;
+        }
+        return termino;
+    }
+
+    // Aplica las ligaduras actuales; los subtérminos sin variables ligadas se reutilizan tal cual,
+    // así que solo se construyen (e internan) los términos que realmente cambian
+    public Termino aplicar(Termino termino, Ligaduras ligaduras) {
+        if (ligaduras.estaVacia()) {
+            return termino;
+        }
+        return aplicar(termino, 0, ligaduras, false);
+    }
+
+    public Literal aplicar(Literal literal, Ligaduras ligaduras) {
+        Termino atomo = aplicar(literal.getAtomo(), ligaduras);
+        return atomo == literal.getAtomo() ? literal : new Literal(atomo, literal.isNegado());
+    }
+
+    // Aplica las ligaduras leyendo el literal en su lado y cambia cada variable libre por la del
+    // banco que le toca (?0, ?1, ... en orden de aparición, ver Ligaduras.olvidarRenombres), de
+    // modo que la cláusula resultante tiene sus propias variables
+    public Literal renombrarAparte(Literal literal, int lado, Ligaduras ligaduras) {
+        Termino atomo = aplicar(literal.getAtomo(), lado, ligaduras, true);
+        return atomo == literal.getAtomo() ? literal : new Literal(atomo, literal.isNegado());
+    }
+
+    // Lo mismo para un término suelto, con la misma numeración de variables que los literales ya
+    // renombrados (por ejemplo el valor de una variable en la sustitución de un paso de prueba)
+    public Termino renombrarAparte(Termino termino, int lado, Ligaduras ligaduras) {
+        return aplicar(termino, lado, ligaduras, true);
+    }
+
+    private Termino aplicar(Termino termino, int lado, Ligaduras ligaduras, boolean renombrar) {
+        if (termino.esBase()) {
+            return termino;
+        }
+
+        if (termino.esVariable()) {
+            Termino valor = ligaduras.desreferenciar(termino, lado);
+            int ladoValor = ligaduras.getLadoDesreferenciado();
+            if (valor.esVariable()) {
+                return renombrar ? ligaduras.renombrar(valor, ladoValor) : valor;
+            }
+            return aplicar(valor, ladoValor, ligaduras, renombrar);
+        }
+
+        Termino[] argumentos = null;
+        for (int i = 0; i < termino.aridad(); i++) {
+            Termino original = termino.argumento(i);
+            Termino sustituido = aplicar(original, lado, ligaduras, renombrar);
+            if (sustituido != original && argumentos == null) {
+                argumentos = copiarPrefijo(termino, i);
+            }
+            if (argumentos != null) {
+                argumentos[i] = sustituido;
+            }
+        }
+
+        // Si ningún argumento cambió se reutiliza el mismo término
+        return argumentos == null ? termino : Termino.compuesto(termino.getSimbolo(), argumentos);
+    }
+
+    public Termino aplicar(Termino termino, Map<Termino, Termino> sustituciones) {
+        if (termino.esBase() || sustituciones.isEmpty()) {
+            return termino;
+        }
+
+        if (termino.esVariable()) {
+            Termino valor = resolverVariable(termino, sustituciones);
+            return valor == termino ? termino : aplicar(valor, sustituciones);
+        }
+
+        Termino[] argumentos = null;
+        for (int i = 0; i < termino.aridad(); i++) {
+            Termino original = termino.argumento(i);
+            Termino sustituido = aplicar(original, sustituciones);
+            if (sustituido != original && argumentos == null) {
+                argumentos = copiarPrefijo(termino, i);
+            }
+            if (argumentos != null) {
+                argumentos[i] = sustituido;
+            }
+        }
+
+        return argumentos == null ? termino : Termino.compuesto(termino.getSimbolo(), argumentos);
+    }
+
+    public Literal aplicar(Literal literal, Map<Termino, Termino> sustituciones) {
+        Termino atomo = aplicar(literal.getAtomo(), sustituciones);
+        return atomo == literal.getAtomo() ? literal : new Literal(atomo, literal.isNegado());
+    }
+
+    private static Termino[] copiarPrefijo(Termino termino, int hasta) {
+        Termino[] argumentos = new Termino[termino.aridad()];
+        for (int j = 0; j < hasta; j++) {
+            argumentos[j] = termino.argumento(j);
+        }
+        return argumentos;
+    }
+}
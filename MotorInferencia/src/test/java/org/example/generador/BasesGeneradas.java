@@ -0,0 +1,60 @@
+package org.example.generador;
+
+import org.example.inferencia.ResultadoConsulta;
+import org.example.model.BaseConocimiento;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Comparación de métodos de consulta sobre bases generadas, compartida por las pruebas de cada
+// método: todos tienen que dar la misma respuesta cuando terminan
+public final class BasesGeneradas {
+
+    // Responde una consulta con cada uno de los métodos que se comparan, sobre la misma base
+    public interface Metodos {
+        List<ResultadoConsulta.Respuesta> responder(String consulta);
+    }
+
+    private BasesGeneradas() {
+    }
+
+    // Para cada semilla genera una base (60 hechos, 15 reglas de Horn y las cláusulas disyuntivas
+    // pedidas) y 8 consultas. DESCONOCIDO (presupuesto agotado) no se compara, porque los
+    // presupuestos no cuentan lo mismo en cada método; falla si ninguna consulta pudo compararse
+    public static void coincidenLasRespuestas(int semillas, int clausulasDisyuntivas,
+                                              Function<BaseConocimiento, Metodos> metodos) {
+        int comparadas = 0;
+        for (long semilla = 1; semilla <= semillas; semilla++) {
+            ParametrosGenerador parametros = new ParametrosGenerador();
+            parametros.setSemilla(semilla);
+            parametros.setHechos(60);
+            parametros.setReglasHorn(15);
+            parametros.setClausulasDisyuntivas(clausulasDisyuntivas);
+            GeneradorBases generador = new GeneradorBases(parametros);
+            Metodos sobreLaBase = metodos.apply(generador.generar());
+
+            for (String consulta : generador.consultas(8)) {
+                List<ResultadoConsulta.Respuesta> respuestas = sobreLaBase.responder(consulta);
+                ResultadoConsulta.Respuesta definida = null;
+                int definidas = 0;
+                for (ResultadoConsulta.Respuesta respuesta : respuestas) {
+                    if (respuesta == ResultadoConsulta.Respuesta.DESCONOCIDO) {
+                        continue;
+                    }
+                    if (definida == null) {
+                        definida = respuesta;
+                    }
+                    definidas++;
+                    assertEquals(definida, respuesta, "semilla " + semilla + ", " + consulta + ": " + respuestas);
+                }
+                if (definidas > 1) {
+                    comparadas++;
+                }
+            }
+        }
+        assertTrue(comparadas > 0, "Ninguna consulta terminó dentro del presupuesto en dos métodos");
+    }
+}
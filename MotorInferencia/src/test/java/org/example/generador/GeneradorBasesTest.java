@@ -0,0 +1,56 @@
+package org.example.generador;
+
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneradorBasesTest {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\?\\w+");
+
+    private static Set<String> variables(Hecho hecho) {
+        Set<String> variables = new HashSet<>();
+        Matcher matcher = VARIABLE.matcher(hecho.getNombre());
+        while (matcher.find()) {
+            variables.add(matcher.group());
+        }
+        return variables;
+    }
+
+    // Con premisas unarias ?v0 puede no aparecer en el cuerpo; la conclusión no debe usarla
+    @Test
+    void todasLasReglasGeneradasSonSeguras() {
+        for (long semilla = 1; semilla <= 30; semilla++) {
+            ParametrosGenerador parametros = new ParametrosGenerador();
+            parametros.setSemilla(semilla);
+            parametros.setAridadMaxima(2);
+            BaseConocimiento base = new GeneradorBases(parametros).generar();
+            for (Regla regla : base.getReglas()) {
+                Set<String> enlazadas = new HashSet<>();
+                for (Hecho premisa : regla.getPremisas()) {
+                    enlazadas.addAll(variables(premisa));
+                }
+                assertTrue(enlazadas.containsAll(variables(regla.getConclusion())),
+                        "semilla " + semilla + ": " + regla);
+            }
+        }
+    }
+
+    @Test
+    void laMismaSemillaGeneraLaMismaBase() {
+        BaseConocimiento a = new GeneradorBases(new ParametrosGenerador()).generar();
+        BaseConocimiento b = new GeneradorBases(new ParametrosGenerador()).generar();
+        assertEquals(a.getHechos(), b.getHechos());
+        assertEquals(a.getReglas().toString(), b.getReglas().toString());
+        assertEquals(a.getClausulasDisyuntivas(), b.getClausulasDisyuntivas());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.indices;
+
+import org.example.inferencia.EstrategiaSeleccion;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceSubsuncionTest {
+
+    private static Clausula clausula(String... literales) {
+        return Compilador.clausula(List.of(literales));
+    }
+
+    @Test
+    void unaClausulaMasGeneralSubsumeASusInstancias() {
+        assertTrue(IndiceSubsuncion.subsume(clausula("P(?x)"), clausula("P(A)", "Q(B)")));
+        assertTrue(IndiceSubsuncion.subsume(clausula("P(?x, ?y)", "¬Q(?y)"), clausula("P(A, B)", "¬Q(B)", "R(C)")));
+        assertFalse(IndiceSubsuncion.subsume(clausula("P(?x, ?x)"), clausula("P(A, B)")));
+        assertFalse(IndiceSubsuncion.subsume(clausula("P(A)", "Q(B)"), clausula("P(A)")));
+    }
+
+    // Sin factorización, dos literales de C no pueden ir a parar al mismo literal de D
+    @Test
+    void laImagenDeLosLiteralesEsInyectiva() {
+        Clausula dada = clausula("¬P7(?v0)", "¬P7(?v1)");
+        Clausula resolvente = clausula("¬P1(?v1, ?v2)", "¬P7(?v0)");
+        assertFalse(IndiceSubsuncion.subsume(dada, resolvente));
+        assertFalse(IndiceSubsuncion.subsume(clausula("P(?x)", "P(?y)"), clausula("P(A)", "Q(A)")));
+        assertTrue(IndiceSubsuncion.subsume(clausula("P(?x)", "P(?y)"), clausula("P(A)", "P(B)")));
+
+        IndiceSubsuncion indice = new IndiceSubsuncion();
+        indice.agregar(dada);
+        assertFalse(indice.estaSubsumida(resolvente));
+        assertTrue(indice.subsumidasPor(resolvente).isEmpty());
+    }
+
+    @Test
+    void laSubsuncionHaciaAtrasDevuelveCadaCandidataUnaVez() {
+        IndiceSubsuncion indice = new IndiceSubsuncion();
+        Clausula instancia = clausula("P(A)", "P(B)", "Q(C)");
+        indice.agregar(instancia);
+        indice.agregar(clausula("R(A)"));
+        assertEquals(List.of(instancia), indice.subsumidasPor(clausula("P(?x)")));
+        assertTrue(indice.estaSubsumida(clausula("P(A)", "P(B)", "Q(C)", "S(D)")));
+    }
+
+    // Caso reducido de una base generada (semilla 4): la consulta negada produce la cláusula dada
+    // [¬P7(?a), ¬P7(?b)], y su resolvente con P7 ← P1 se descartaba como subsumido por ella
+    @Test
+    void laRefutacionNoDescartaResolventesNecesarios() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P1(C9, C4)"));
+        base.agregarRegla(new Regla(new LinkedHashSet<>(List.of(new Hecho("P9(?y)"), new Hecho("P7(?z)"))),
+                new Hecho("P5(?x)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P7(?y)")), new Hecho("P9(?x)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P1(?x, ?y)")), new Hecho("P7(?x)")));
+
+        for (EstrategiaSeleccion estrategia : EstrategiaSeleccion.values()) {
+            for (boolean arena : new boolean[]{false, true}) {
+                MotorInferencia motor = new MotorInferencia(base);
+                motor.setEncadenamientoHaciaAtras(false);
+                motor.setEstrategia(estrategia);
+                motor.setArenaResolventes(arena);
+                assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("P5(C9)").getRespuesta(),
+                        estrategia + (arena ? " con arena" : " sin arena"));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.inferencia;
+
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BaseVersionadaTest {
+
+    private static Clausula hecho(int i) {
+        return Clausula.de(Compilador.literal("P(C" + i + ")"));
+    }
+
+    // La misma cláusula agregada dos veces necesita dos retiros
+    @Test
+    void lasClausulasRepetidasCuentanReferencias() {
+        Clausula c = hecho(1);
+        BaseCompilada base = new BaseCompilada(List.of(c, c, hecho(2)));
+        assertEquals(2, base.size());
+        base.retirar(c);
+        assertTrue(base.contiene(c));
+        base.retirar(c);
+        assertFalse(base.contiene(c));
+        assertEquals(1, base.size());
+    }
+
+    // Quien tomó una versión la sigue viendo igual aunque se publiquen otras
+    @Test
+    void unaVersionPublicadaNoCambia() {
+        BaseVersionada versionada = new BaseVersionada();
+        versionada.agregar(hecho(1));
+        VersionBase primera = versionada.actual();
+        versionada.agregar(hecho(2));
+        versionada.retirar(hecho(1));
+
+        assertEquals(Set.of(hecho(1)), primera.getClausulas().getClausulas());
+        assertEquals(Set.of(hecho(2)), versionada.actual().getClausulas().getClausulas());
+        assertTrue(versionada.actual().getNumero() > primera.getNumero());
+        assertThrows(IllegalStateException.class, () -> primera.getClausulas().agregar(hecho(3)));
+    }
+
+    // Con una versión por cláusula las capas se fusionan y quedan O(log n)
+    @Test
+    void lasCapasSeFusionanYQuedanPocas() {
+        BaseVersionada versionada = new BaseVersionada();
+        Set<Clausula> esperadas = new HashSet<>();
+        for (int i = 0; i < 1024; i++) {
+            versionada.agregar(hecho(i));
+            esperadas.add(hecho(i));
+            if (i % 3 == 0) {
+                versionada.retirar(hecho(i / 2));
+                esperadas.remove(hecho(i / 2));
+            }
+        }
+        BaseCompilada actual = versionada.actual().getClausulas();
+        assertTrue(actual.cantidadCapas() <= 12, versionada.actual().toString());
+        assertTrue(versionada.getFusiones() > 0);
+        assertEquals(esperadas, actual.getClausulas());
+        assertEquals(esperadas.size(), actual.size());
+        for (int i = 0; i < 1024; i++) {
+            assertEquals(esperadas.contains(hecho(i)), actual.contiene(hecho(i)), "P(C" + i + ")");
+        }
+    }
+
+    // Con cambiosPorVersion = 0 nada se ve hasta publicar
+    @Test
+    void losCambiosSePublicanPorTandas() {
+        BaseVersionada versionada = new BaseVersionada(new BaseCompilada(), 0);
+        versionada.agregar(hecho(1));
+        versionada.agregar(hecho(2));
+        assertEquals(0, versionada.actual().size());
+        assertEquals(2, versionada.getCambiosPendientes());
+        assertEquals(2, versionada.publicar().size());
+
+        versionada.agregar(hecho(3));
+        versionada.retirar(hecho(3));
+        VersionBase antes = versionada.actual();
+        assertEquals(antes, versionada.publicar()); // Los cambios se cancelaron
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.inferencia;
+
+import org.example.logica.Compilador;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheConsultasTest {
+
+    private static BaseConocimiento baseCon(String... hechos) {
+        BaseConocimiento base = new BaseConocimiento();
+        for (String hecho : hechos) {
+            base.agregarHecho(new Hecho(hecho));
+        }
+        return base;
+    }
+
+    @Test
+    void lasConsultasIgualesSalvoVariablesCompartenEntrada() {
+        BaseConocimiento base = new BaseConocimiento();
+        CacheConsultas cache = new CacheConsultas(10, false);
+        cache.guardar(base, Compilador.literal("P(?x, A, ?y)"), 3, true);
+        assertEquals(Boolean.TRUE, cache.buscar(base, Compilador.literal("P(?a, A, ?b)"), 3));
+        assertNull(cache.buscar(base, Compilador.literal("P(?a, A, ?a)"), 3));
+        assertNull(cache.buscar(base, Compilador.literal("P(?x, A, ?y)"), 4));
+    }
+
+    @Test
+    void desalojaLaEntradaUsadaHaceMasTiempo() {
+        BaseConocimiento base = new BaseConocimiento();
+        CacheConsultas cache = new CacheConsultas(2, false);
+        cache.guardar(base, Compilador.literal("P(A)"), 1, true);
+        cache.guardar(base, Compilador.literal("P(B)"), 1, true);
+        cache.buscar(base, Compilador.literal("P(A)"), 1);
+        cache.guardar(base, Compilador.literal("P(C)"), 1, false);
+        assertNull(cache.buscar(base, Compilador.literal("P(B)"), 1));
+        assertEquals(Boolean.TRUE, cache.buscar(base, Compilador.literal("P(A)"), 1));
+        assertEquals(1, cache.getDesalojos());
+    }
+
+    @Test
+    void losLemasSoloValenParaSuBaseYVersion() {
+        BaseConocimiento base = new BaseConocimiento();
+        CacheConsultas cache = new CacheConsultas(10, true);
+        cache.guardar(base, Compilador.literal("P(A)"), 5, true);
+        cache.guardar(base, Compilador.literal("P(?x)"), 5, true); // Con variables no es un lema
+        assertEquals(1, cache.lemas(base, 5).size());
+        assertTrue(cache.lemas(base, 6).isEmpty());
+        assertTrue(cache.lemas(new BaseConocimiento(), 5).isEmpty());
+    }
+
+    @Test
+    void unCambioEnLaBaseInvalidaLasRespuestas() {
+        BaseConocimiento base = baseCon("P(A)");
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setCache(new CacheConsultas(10, false));
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("P(A)").getRespuesta());
+        assertTrue(motor.consultar("P(A)").isDesdeCache());
+
+        base.retirarHecho(new Hecho("P(A)"));
+        ResultadoConsulta despues = motor.consultar("P(A)");
+        assertFalse(despues.isDesdeCache());
+        assertEquals(ResultadoConsulta.Respuesta.NO, despues.getRespuesta());
+    }
+
+    // Reemplazar el conjunto de hechos también cambia la versión
+    @Test
+    void reemplazarLosHechosInvalidaLasRespuestas() {
+        BaseConocimiento base = baseCon("P(A)");
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setCache(new CacheConsultas(10, true));
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("P(A)").getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.NO, motor.consultar("R(A)").getRespuesta());
+
+        base.setHechos(Set.of(new Hecho("R(A)")));
+        ResultadoConsulta despues = motor.consultar("P(A)");
+        assertFalse(despues.isDesdeCache());
+        assertEquals(ResultadoConsulta.Respuesta.NO, despues.getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("R(A)").getRespuesta());
+    }
+
+    // Dos bases distintas pueden tener la misma versión: la clave lleva también la base
+    @Test
+    void cambiarDeBaseNoDevuelveRespuestasDeLaAnterior() {
+        MotorInferencia motor = new MotorInferencia(baseCon("P(A)"));
+        motor.setCache(new CacheConsultas(10, true));
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("P(A)").getRespuesta());
+
+        motor.setBase(baseCon("Q(A)"));
+        ResultadoConsulta despues = motor.consultar("P(A)");
+        assertFalse(despues.isDesdeCache());
+        assertEquals(ResultadoConsulta.Respuesta.NO, despues.getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("Q(A)").getRespuesta());
+    }
+
+    // Una caché compartida por dos motores no devuelve a uno las respuestas del otro
+    @Test
+    void unaCacheCompartidaSeparaLasBases() {
+        BaseConocimiento conP = baseCon("P(A)");
+        BaseConocimiento conQ = baseCon("Q(A)");
+        assertEquals(conP.getVersion(), conQ.getVersion());
+        CacheConsultas cache = new CacheConsultas(10, true);
+        MotorInferencia primero = new MotorInferencia(conP);
+        MotorInferencia segundo = new MotorInferencia(conQ);
+        primero.setCache(cache);
+        segundo.setCache(cache);
+
+        assertEquals(ResultadoConsulta.Respuesta.SI, primero.consultar("P(A)").getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.NO, primero.consultar("Q(A)").getRespuesta());
+        ResultadoConsulta enElSegundo = segundo.consultar("P(A)");
+        assertFalse(enElSegundo.isDesdeCache());
+        assertEquals(ResultadoConsulta.Respuesta.NO, enElSegundo.getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.SI, segundo.consultar("Q(A)").getRespuesta());
+        assertTrue(primero.consultar("P(A)").isDesdeCache());
+    }
+}
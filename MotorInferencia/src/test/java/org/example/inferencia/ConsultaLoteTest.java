@@ -0,0 +1,43 @@
+package org.example.inferencia;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.model.BaseConocimiento;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConsultaLoteTest {
+
+    private static Presupuesto presupuesto() {
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setMaxIteraciones(0);
+        presupuesto.setMaxResoluciones(3000);
+        return presupuesto;
+    }
+
+    // Los lemas de la base no cambian la respuesta, y el lote en paralelo da lo mismo que en serie
+    @Test
+    void elLoteCoincideConLasConsultasSueltas() throws InterruptedException {
+        ParametrosGenerador parametros = new ParametrosGenerador();
+        parametros.setClausulasDisyuntivas(2);
+        GeneradorBases generador = new GeneradorBases(parametros);
+        BaseConocimiento base = generador.generar();
+        List<String> consultas = generador.consultas(8);
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setEncadenamientoHaciaAtras(false);
+
+        ResultadoLote enSerie = motor.consultarLote(consultas, presupuesto(), false);
+        ResultadoLote enParalelo = motor.consultarLote(consultas, presupuesto(), true);
+        for (int i = 0; i < consultas.size(); i++) {
+            ResultadoConsulta.Respuesta suelta = motor.consultar(consultas.get(i), presupuesto()).getRespuesta();
+            ResultadoConsulta.Respuesta deLote = enSerie.getResultados().get(i).getRespuesta();
+            assertEquals(deLote, enParalelo.getResultados().get(i).getRespuesta(), consultas.get(i));
+            if (suelta != ResultadoConsulta.Respuesta.DESCONOCIDO && deLote != ResultadoConsulta.Respuesta.DESCONOCIDO) {
+                assertEquals(suelta, deLote, consultas.get(i));
+            }
+        }
+    }
+}
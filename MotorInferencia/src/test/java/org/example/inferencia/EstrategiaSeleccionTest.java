@@ -0,0 +1,71 @@
+package org.example.inferencia;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EstrategiaSeleccionTest {
+
+    private static MotorInferencia motorGenerado(GeneradorBases generador) {
+        MotorInferencia motor = new MotorInferencia(generador.generar());
+        motor.setEncadenamientoHaciaAtras(false);
+        motor.getPresupuesto().setMaxIteraciones(0);
+        motor.getPresupuesto().setMaxResoluciones(3000);
+        return motor;
+    }
+
+    // La estrategia de una llamada no cambia la configurada, ni siquiera mientras dura la consulta
+    @Test
+    void laEstrategiaDeUnaConsultaNoCambiaLaDelMotor() throws Exception {
+        ParametrosGenerador parametros = new ParametrosGenerador();
+        parametros.setClausulasDisyuntivas(3);
+        GeneradorBases generador = new GeneradorBases(parametros);
+        MotorInferencia motor = motorGenerado(generador);
+        String consulta = generador.consultas(1).get(0);
+
+        ExecutorService hilos = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResultadoConsulta> otra = hilos.submit(() ->
+                    motor.consultar(consulta, EstrategiaSeleccion.DISTANCIA_META, motor.getPresupuesto()));
+            while (!otra.isDone()) {
+                assertEquals(EstrategiaSeleccion.ANTIGUEDAD, motor.getEstrategia());
+            }
+            otra.get();
+        } finally {
+            hilos.shutdown();
+        }
+        assertEquals(EstrategiaSeleccion.ANTIGUEDAD, motor.getEstrategia());
+        assertEquals(EstrategiaSeleccion.DISTANCIA_META, motor.getEstrategiaUsada());
+        assertEquals(1, motor.getEstadisticasSeleccion().get(EstrategiaSeleccion.DISTANCIA_META).getConsultas());
+    }
+
+    // Todas las estrategias responden lo mismo cuando terminan dentro del presupuesto
+    @Test
+    void lasEstrategiasCoincidenCuandoTerminan() {
+        ParametrosGenerador parametros = new ParametrosGenerador();
+        parametros.setHechos(60);
+        parametros.setReglasHorn(15);
+        parametros.setClausulasDisyuntivas(4);
+        GeneradorBases generador = new GeneradorBases(parametros);
+        MotorInferencia motor = motorGenerado(generador);
+        for (String consulta : generador.consultas(8)) {
+            ResultadoConsulta.Respuesta definida = null;
+            for (EstrategiaSeleccion estrategia : EstrategiaSeleccion.values()) {
+                ResultadoConsulta.Respuesta respuesta = motor.consultar(consulta, estrategia, motor.getPresupuesto()).getRespuesta();
+                if (respuesta == ResultadoConsulta.Respuesta.DESCONOCIDO) {
+                    continue;
+                }
+                if (definida == null) {
+                    definida = respuesta;
+                }
+                assertEquals(definida, respuesta, consulta + " con " + estrategia);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.inferencia;
+
+import org.example.generador.BasesGeneradas;
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// La saturación secuencial (con y sin arena) y la paralela (con uno y varios hilos) tienen que
+// dar la misma respuesta cuando terminan; DESCONOCIDO (presupuesto agotado) no se compara
+class ModosResolucionTest {
+
+    private static MotorInferencia motor(BaseConocimiento base, int modo) {
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setEncadenamientoHaciaAtras(false);
+        motor.setArenaResolventes(modo == 1);
+        motor.setModoParalelo(modo >= 2);
+        motor.setParalelismo(modo == 3 ? 3 : 1);
+        return motor;
+    }
+
+    private static List<ResultadoConsulta.Respuesta> respuestas(BaseConocimiento base, String consulta) {
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setMaxIteraciones(0);
+        presupuesto.setMaxResoluciones(3000);
+        List<ResultadoConsulta.Respuesta> respuestas = new ArrayList<>();
+        for (int modo = 0; modo < 4; modo++) {
+            respuestas.add(motor(base, modo).consultar(consulta, presupuesto).getRespuesta());
+        }
+        return respuestas;
+    }
+
+    @Test
+    void losModosCoincidenEnBasesGeneradas() {
+        BasesGeneradas.coincidenLasRespuestas(6, 4, base -> consulta -> respuestas(base, consulta));
+    }
+
+    // Caso reducido de la semilla 4: la saturación secuencial respondía NO y la paralela SI
+    @Test
+    void losModosCoincidenCuandoUnaClausulaDadaRepiteUnLiteral() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P1(C9, C4)"));
+        base.agregarRegla(new Regla(new LinkedHashSet<>(List.of(new Hecho("P9(?y)"), new Hecho("P7(?z)"))),
+                new Hecho("P5(?x)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P7(?y)")), new Hecho("P9(?x)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P1(?x, ?y)")), new Hecho("P7(?x)")));
+
+        for (ResultadoConsulta.Respuesta respuesta : respuestas(base, "P5(C9)")) {
+            assertEquals(ResultadoConsulta.Respuesta.SI, respuesta);
+        }
+    }
+
+    // El modo paralelo reusa su pool entre consultas y lo reemplaza si cambia el paralelismo
+    @Test
+    void elModoParaleloEsDeterministaEntreConsultasYHilos() {
+        GeneradorBases generador = new GeneradorBases(new ParametrosGenerador());
+        MotorInferencia motor = motor(generador.generar(), 3);
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setMaxIteraciones(0);
+        presupuesto.setMaxResoluciones(2000);
+        for (String consulta : generador.consultas(5)) {
+            motor.setParalelismo(3);
+            ResultadoConsulta conTres = motor.consultar(consulta, presupuesto);
+            motor.setParalelismo(1);
+            ResultadoConsulta conUno = motor.consultar(consulta, presupuesto);
+            assertEquals(conTres.getRespuesta(), conUno.getRespuesta(), consulta);
+            assertEquals(conTres.getResoluciones(), conUno.getResoluciones(), consulta);
+        }
+    }
+
+    // El presupuesto se revisa con cada resolvente incorporado, no al terminar la generación
+    @Test
+    void elModoParaleloNoSePasaDelPresupuesto() {
+        GeneradorBases generador = new GeneradorBases(new ParametrosGenerador());
+        MotorInferencia motor = motor(generador.generar(), 3);
+        motor.setTamanoGeneracion(64);
+        for (String consulta : generador.consultas(5)) {
+            Presupuesto presupuesto = new Presupuesto();
+            presupuesto.setMaxIteraciones(0);
+            presupuesto.setMaxResoluciones(50);
+            ResultadoConsulta resultado = motor.consultar(consulta, presupuesto);
+            assertTrue(resultado.getResoluciones() <= 50, consulta + ": " + resultado);
+
+            presupuesto.setMaxResoluciones(0);
+            presupuesto.setMaxClausulasVivas(motor.getBaseCompilada().size() + 20);
+            resultado = motor.consultar(consulta, presupuesto);
+            assertTrue(resultado.getMaximoClausulasVivas() <= presupuesto.getMaxClausulasVivas() + 1,
+                    consulta + ": " + resultado);
+        }
+    }
+}
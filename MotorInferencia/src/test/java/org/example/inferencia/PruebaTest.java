@@ -0,0 +1,64 @@
+package org.example.inferencia;
+
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PruebaTest {
+
+    private static Prueba probar(String consulta) {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("Padre(Ana, Luis)"));
+        base.agregarHecho(new Hecho("Padre(Luis, Eva)"));
+        base.agregarRegla(new Regla(Set.of(new Hecho("Padre(?x, ?y)"), new Hecho("Padre(?y, ?z)")),
+                new Hecho("Abuelo(?x, ?z)")));
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setRegistrarPruebas(true);
+        ResultadoConsulta resultado = motor.consultar(consulta);
+        assertEquals(ResultadoConsulta.Respuesta.SI, resultado.getRespuesta());
+        assertNotNull(resultado.getPrueba());
+        return resultado.getPrueba();
+    }
+
+    // Los padres de cada paso aparecen antes que él y el último paso es la cláusula vacía
+    @Test
+    void losPasosEstanOrdenadosYTerminanEnLaClausulaVacia() {
+        Prueba prueba = probar("Abuelo(Ana, Eva)");
+        List<Prueba.Paso> pasos = prueba.getPasos();
+        assertEquals(prueba.size(), pasos.size());
+        for (Prueba.Paso paso : pasos) {
+            if (paso.getOrigen() == Prueba.Origen.RESOLUCION) {
+                assertTrue(paso.getPadre1() < paso.getId() && paso.getPadre2() < paso.getId(), paso.toString());
+            }
+        }
+        assertEquals(Prueba.Origen.RESOLUCION, prueba.getConclusion().getOrigen());
+        assertEquals(pasos.size() - 1, prueba.getConclusion().getId());
+    }
+
+    @Test
+    void seSerializaConSusSustituciones() throws Exception {
+        Prueba prueba = probar("Abuelo(Ana, ?quien)");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream salida = new ObjectOutputStream(bytes)) {
+            salida.writeObject(prueba);
+        }
+        Prueba leida;
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            leida = (Prueba) entrada.readObject();
+        }
+        assertEquals(prueba.toString(), leida.toString());
+        assertEquals(prueba.getConclusion().getSustitucion1(), leida.getConclusion().getSustitucion1());
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.inferencia;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServicioConsultasTest {
+
+    // Refutar P(B) pide P(F(B)), que pide P(F(F(B))), ...: la consulta ocupa su turno hasta que vence
+    // el plazo
+    private static MotorInferencia motorSinFin() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P(A)"));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P(F(?x))")), new Hecho("P(?x)")));
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setEncadenamientoHaciaAtras(false); // Solo refutación, sin tablas
+        return motor;
+    }
+
+    private static Presupuesto conPlazo(long milisegundos) {
+        return Presupuesto.sinLimites().conPlazo(Duration.ofMillis(milisegundos));
+    }
+
+    // Cada consulta usa su propio contexto: resueltas a la vez responden lo mismo que una por una
+    @Test
+    void lasConsultasConcurrentesRespondenComoLasSecuenciales() throws Exception {
+        ParametrosGenerador parametros = new ParametrosGenerador();
+        parametros.setClausulasDisyuntivas(2);
+        GeneradorBases generador = new GeneradorBases(parametros);
+        MotorInferencia motor = new MotorInferencia(generador.generar());
+        Presupuesto presupuesto = Presupuesto.sinLimites();
+        presupuesto.setMaxResoluciones(3000);
+        motor.setPresupuesto(presupuesto);
+        List<String> consultas = generador.consultas(16);
+
+        try (ServicioConsultas servicio = new ServicioConsultas(motor, 4, consultas.size())) {
+            List<CompletableFuture<ResultadoConsulta>> futuros = new ArrayList<>();
+            for (String consulta : consultas) {
+                futuros.add(servicio.enviar(consulta));
+            }
+            for (int i = 0; i < consultas.size(); i++) {
+                ResultadoConsulta secuencial = motor.consultar(consultas.get(i));
+                ResultadoConsulta concurrente = futuros.get(i).get();
+                assertEquals(secuencial.getRespuesta(), concurrente.getRespuesta(), consultas.get(i));
+                assertEquals(secuencial.getResoluciones(), concurrente.getResoluciones(), consultas.get(i));
+            }
+            assertEquals(consultas.size(), servicio.getAtendidas());
+        }
+    }
+
+    // Con un turno y un lugar de espera ocupados, la tercera consulta se rechaza en el momento
+    @Test
+    void conLaColaLlenaLaConsultaSeRechaza() throws Exception {
+        try (ServicioConsultas servicio = new ServicioConsultas(motorSinFin(), 1, 1)) {
+            CompletableFuture<ResultadoConsulta> primera = servicio.enviar("P(B)", conPlazo(1500));
+            CompletableFuture<ResultadoConsulta> segunda = servicio.enviar("P(B)", conPlazo(1500));
+            CompletableFuture<ResultadoConsulta> tercera = servicio.enviar("P(A)", conPlazo(1500));
+
+            assertTrue(tercera.isCompletedExceptionally());
+            ExecutionException error = assertThrows(ExecutionException.class, tercera::get);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            assertEquals(1, servicio.getRechazadas());
+
+            assertEquals(ResultadoConsulta.Limite.PLAZO, primera.get().getLimite());
+            segunda.get();
+            assertEquals(0, servicio.getEnCurso());
+            assertEquals(ResultadoConsulta.Respuesta.SI, servicio.consultar("P(A)", conPlazo(1500)).getRespuesta());
+        }
+    }
+
+    // El plazo cuenta desde el envío: si vence mientras la consulta espera turno, no se resuelve
+    @Test
+    void elPlazoVenceMientrasEsperaTurno() throws Exception {
+        try (ServicioConsultas servicio = new ServicioConsultas(motorSinFin(), 1, 4)) {
+            CompletableFuture<ResultadoConsulta> ocupada = servicio.enviar("P(B)", conPlazo(800));
+            ResultadoConsulta vencida = servicio.consultar("P(A)", conPlazo(100));
+
+            assertEquals(ResultadoConsulta.Respuesta.DESCONOCIDO, vencida.getRespuesta());
+            assertEquals(ResultadoConsulta.Limite.PLAZO, vencida.getLimite());
+            assertEquals(0, vencida.getResoluciones());
+            assertTrue(vencida.getNanosegundos() >= Duration.ofMillis(100).toNanos());
+            assertEquals(1, servicio.getVencidas());
+            assertEquals(ResultadoConsulta.Limite.PLAZO, ocupada.get().getLimite());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.lenguaje;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.logica.Literal;
+import org.example.model.BaseConocimiento;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CargadorBaseTest {
+
+    private static final String CRIMEN = """
+            # Es un crimen que un americano venda armas a naciones hostiles
+            ∀x,y,z Americano(x) ∧ Arma(y) ∧ Hostil(z) ∧ Vende(x, y, z) ⇒ Criminal(x)
+            ∃x[Posee(Nono, x) ∧ Misil(x)] ⇒ Hostil(Nono)
+            Posee(Nono, M1) ∧ Misil(M1)
+            ∀x Misil(x) ∧ Posee(Nono, x) ⇒ Vende(West, x, Nono)
+            ∀x Misil(x) ⇒ Arma(x)
+            forall x: Enemigo(x, America) => Hostil(x)
+
+            Americano(West).
+            Enemigo(Nono, America)   // la nación de Nono
+            """;
+
+    private static ResultadoConsulta.Respuesta consultar(BaseConocimiento base, String consulta) {
+        return new MotorInferencia(base).consultar(consulta).getRespuesta();
+    }
+
+    @Test
+    void cargaLaBaseDelCrimen() throws Exception {
+        BaseConocimiento base = new BaseConocimiento();
+        ResultadoCarga carga = CargadorBase.cargar(new StringReader(CRIMEN), DestinoCarga.de(base));
+        assertEquals(10, carga.getLineas());
+        assertEquals(4, carga.getHechos()); // La conjunción son dos hechos
+        assertEquals(5, carga.getReglas());
+        assertEquals(ResultadoConsulta.Respuesta.SI, consultar(base, "Criminal(West)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, consultar(base, "Criminal(Nono)"));
+    }
+
+    // Las formas ASCII y las Unicode dan las mismas cláusulas
+    @Test
+    void lasFormasAsciiEquivalenALasUnicode() {
+        BaseConocimiento unicode = CargadorBase.leer("∀x Romano(x) ⇒ (Leal(x, Cesar) ∨ Odia(x, Cesar))\n" +
+                "∀x,y Hombre(x) ∧ Gobernante(y) ⇒ ¬Leal(x, y)");
+        BaseConocimiento ascii = CargadorBase.leer("forall x: Romano(x) => (Leal(x, Cesar) | Odia(x, Cesar))\n" +
+                "forall x, y: Hombre(x) & Gobernante(y) => ~Leal(x, y)");
+        assertEquals(BaseCompilada.de(unicode).getClausulas(), BaseCompilada.de(ascii).getClausulas());
+        assertEquals(1, ascii.getClausulasDisyuntivas().size());
+    }
+
+    // Una conclusión conjuntiva son varias reglas con las mismas premisas
+    @Test
+    void unaConclusionConjuntivaSonVariasReglas() throws Exception {
+        List<Literal> conclusiones = new ArrayList<>();
+        ResultadoCarga carga = CargadorBase.cargar(new StringReader("∀x Gato(x) ⇒ Animal(x) ∧ Felino(x)"),
+                new DestinoCarga() {
+                    @Override
+                    public void hecho(Literal hecho) {
+                    }
+
+                    @Override
+                    public void regla(List<Literal> premisas, Literal conclusion) {
+                        assertEquals(1, premisas.size());
+                        conclusiones.add(conclusion);
+                    }
+
+                    @Override
+                    public void disyuncion(List<Literal> literales) {
+                    }
+                });
+        assertEquals(2, carga.getReglas());
+        assertEquals(2, conclusiones.size());
+    }
+
+    @Test
+    void losErroresIndicanLaLinea() {
+        IllegalArgumentException sobrante = assertThrows(IllegalArgumentException.class,
+                () -> CargadorBase.leer("Gato(Tuna)\nGato(Tuna) Perro(Rex)"));
+        assertTrue(sobrante.getMessage().startsWith("Línea 2"), sobrante.getMessage());
+
+        IllegalArgumentException caracter = assertThrows(IllegalArgumentException.class,
+                () -> CargadorBase.leer("\n\nGato(Tuna) $"));
+        assertTrue(caracter.getMessage().startsWith("Línea 3"), caracter.getMessage());
+    }
+
+    // ∃ en posición positiva necesitaría skolemizar: se rechaza
+    @Test
+    void rechazaLoQueNecesitaSkolemizar() {
+        assertThrows(IllegalArgumentException.class, () -> CargadorBase.leer("∀x Persona(x) ⇒ ∃y Madre(y, x)"));
+    }
+}
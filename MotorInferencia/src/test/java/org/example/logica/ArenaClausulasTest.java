@@ -0,0 +1,73 @@
+package org.example.logica;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArenaClausulasTest {
+
+    private static int[] codigos(ArenaClausulas arena, Literal... literales) {
+        int[] codigos = new int[literales.length];
+        for (int k = 0; k < literales.length; k++) {
+            codigos[k] = arena.codigo(literales[k]);
+        }
+        return codigos;
+    }
+
+    @Test
+    void losLiteralesIdenticosSeJuntanComoEnClausula() {
+        ArenaClausulas arena = new ArenaClausulas();
+        Literal p = Compilador.literal("¬P(?x)");
+        Literal q = Compilador.literal("Q(A, ?x)");
+
+        int posicion = arena.agregar(codigos(arena, p, q, p), 3);
+        assertTrue(posicion >= 0);
+        assertEquals(2, arena.cantidadLiterales(posicion));
+        assertEquals(Clausula.de(p, q, p), arena.clausula(posicion));
+    }
+
+    // Dos literales que unifican pero no son idénticos no se factorizan
+    @Test
+    void losLiteralesQueSoloUnificanQuedanLosDos() {
+        ArenaClausulas arena = new ArenaClausulas();
+        Literal px = Compilador.literal("¬P(?x)");
+        Literal py = Compilador.literal("¬P(?y)");
+
+        int posicion = arena.agregar(codigos(arena, px, py), 2);
+        assertEquals(2, arena.cantidadLiterales(posicion));
+        assertEquals(Clausula.de(px, py), arena.clausula(posicion));
+    }
+
+    @Test
+    void unaClausulaRepetidaDevuelveLaPosicionOriginal() {
+        ArenaClausulas arena = new ArenaClausulas();
+        Literal p = Compilador.literal("P(A)");
+        Literal q = Compilador.literal("¬Q(?x, B)");
+
+        int posicion = arena.agregar(codigos(arena, p, q), 2);
+        assertEquals(-posicion - 1, arena.agregar(codigos(arena, q, p, q), 3));
+        assertEquals(posicion, arena.buscar(codigos(arena, q, p), 2));
+        assertEquals(-1, arena.buscar(codigos(arena, p), 1));
+        assertEquals(1, arena.size());
+    }
+
+    // Muchas cláusulas: las tablas se redimensionan y las páginas crecen sin perder ninguna
+    @Test
+    void conservaTodasLasClausulasAlCrecer() {
+        ArenaClausulas arena = new ArenaClausulas();
+        int cantidad = 20_000;
+        int[] posiciones = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            Literal a = Compilador.literal("P(C" + i + ")");
+            Literal b = Compilador.literal("¬Q(C" + (i % 7) + ", ?x)");
+            posiciones[i] = arena.agregar(codigos(arena, a, b), 2);
+        }
+        assertEquals(cantidad, arena.size());
+        for (int i = 0; i < cantidad; i += 997) {
+            Literal a = Compilador.literal("P(C" + i + ")");
+            Literal b = Compilador.literal("¬Q(C" + (i % 7) + ", ?x)");
+            assertEquals(Clausula.de(a, b), arena.clausula(posiciones[i]));
+        }
+    }
+}
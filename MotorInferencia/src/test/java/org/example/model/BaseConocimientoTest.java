@@ -0,0 +1,96 @@
+package org.example.model;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.BaseVersionada;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.logica.Clausula;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BaseConocimientoTest {
+
+    private static ResultadoConsulta.Respuesta respuesta(MotorInferencia motor, String consulta) {
+        return motor.consultar(consulta).getRespuesta();
+    }
+
+    @Test
+    void losGettersNoPermitenModificarLaBase() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P(A)"));
+        assertThrows(UnsupportedOperationException.class, () -> base.getHechos().add(new Hecho("Q(A)")));
+        assertThrows(UnsupportedOperationException.class, () -> base.getReglas().clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> base.getClausulasDisyuntivas().add(Set.of("P(?x)", "Q(?x)")));
+    }
+
+    @Test
+    void lasClausulasDisyuntivasSeCopian() {
+        BaseConocimiento base = new BaseConocimiento();
+        Set<String> clausula = new HashSet<>(List.of("¬P(?x)", "Q(?x)", "R(?x)"));
+        base.agregarClausulasDisyuntivas(Set.of(clausula));
+        clausula.add("S(?x)");
+        assertEquals(Set.of(Set.of("¬P(?x)", "Q(?x)", "R(?x)")), base.getClausulasDisyuntivas());
+    }
+
+    // Reemplazar un conjunto completo llega a los oyentes: la base compilada y la red Rete del
+    // motor, y una base versionada
+    @Test
+    void reemplazarLosConjuntosAvisaALosOyentes() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P(A)"));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P(?x)")), new Hecho("Q(?x)")));
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setEncadenamientoHaciaAtras(false);
+        BaseVersionada versionada = BaseVersionada.de(base);
+        assertEquals(ResultadoConsulta.Respuesta.SI, respuesta(motor, "Q(A)"));
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultarPorEncadenamiento("Q(A)").getRespuesta());
+
+        long version = base.getVersion();
+        base.setHechos(Set.of(new Hecho("R(A)")));
+        assertTrue(base.getVersion() > version);
+        assertEquals(ResultadoConsulta.Respuesta.NO, respuesta(motor, "P(A)"));
+        assertEquals(ResultadoConsulta.Respuesta.SI, respuesta(motor, "R(A)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, respuesta(motor, "Q(A)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, motor.consultarPorEncadenamiento("Q(A)").getRespuesta());
+
+        base.setReglas(Set.of(new Regla(Set.of(new Hecho("R(?x)")), new Hecho("Q(?x)"))));
+        assertEquals(ResultadoConsulta.Respuesta.SI, respuesta(motor, "Q(A)"));
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultarPorEncadenamiento("Q(A)").getRespuesta());
+
+        base.setClausulasDisyuntivas(Set.of(Set.of("¬R(?x)", "S(?x)", "T(?x)")));
+        base.setClausulasDisyuntivas(Set.of());
+        Set<Clausula> esperadas = BaseCompilada.de(base).getClausulas();
+        assertEquals(esperadas, motor.getBaseCompilada().getClausulas());
+        assertEquals(esperadas, versionada.actual().getClausulas().getClausulas());
+    }
+
+    // Retirar un hecho retira lo que solo se derivaba de él, pero no lo que tiene otra derivación
+    @Test
+    void retirarUnHechoRetiraSusConsecuencias() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("Arista(A, B)"));
+        base.agregarHecho(new Hecho("Arista(B, C)"));
+        base.agregarHecho(new Hecho("Arista(A, C)"));
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(?x, ?y)")), new Hecho("Camino(?x, ?y)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(?x, ?y)"), new Hecho("Camino(?y, ?z)")),
+                new Hecho("Camino(?x, ?z)")));
+        MotorInferencia motor = new MotorInferencia(base);
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultarPorEncadenamiento("Camino(A, C)").getRespuesta());
+
+        base.retirarHecho(new Hecho("Arista(B, C)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, motor.consultarPorEncadenamiento("Camino(B, C)").getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultarPorEncadenamiento("Camino(A, C)").getRespuesta());
+
+        base.retirarHecho(new Hecho("Arista(A, C)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, motor.consultarPorEncadenamiento("Camino(A, C)").getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultarPorEncadenamiento("Camino(A, B)").getRespuesta());
+    }
+}
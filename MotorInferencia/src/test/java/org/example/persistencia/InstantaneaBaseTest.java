@@ -0,0 +1,108 @@
+package org.example.persistencia;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.lenguaje.CargadorBase;
+import org.example.lenguaje.ResultadoCarga;
+import org.example.logica.Clausula;
+import org.example.model.BaseConocimiento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstantaneaBaseTest {
+
+    private static BaseConocimiento generada() {
+        ParametrosGenerador parametros = new ParametrosGenerador();
+        parametros.setClausulasDisyuntivas(3);
+        return new GeneradorBases(parametros).generar();
+    }
+
+    @Test
+    void guardarYAbrirConservaLasClausulas(@TempDir Path directorio) throws IOException {
+        BaseConocimiento base = generada();
+        Path archivo = directorio.resolve("base.kb");
+        InstantaneaBase.guardar(base, archivo);
+
+        InstantaneaBase instantanea = InstantaneaBase.abrir(archivo);
+        // Una cláusula por sentencia de la base; dos reglas iguales se escriben dos veces, y al
+        // abrirla la base compilada las junta
+        assertEquals(base.getHechos().size() + base.getReglas().size() + base.getClausulasDisyuntivas().size(),
+                instantanea.cantidadClausulas());
+        assertEquals(BaseCompilada.de(base).getClausulas(), instantanea.aBaseCompilada().getClausulas());
+        assertEquals(Files.size(archivo), instantanea.tamano());
+    }
+
+    // El índice de predicados devuelve exactamente las cláusulas que los usan
+    @Test
+    void buscaLasClausulasDeUnPredicado(@TempDir Path directorio) throws IOException {
+        BaseConocimiento base = generada();
+        Path archivo = directorio.resolve("base.kb");
+        InstantaneaBase.guardar(base, archivo);
+        InstantaneaBase instantanea = InstantaneaBase.abrir(archivo);
+
+        Set<Clausula> esperadas = new HashSet<>();
+        for (Clausula clausula : BaseCompilada.de(base).getClausulas()) {
+            if (clausula.toString().contains("P7(")) {
+                esperadas.add(clausula);
+            }
+        }
+        List<Clausula> encontradas = instantanea.clausulasConPredicado("P7");
+        assertEquals(esperadas, new HashSet<>(encontradas));
+        assertEquals(esperadas.size(), encontradas.size());
+        assertTrue(instantanea.clausulasConPredicado("NoExiste").isEmpty());
+    }
+
+    // Un motor sobre la instantánea responde como uno sobre la base; con una disyuntiva la red
+    // Rete no puede responder NO por ausencia
+    @Test
+    void unMotorSobreLaInstantaneaRespondeIgual(@TempDir Path directorio) throws IOException {
+        Path fuente = directorio.resolve("base.txt");
+        Files.writeString(fuente, """
+                Gato(Tuna)
+                ∀x Gato(x) ⇒ Animal(x)
+                ∀x Animal(x) ⇒ (Perro(x) ∨ Felino(x))
+                """);
+        Path archivo = directorio.resolve("base.kb");
+        ResultadoCarga carga = InstantaneaBase.convertir(fuente, archivo);
+        assertEquals(1, carga.getHechos());
+
+        MotorInferencia desdeTexto = new MotorInferencia(CargadorBase.leer(Files.readString(fuente)));
+        MotorInferencia desdeArchivo = new MotorInferencia(InstantaneaBase.abrir(archivo));
+        for (String consulta : List.of("Animal(Tuna)", "Perro(Tuna)", "¬Perro(Tuna)", "Gato(Rex)")) {
+            assertEquals(desdeTexto.consultar(consulta).getRespuesta(), desdeArchivo.consultar(consulta).getRespuesta(),
+                    consulta);
+        }
+        assertEquals(ResultadoConsulta.Respuesta.SI, desdeArchivo.consultarPorEncadenamiento("Animal(Tuna)").getRespuesta());
+        assertEquals(ResultadoConsulta.Respuesta.DESCONOCIDO,
+                desdeArchivo.consultarPorEncadenamiento("Felino(Tuna)").getRespuesta());
+    }
+
+    @Test
+    void rechazaArchivosQueNoSonInstantaneas(@TempDir Path directorio) throws IOException {
+        Path basura = directorio.resolve("basura.kb");
+        Files.write(basura, new byte[256]);
+        assertThrows(IOException.class, () -> InstantaneaBase.abrir(basura));
+
+        Path archivo = directorio.resolve("base.kb");
+        InstantaneaBase.guardar(generada(), archivo);
+        byte[] completo = Files.readAllBytes(archivo);
+        Path truncado = directorio.resolve("truncado.kb");
+        Files.write(truncado, Arrays.copyOf(completo, completo.length - 8));
+        assertThrows(IOException.class, () -> InstantaneaBase.abrir(truncado));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.rete;
+
+import org.example.generador.BasesGeneradas;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.Presupuesto;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedReteTest {
+
+    private static ResultadoConsulta.Respuesta encadenamiento(MotorInferencia motor, String consulta) {
+        return motor.consultarPorEncadenamiento(consulta).getRespuesta();
+    }
+
+    @Test
+    void unaConsultaConVariablesBuscaCualquierInstancia() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P(A, B)"));
+        base.agregarRegla(new Regla(Set.of(new Hecho("P(?x, ?y)")), new Hecho("Q(?y, ?x)")));
+        MotorInferencia motor = new MotorInferencia(base);
+        assertEquals(ResultadoConsulta.Respuesta.SI, encadenamiento(motor, "Q(?u, A)"));
+        assertEquals(ResultadoConsulta.Respuesta.SI, encadenamiento(motor, "Q(?u, ?v)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, encadenamiento(motor, "Q(?u, ?u)"));
+        assertEquals(ResultadoConsulta.Respuesta.NO, encadenamiento(motor, "Q(A, ?v)"));
+    }
+
+    // P(?x) ← Q(?y) no deriva ninguna conclusión base, pero la base implica P(B)
+    @Test
+    void unaReglaInseguraHaceLaRedIncompleta() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("Q(A)"));
+        Regla insegura = new Regla(Set.of(new Hecho("Q(?y)")), new Hecho("P(?x)"));
+        base.agregarRegla(insegura);
+        MotorInferencia motor = new MotorInferencia(base);
+        assertFalse(motor.getRed().esCompleta());
+        ResultadoConsulta resultado = motor.consultarPorEncadenamiento("P(B)");
+        assertEquals(ResultadoConsulta.Respuesta.DESCONOCIDO, resultado.getRespuesta());
+        assertEquals(ResultadoConsulta.Limite.FUERA_DE_LA_RED, resultado.getLimite());
+        assertEquals(ResultadoConsulta.Respuesta.SI, motor.consultar("P(B)").getRespuesta());
+
+        base.retirarRegla(insegura);
+        assertTrue(motor.getRed().esCompleta());
+        assertEquals(ResultadoConsulta.Respuesta.NO, encadenamiento(motor, "P(B)"));
+    }
+
+    @Test
+    void lasClausulasDisyuntivasHacenLaRedIncompleta() {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarHecho(new Hecho("P(A)"));
+        Set<String> disyuntiva = Set.of("¬P(?x)", "Q(?x)", "R(?x)");
+        base.agregarClausulasDisyuntivas(Set.of(disyuntiva));
+        MotorInferencia motor = new MotorInferencia(base);
+        assertEquals(ResultadoConsulta.Respuesta.DESCONOCIDO, encadenamiento(motor, "Q(A)"));
+        assertEquals(ResultadoConsulta.Respuesta.SI, encadenamiento(motor, "P(A)"));
+
+        base.retirarClausulaDisyuntiva(disyuntiva);
+        assertEquals(ResultadoConsulta.Respuesta.NO, encadenamiento(motor, "Q(A)"));
+    }
+
+    // En bases de Horn la red completa y la refutación responden lo mismo
+    @Test
+    void laRedCoincideConLaRefutacion() {
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setMaxIteraciones(0);
+        presupuesto.setMaxResoluciones(5000);
+        BasesGeneradas.coincidenLasRespuestas(8, 0, base -> {
+            MotorInferencia motor = new MotorInferencia(base);
+            motor.setEncadenamientoHaciaAtras(false);
+            assertTrue(motor.getRed().esCompleta());
+            return consulta -> List.of(motor.consultar(consulta, presupuesto).getRespuesta(),
+                    encadenamiento(motor, consulta));
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.sld;
+
+import org.example.generador.BasesGeneradas;
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.Presupuesto;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.logica.Compilador;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MotorSLDTest {
+
+    // Camino(?x, ?z) sobre una cadena de aristas N0 -> N1 -> ... -> N(largo)
+    private static BaseConocimiento cadena(int largo) {
+        BaseConocimiento base = new BaseConocimiento();
+        for (int i = 0; i < largo; i++) {
+            base.agregarHecho(new Hecho("Arista(N" + i + ", N" + (i + 1) + ")"));
+        }
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(?x, ?y)")), new Hecho("Camino(?x, ?y)")));
+        base.agregarRegla(new Regla(new LinkedHashSet<>(List.of(new Hecho("Arista(?x, ?y)"), new Hecho("Camino(?y, ?z)"))),
+                new Hecho("Camino(?x, ?z)")));
+        return base;
+    }
+
+    private static MotorSLD motor(BaseConocimiento base) {
+        return new MotorSLD(BaseCompilada.de(base).getClausulas());
+    }
+
+    private static ResultadoConsulta.Respuesta consultar(MotorSLD motor, String consulta, Presupuesto presupuesto) {
+        return motor.consultar(Compilador.literal(consulta), presupuesto).getRespuesta();
+    }
+
+    // La recursión por la derecha termina gracias a las tablas, también cuando la respuesta es NO
+    @Test
+    void lasReglasRecursivasTerminan() {
+        MotorSLD motor = motor(cadena(30));
+        assertEquals(ResultadoConsulta.Respuesta.SI, consultar(motor, "Camino(N0, N30)", Presupuesto.sinLimites()));
+        assertEquals(ResultadoConsulta.Respuesta.NO, consultar(motor, "Camino(N30, N0)", Presupuesto.sinLimites()));
+        assertEquals(ResultadoConsulta.Respuesta.NO, consultar(motor, "Camino(?x, ?x)", Presupuesto.sinLimites()));
+    }
+
+    // Una consulta que se detiene al encontrar la respuesta deja trabajo pendiente; la siguiente
+    // no lo hereda ni lo paga con su presupuesto
+    @Test
+    void elPresupuestoSoloCuentaElTrabajoDeLaConsulta() {
+        BaseConocimiento base = cadena(200);
+        base.agregarHecho(new Hecho("Nodo(N5)"));
+        MotorSLD motor = motor(base);
+        assertEquals(ResultadoConsulta.Respuesta.SI, consultar(motor, "Camino(?x, ?y)", Presupuesto.sinLimites()));
+
+        Presupuesto corto = Presupuesto.sinLimites();
+        corto.setMaxResoluciones(5);
+        assertEquals(ResultadoConsulta.Respuesta.SI, consultar(motor, "Nodo(N5)", corto));
+        assertEquals(ResultadoConsulta.Respuesta.NO, consultar(motor, "Nodo(N6)", corto));
+    }
+
+    // Después de agotar el presupuesto, las tablas incompletas no dan respuestas equivocadas
+    @Test
+    void agotarElPresupuestoNoDejaTablasInconsistentes() {
+        MotorSLD motor = motor(cadena(40));
+        Presupuesto corto = Presupuesto.sinLimites();
+        corto.setMaxResoluciones(10);
+        assertEquals(ResultadoConsulta.Respuesta.DESCONOCIDO, consultar(motor, "Camino(N0, X)", corto));
+        assertEquals(ResultadoConsulta.Respuesta.NO, consultar(motor, "Camino(N0, X)", Presupuesto.sinLimites()));
+        assertEquals(ResultadoConsulta.Respuesta.SI, consultar(motor, "Camino(N3, N40)", Presupuesto.sinLimites()));
+    }
+
+    // En bases de Horn el encadenamiento hacia atrás y la refutación responden lo mismo
+    @Test
+    void elEncadenamientoHaciaAtrasCoincideConLaRefutacion() {
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setMaxIteraciones(0);
+        presupuesto.setMaxResoluciones(5000);
+        BasesGeneradas.coincidenLasRespuestas(8, 0, base -> {
+            MotorInferencia refutacion = new MotorInferencia(base);
+            refutacion.setEncadenamientoHaciaAtras(false);
+            MotorSLD sld = motor(base);
+            return consulta -> List.of(refutacion.consultar(consulta, presupuesto).getRespuesta(),
+                    consultar(sld, consulta, presupuesto));
+        });
+    }
+}
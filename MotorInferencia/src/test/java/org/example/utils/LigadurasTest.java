@@ -0,0 +1,86 @@
+package org.example.utils;
+
+import org.example.logica.Compilador;
+import org.example.logica.Simbolos;
+import org.example.logica.Termino;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LigadurasTest {
+
+    private final UnificadorTerminos unificador = new UnificadorTerminos();
+
+    private static Termino termino(String expresion) {
+        return Compilador.termino(expresion);
+    }
+
+    @Test
+    void deshacerLiberaSoloLoLigadoDespuesDeLaMarca() {
+        Ligaduras ligaduras = new Ligaduras();
+        assertTrue(unificador.unificar(termino("P(x, B)"), termino("P(A, B)"), ligaduras));
+        int marca = ligaduras.marca();
+        assertTrue(unificador.unificar(termino("Q(y)"), termino("Q(C)"), ligaduras));
+        assertSame(termino("C"), ligaduras.valor(termino("y")));
+
+        ligaduras.deshacer(marca);
+        assertNull(ligaduras.valor(termino("y")));
+        assertSame(termino("A"), ligaduras.valor(termino("x")));
+
+        ligaduras.deshacer(0);
+        assertNull(ligaduras.valor(termino("x")));
+        assertTrue(ligaduras.estaVacia());
+    }
+
+    // Si falla a mitad de camino, lo que se alcanzó a ligar se deshace
+    @Test
+    void unaUnificacionFallidaNoDejaLigaduras() {
+        Ligaduras ligaduras = new Ligaduras();
+        assertFalse(unificador.unificar(termino("P(x, x)"), termino("P(A, B)"), ligaduras));
+        assertFalse(unificador.unificar(termino("P(x)"), termino("P(F(x))"), ligaduras));
+        assertTrue(ligaduras.estaVacia());
+        assertNull(ligaduras.valor(termino("x")));
+    }
+
+    @Test
+    void aplicarReutilizaLosSubterminosQueNoCambian() {
+        Ligaduras ligaduras = new Ligaduras();
+        Termino original = termino("P(F(B), x)");
+        assertSame(original, unificador.aplicar(original, ligaduras));
+
+        assertTrue(unificador.unificar(termino("x"), termino("G(y)"), ligaduras));
+        assertTrue(unificador.unificar(termino("y"), termino("A"), ligaduras));
+        Termino aplicado = unificador.aplicar(original, ligaduras);
+        assertSame(termino("P(F(B), G(A))"), aplicado);
+        assertSame(original.argumento(0), aplicado.argumento(0));
+    }
+
+    // La versión con mapas devuelve la sustitución y deja limpias las ligaduras del hilo
+    @Test
+    void elAdaptadorConMapasNoDejaLigadurasEnElHilo() {
+        Map<Termino, Termino> sustitucion = unificador.unificar(termino("P(x, B)"), termino("P(A, y)"));
+        assertEquals(Map.of(termino("x"), termino("A"), termino("y"), termino("B")), sustitucion);
+        assertNull(unificador.unificar(termino("P(A)"), termino("P(B)")));
+        assertTrue(unificador.ligadurasDelHilo().estaVacia());
+    }
+
+    // Las casillas se indexan por el índice denso de la variable: internar muchas constantes no
+    // agranda los arreglos de un hilo nuevo
+    @Test
+    void lasCasillasNoDependenDeLosSimbolosInternados() {
+        for (int i = 0; i < 100_000; i++) {
+            Simbolos.id("Constante" + i);
+        }
+        Termino nueva = Compilador.termino("?recienCreada");
+        Ligaduras ligaduras = new Ligaduras();
+        assertTrue(unificador.unificar(nueva, termino("A"), ligaduras));
+        assertSame(termino("A"), ligaduras.valor(nueva));
+        assertTrue(ligaduras.casillas() < 10_000, "casillas: " + ligaduras.casillas());
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.utils;
+
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnificadorTerminosTest {
+
+    private final UnificadorTerminos unificador = new UnificadorTerminos();
+
+    private static Termino termino(String expresion) {
+        return Compilador.termino(expresion);
+    }
+
+    // La misma variable en lados distintos son dos variables: P(x, A) y P(B, x) unifican
+    @Test
+    void cadaLadoTieneSusPropiasVariables() {
+        Ligaduras ligaduras = new Ligaduras();
+        assertFalse(unificador.unificar(termino("P(x, A)"), 0, termino("P(B, x)"), 0, ligaduras));
+        assertTrue(unificador.unificar(termino("P(x, A)"), 0, termino("P(B, x)"), 1, ligaduras));
+        assertSame(termino("B"), ligaduras.valor(termino("x"), 0));
+        assertSame(termino("A"), ligaduras.valor(termino("x"), 1));
+    }
+
+    // Las variables libres del resolvente pasan al banco (?0, ?1, ...) en orden de aparición,
+    // sin importar de qué lado venían
+    @Test
+    void renombrarAparteUsaElBancoEnOrdenDeAparicion() {
+        Ligaduras ligaduras = new Ligaduras();
+        assertTrue(unificador.unificar(termino("P(x, y)"), 0, termino("P(y, x)"), 1, ligaduras));
+        Literal primero = unificador.renombrarAparte(Compilador.literal("Q(y, z)"), 0, ligaduras);
+        Literal segundo = unificador.renombrarAparte(Compilador.literal("¬R(z, x)"), 1, ligaduras);
+        assertEquals("Q(?0, ?1)", primero.toString());
+        assertEquals("¬R(?2, ?0)", segundo.toString());
+
+        ligaduras.olvidarRenombres();
+        assertEquals("Q(?0)", unificador.renombrarAparte(Compilador.literal("Q(z)"), 1, ligaduras).toString());
+        ligaduras.deshacer(0);
+        ligaduras.olvidarRenombres();
+    }
+
+    @Test
+    void unLiteralSinVariablesNoSeReconstruye() {
+        Ligaduras ligaduras = new Ligaduras();
+        Literal base = Compilador.literal("P(A, F(B))");
+        assertSame(base, unificador.renombrarAparte(base, 1, ligaduras));
+        assertNull(ligaduras.valor(termino("x"), 1));
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UnificadorTest {
+
+    private final Unificador unificador = new Unificador();
+
+    // El unificador se devuelve resuelto: ninguna variable ligada aparece en los valores
+    @Test
+    void devuelveElUnificadorResuelto() {
+        assertEquals(Map.of("x", "A", "y", "A"), unificador.unificarExpresiones("P(x, y)", "P(y, A)"));
+        assertEquals(Map.of("x", "F(B)", "y", "B"), unificador.unificarExpresiones("P(x, F(y))", "P(F(B), x)"));
+        assertEquals(Map.of(), unificador.unificarExpresiones("P(A)", "P(A)"));
+    }
+
+    @Test
+    void noUnificaSiLosTerminosChocan() {
+        assertNull(unificador.unificarExpresiones("P(A)", "P(B)"));
+        assertNull(unificador.unificarExpresiones("P(A)", "Q(A)"));
+        assertNull(unificador.unificarExpresiones("P(A, B)", "P(A)"));
+        assertNull(unificador.unificarExpresiones("P(x, x)", "P(A, B)"));
+    }
+
+    @Test
+    void laComprobacionDeOcurrenciaEvitaTerminosInfinitos() {
+        assertNull(unificador.unificarExpresiones("P(x)", "P(F(x))"));
+        assertNull(unificador.unificarExpresiones("P(x, y)", "P(F(y), F(x))"));
+    }
+
+    // Las ligaduras de una llamada (y las de una que falló) no pasan a la siguiente
+    @Test
+    void cadaLlamadaEmpiezaSinLigaduras() {
+        assertNull(unificador.unificarExpresiones("P(x, x)", "P(A, B)"));
+        assertEquals(Map.of("x", "B"), unificador.unificarExpresiones("P(x)", "P(B)"));
+        assertEquals(Map.of("x", "C"), unificador.unificarExpresiones("P(x)", "P(C)"));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.Main;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+
+import java.util.Set;
+
+// Bases de conocimiento de los benchmarks: los tres ejemplos de Main y bases sintéticas de
+// alcanzabilidad en un grafo (aristas i -> i+1 e i -> i+2) de tamaño creciente
+public enum BaseEjemplo {
+    MARCO("Odia(Marco, Cesar)", 0),
+    JACK("Ama(Jack, Tuna)", 0),
+    WEST("Criminal(West)", 0),
+    SINTETICA_100(null, 100),
+    SINTETICA_1000(null, 1000);
+
+    private final String consulta;
+    private final int nodos;
+
+    BaseEjemplo(String consulta, int nodos) {
+        this.consulta = consulta;
+        this.nodos = nodos;
+    }
+
+    public String consulta() {
+        return consulta != null ? consulta : "Camino(N0, N" + (nodos - 1) + ")";
+    }
+
+    public BaseConocimiento crear() {
+        return switch (this) {
+            case MARCO -> Main.crearBaseMarcoYCesar();
+            case JACK -> Main.crearBaseJackAnimales();
+            case WEST -> Main.crearBaseCrimenNono();
+            default -> crearAlcanzabilidad(nodos);
+        };
+    }
+
+    static BaseConocimiento crearAlcanzabilidad(int nodos) {
+        BaseConocimiento base = new BaseConocimiento();
+        for (int i = 0; i < nodos; i++) {
+            for (int salto = 1; salto <= 2 && i + salto < nodos; salto++) {
+                base.agregarHecho(new Hecho("Arista(N" + i + ", N" + (i + salto) + ")"));
+            }
+            base.agregarHecho(new Hecho("Nodo(N" + i + ")"));
+        }
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(x, y)")), new Hecho("Camino(x, y)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(x, y)"), new Hecho("Camino(y, z)")),
+                new Hecho("Camino(x, z)")));
+        return base;
+    }
+}
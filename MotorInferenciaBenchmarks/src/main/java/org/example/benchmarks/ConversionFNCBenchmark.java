@@ -0,0 +1,56 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.MotorInferencia;
+import org.example.model.BaseConocimiento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Conversión de la base a FNC: vista de strings, cláusulas compiladas y base compilada con índices
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionFNCBenchmark {
+    @Param({"MARCO", "JACK", "WEST", "SINTETICA_100", "SINTETICA_1000"})
+    private BaseEjemplo base;
+
+    private BaseConocimiento conocimiento;
+    private MotorInferencia motor;
+
+    @Setup
+    public void preparar() {
+        conocimiento = base.crear();
+        motor = new MotorInferencia(conocimiento);
+    }
+
+    @Benchmark
+    public Set<Set<String>> convertirAFNC() {
+        return motor.convertirAFNC();
+    }
+
+    @Benchmark
+    public List<?> compilarFNC() {
+        return motor.compilarFNC();
+    }
+
+    @Benchmark
+    public BaseCompilada baseCompilada() {
+        return BaseCompilada.de(conocimiento);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Punto de entrada de benchmarks.jar: acepta las opciones normales de JMH y agrega siempre el
+// perfilador de asignaciones (-prof gc) y el reporte JSON en target/jmh-resultados.json
+public class EjecutarBenchmarks {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        if (linea.shouldHelp()) {
+            linea.showHelp();
+            return;
+        }
+        if (linea.shouldList()) {
+            new Runner(linea).list();
+            return;
+        }
+
+        Options opciones = new OptionsBuilder()
+                .parent(linea)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-resultados.json")
+                .build();
+        new Runner(opciones).run();
+    }
+}
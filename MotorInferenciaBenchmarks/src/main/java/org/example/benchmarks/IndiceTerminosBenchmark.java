@@ -0,0 +1,127 @@
+package org.example.benchmarks;
+
+import org.example.indices.ArbolDiscriminacion;
+import org.example.logica.Simbolos;
+import org.example.logica.Termino;
+import org.example.utils.UnificadorTerminos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Árbol de discriminación frente al recorrido lineal con unificación sobre átomos aleatorios
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndiceTerminosBenchmark {
+    private static final int PREDICADOS = 20;
+    private static final int CONSTANTES = 200;
+    private static final int CONSULTAS = 2000;
+
+    @Param({"1000", "10000", "50000"})
+    private int tamano;
+
+    private final UnificadorTerminos unificador = new UnificadorTerminos();
+    private List<Termino> terminos;
+    private List<Termino> consultas;
+    private ArbolDiscriminacion<Termino> arbol;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        terminos = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            terminos.add(generarAtomo(random));
+        }
+        consultas = new ArrayList<>(CONSULTAS);
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultas.add(generarAtomo(random));
+        }
+        arbol = insertar();
+    }
+
+    @Benchmark
+    public ArbolDiscriminacion<Termino> insertar() {
+        ArbolDiscriminacion<Termino> nuevo = new ArbolDiscriminacion<>();
+        for (Termino termino : terminos) {
+            nuevo.insertar(termino, termino);
+        }
+        return nuevo;
+    }
+
+    @Benchmark
+    public int recorridoLineal() {
+        int unifican = 0;
+        for (Termino consulta : consultas) {
+            for (Termino termino : terminos) {
+                if (unificador.unificar(consulta, termino) != null) {
+                    unifican++;
+                }
+            }
+        }
+        return unifican;
+    }
+
+    @Benchmark
+    public int arbolUnificables() {
+        int unifican = 0;
+        for (Termino consulta : consultas) {
+            for (Termino termino : arbol.unificables(consulta)) {
+                if (unificador.unificar(consulta, termino) != null) {
+                    unifican++;
+                }
+            }
+        }
+        return unifican;
+    }
+
+    @Benchmark
+    public void arbolGeneralizaciones(Blackhole bh) {
+        for (Termino consulta : consultas) {
+            bh.consume(arbol.generalizaciones(consulta));
+        }
+    }
+
+    @Benchmark
+    public void arbolInstancias(Blackhole bh) {
+        for (Termino consulta : consultas) {
+            bh.consume(arbol.instancias(consulta));
+        }
+    }
+
+    private static Termino generarAtomo(Random random) {
+        int aridad = 1 + random.nextInt(3);
+        Termino[] argumentos = new Termino[aridad];
+        for (int i = 0; i < aridad; i++) {
+            argumentos[i] = generarArgumento(random, 1);
+        }
+        return Termino.compuesto(Simbolos.id("P" + random.nextInt(PREDICADOS)), argumentos);
+    }
+
+    private static Termino generarArgumento(Random random, int profundidad) {
+        int tipo = random.nextInt(10);
+        if (tipo < 2) {
+            return Termino.variable(Simbolos.id(new String[]{"x", "y", "z"}[random.nextInt(3)]));
+        }
+        if (tipo < 4 && profundidad > 0) {
+            return Termino.compuesto(Simbolos.id("f"), generarArgumento(random, profundidad - 1));
+        }
+        return Termino.constante(Simbolos.id("C" + random.nextInt(CONSTANTES)));
+    }
+}
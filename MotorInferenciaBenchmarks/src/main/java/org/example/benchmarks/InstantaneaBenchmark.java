@@ -0,0 +1,64 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.persistencia.InstantaneaBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Arranque: armar la base en código y compilarla contra abrir una instantánea guardada de la
+// misma base (solo el mapeo) y compilarla desde el archivo. El Compilador recuerda los literales
+// ya analizados, así que en esta medición en caliente el camino desde el modelo no paga el
+// análisis de los strings que sí paga en un arranque en frío
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantaneaBenchmark {
+    @Param({"WEST", "SINTETICA_100", "SINTETICA_1000"})
+    private BaseEjemplo base;
+
+    private Path archivo;
+
+    @Setup
+    public void preparar() throws IOException {
+        archivo = Files.createTempFile("instantanea", ".bin");
+        InstantaneaBase.guardar(base.crear(), archivo);
+    }
+
+    @TearDown
+    public void terminar() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public BaseCompilada compilarDesdeModelo() {
+        return BaseCompilada.de(base.crear());
+    }
+
+    @Benchmark
+    public InstantaneaBase abrir() throws IOException {
+        return InstantaneaBase.abrir(archivo);
+    }
+
+    @Benchmark
+    public BaseCompilada compilarDesdeInstantanea() throws IOException {
+        return InstantaneaBase.abrir(archivo).aBaseCompilada();
+    }
+}
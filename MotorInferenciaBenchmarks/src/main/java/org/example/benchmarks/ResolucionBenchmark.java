@@ -0,0 +1,85 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.MotorInferencia;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Resolución: todos los pares de cláusulas de la base con resolverClausulasConUnificacion y la
+// refutación completa de la consulta de cada base, tanto con la lista de cláusulas (que se indexa
+// en cada llamada) como con la base compilada que mantiene el motor. resolverEnrutado usa la
+// misma consulta con el enrutado por defecto (encadenamiento hacia atrás si la consulta es de
+// Horn), vaciando las tablas en cada llamada para no medir solo respuestas memorizadas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolucionBenchmark {
+    @Param({"MARCO", "JACK", "WEST", "SINTETICA_100", "SINTETICA_1000"})
+    private BaseEjemplo base;
+
+    private MotorInferencia motor;
+    private MotorInferencia motorEnrutado;
+    private List<Clausula> clausulas;
+    private Set<Set<String>> clausulasTexto;
+    private Literal consulta;
+
+    @Setup
+    public void preparar() {
+        motor = new MotorInferencia(base.crear());
+        motor.setEncadenamientoHaciaAtras(false);
+        motorEnrutado = new MotorInferencia(motor.getBase());
+        clausulas = motor.compilarFNC();
+        clausulasTexto = motor.convertirAFNC();
+        consulta = Compilador.literal(base.consulta());
+        motor.getBaseCompilada();
+    }
+
+    @Benchmark
+    public void resolverClausulasConUnificacion(Blackhole bh) {
+        for (int i = 0; i < clausulas.size(); i++) {
+            for (int j = i + 1; j < clausulas.size(); j++) {
+                bh.consume(motor.resolverClausulasConUnificacion(clausulas.get(i), clausulas.get(j)));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean resolverCompilado() throws Exception {
+        return motor.resolver(clausulas, consulta);
+    }
+
+    @Benchmark
+    public boolean resolverTexto() throws Exception {
+        return motor.resolver(clausulasTexto, base.consulta());
+    }
+
+    @Benchmark
+    public boolean resolverBaseMantenida() throws Exception {
+        return motor.resolver(base.consulta());
+    }
+
+    @Benchmark
+    public boolean resolverEnrutado() throws Exception {
+        motorEnrutado.getMotorSLD().limpiarTablas();
+        return motorEnrutado.resolver(base.consulta());
+    }
+}
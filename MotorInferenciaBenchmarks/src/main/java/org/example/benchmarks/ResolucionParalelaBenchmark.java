@@ -0,0 +1,54 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.MotorInferencia;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+import org.example.logica.Literal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Escalabilidad del modo paralelo de resolución según la cantidad de hilos del ForkJoinPool.
+// Elegir los hilos desde la línea de comandos con -p hilos=1,2,4,...
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolucionParalelaBenchmark {
+    @Param({"100", "400"})
+    private int nodos;
+
+    @Param({"1", "2", "4", "8"})
+    private int hilos;
+
+    private MotorInferencia motor;
+    private List<Clausula> clausulas;
+    private Literal consulta;
+
+    @Setup
+    public void preparar() {
+        clausulas = new MotorInferencia(BaseEjemplo.crearAlcanzabilidad(nodos)).compilarFNC();
+        consulta = Compilador.literal("Camino(N0, N" + (nodos - 1) + ")");
+        motor = new MotorInferencia();
+        motor.setModoParalelo(true);
+        motor.setParalelismo(hilos);
+    }
+
+    @Benchmark
+    public boolean resolver() throws Exception {
+        return motor.resolver(clausulas, consulta);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.BaseCompilada;
+import org.example.lenguaje.CargadorBase;
+import org.example.lenguaje.DestinoCarga;
+import org.example.lenguaje.ResultadoCarga;
+import org.example.model.BaseConocimiento;
+import org.example.persistencia.InstantaneaBase;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Ritmo de carga del lenguaje de reglas: escribe un archivo de hechos (aristas de un grafo más
+// las reglas de alcanzabilidad) y lo carga en la base de conocimiento, directamente en una base
+// compilada y convertido a instantánea, informando hechos por segundo. La primera pasada de
+// cada destino incluye el calentamiento de la JVM.
+// Ejecutar con: java -cp target/benchmarks.jar org.example.benchmarks.SuiteCarga [hechos] [pasadas]
+public class SuiteCarga {
+    public static void main(String[] args) throws Exception {
+        int hechos = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int pasadas = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path fuente = Path.of("target", "carga.txt");
+        Path instantanea = Path.of("target", "carga.bin");
+        Files.createDirectories(fuente.getParent());
+        escribirGrafo(fuente, hechos);
+        System.out.println(">> " + hechos + " hechos en " + fuente.toAbsolutePath() + " (" +
+                Files.size(fuente) / 1024 + " KB)");
+
+        for (int pasada = 1; pasada <= pasadas; pasada++) {
+            ResultadoCarga modelo = CargadorBase.cargar(fuente, new BaseConocimiento());
+            System.out.println(">> Pasada " + pasada + ", base de conocimiento: " + modelo);
+            ResultadoCarga compilada = CargadorBase.cargar(fuente, DestinoCarga.de(new BaseCompilada()));
+            System.out.println(">> Pasada " + pasada + ", base compilada:       " + compilada);
+            ResultadoCarga convertida = InstantaneaBase.convertir(fuente, instantanea);
+            System.out.println(">> Pasada " + pasada + ", instantánea:          " + convertida);
+        }
+    }
+
+    private static void escribirGrafo(Path archivo, int hechos) throws Exception {
+        try (BufferedWriter salida = Files.newBufferedWriter(archivo)) {
+            salida.write("# Alcanzabilidad en un grafo de " + hechos + " aristas\n");
+            salida.write("∀x ∀y Arista(x, y) ⇒ Camino(x, y)\n");
+            salida.write("∀x ∀y ∀z Arista(x, y) ∧ Camino(y, z) ⇒ Camino(x, z)\n");
+            for (int i = 0; i < hechos; i++) {
+                salida.write("Arista(N" + i + ", N" + (i * 7L + 1) % hechos + ")\n");
+            }
+        }
+    }
+}
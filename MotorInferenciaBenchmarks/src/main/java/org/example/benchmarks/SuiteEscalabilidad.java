@@ -0,0 +1,126 @@
+package org.example.benchmarks;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.model.BaseConocimiento;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Suite de escalabilidad sobre bases sintéticas que crecen al doble en cada paso. Por tamaño
+// registra tiempo de compilación y de consulta, memoria (bytes asignados por el hilo y heap
+// retenido por la base compilada) y resoluciones, y se detiene cuando un paso supera el límite
+// de tiempo. El resultado se escribe además en target/escalabilidad.csv.
+// Ejecutar con: java -cp target/benchmarks.jar org.example.benchmarks.SuiteEscalabilidad [maxFactor] [consultas] [limiteSegundos]
+public class SuiteEscalabilidad {
+    private static final String CABECERA = "factor,clausulas,compilacion_ms,consulta_ms,resoluciones,vivas_max," +
+            "asignado_kb,heap_base_kb,si,no,limite";
+
+    public static void main(String[] args) throws Exception {
+        int maxFactor = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int cantidadConsultas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long limite = (args.length > 2 ? Long.parseLong(args[2]) : 60) * 1_000_000_000L;
+
+        ParametrosGenerador parametros = new ParametrosGenerador();
+        parametros.setClausulasDisyuntivas(5);
+
+        Path salida = Path.of("target", "escalabilidad.csv");
+        Files.createDirectories(salida.getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(salida))) {
+            csv.println(CABECERA);
+            System.out.println(">> Base de referencia (factor 1): " + parametros);
+            System.out.printf(">> %6s %9s %10s %10s %12s %9s %12s %10s %s%n", "factor", "cláusulas", "compilar",
+                    "consulta", "resoluciones", "vivas", "asignado", "heap base", "SÍ/NO/LÍMITE");
+
+            for (int factor = 1; factor <= maxFactor; factor *= 2) {
+                Medicion medicion = medir(parametros.escalado(factor), cantidadConsultas);
+                csv.println(medicion.aCsv(factor));
+                csv.flush();
+                System.out.printf(">> %6d %9d %8.2fms %8.2fms %12.1f %9.1f %10dKB %8dKB %d/%d/%d%n", factor,
+                        medicion.clausulas, medicion.compilacion / 1e6, medicion.consulta / 1e6,
+                        medicion.resoluciones, medicion.vivasMaximas, medicion.asignado / 1024,
+                        medicion.heapBase / 1024, medicion.si, medicion.no, medicion.limite);
+
+                if (medicion.compilacion + medicion.consulta * cantidadConsultas > limite) {
+                    System.out.println(">> Límite de tiempo superado en el factor " + factor + ", se detiene la suite");
+                    break;
+                }
+            }
+        }
+        System.out.println(">> Resultados en " + salida.toAbsolutePath());
+    }
+
+    private static Medicion medir(ParametrosGenerador parametros, int cantidadConsultas) {
+        GeneradorBases generador = new GeneradorBases(parametros);
+        BaseConocimiento base = generador.generar();
+        List<String> consultas = generador.consultas(cantidadConsultas);
+        Medicion medicion = new Medicion();
+
+        long heapAntes = heapUsado();
+        long asignadoAntes = bytesAsignados();
+        long inicio = System.nanoTime();
+        MotorInferencia motor = new MotorInferencia(base);
+        BaseCompilada compilada = motor.getBaseCompilada();
+        medicion.compilacion = System.nanoTime() - inicio;
+        medicion.heapBase = Math.max(0, heapUsado() - heapAntes);
+        medicion.clausulas = compilada.size();
+
+        long total = 0;
+        for (String consulta : consultas) {
+            ResultadoConsulta resultado = motor.consultar(consulta);
+            switch (resultado.getRespuesta()) {
+                case SI -> medicion.si++;
+                case NO -> medicion.no++;
+                case DESCONOCIDO -> medicion.limite++;
+            }
+            total += resultado.getNanosegundos();
+            medicion.resoluciones += resultado.getResoluciones();
+            medicion.vivasMaximas += resultado.getMaximoClausulasVivas();
+        }
+        medicion.consulta = total / consultas.size();
+        medicion.resoluciones /= consultas.size();
+        medicion.vivasMaximas /= consultas.size();
+        medicion.asignado = bytesAsignados() - asignadoAntes;
+        return medicion;
+    }
+
+    private static long heapUsado() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Bytes asignados por el hilo actual (el modo secuencial resuelve en este mismo hilo; también
+    // lo usa SuiteMemoria)
+    static long bytesAsignados() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hilos) {
+            return hilos.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        }
+        return 0;
+    }
+
+    private static final class Medicion {
+        int clausulas;
+        long compilacion;
+        long consulta;
+        double resoluciones;
+        double vivasMaximas;
+        long asignado;
+        long heapBase;
+        int si;
+        int no;
+        int limite;
+
+        String aCsv(int factor) {
+            return factor + "," + clausulas + "," + compilacion / 1e6 + "," + consulta / 1e6 + "," +
+                    resoluciones + "," + vivasMaximas + "," + asignado / 1024 + "," + heapBase / 1024 + "," +
+                    si + "," + no + "," + limite;
+        }
+    }
+}
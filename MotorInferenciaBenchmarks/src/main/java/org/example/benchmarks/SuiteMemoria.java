@@ -0,0 +1,94 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.Presupuesto;
+import org.example.inferencia.ResultadoConsulta;
+import org.example.model.BaseConocimiento;
+import org.example.model.Hecho;
+import org.example.model.Regla;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Set;
+
+// Presión sobre el recolector en una refutación larga: alcanzabilidad en un ciclo de N nodos
+// con una consulta sin respuesta, cortada por un presupuesto de resoluciones que se duplica en
+// cada paso. Por paso compara los resolventes armados en la arena (ArenaClausulas) con los
+// armados como Clausula, e informa bytes asignados por el hilo, tiempo y cantidad de
+// recolecciones y el pico de heap
+// Ejecutar con: java -Xmx1g -cp target/benchmarks.jar org.example.benchmarks.SuiteMemoria [nodos] [maxResoluciones]
+public class SuiteMemoria {
+    public static void main(String[] args) {
+        int nodos = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int maxResoluciones = args.length > 1 ? Integer.parseInt(args[1]) : 160_000;
+        BaseConocimiento base = ciclo(nodos);
+
+        System.out.printf(">> %12s %6s %10s %8s %6s %10s %10s%n", "resoluciones", "arena", "asignado", "GC",
+                "GCs", "pico heap", "tiempo");
+        for (int resoluciones = 10_000; resoluciones <= maxResoluciones; resoluciones *= 2) {
+            for (boolean arena : new boolean[]{false, true}) {
+                medir(base, resoluciones, arena);
+            }
+        }
+    }
+
+    private static BaseConocimiento ciclo(int nodos) {
+        BaseConocimiento base = new BaseConocimiento();
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(x, y)")), new Hecho("Camino(x, y)")));
+        base.agregarRegla(new Regla(Set.of(new Hecho("Arista(x, y)"), new Hecho("Camino(y, z)")),
+                new Hecho("Camino(x, z)")));
+        for (int i = 0; i < nodos; i++) {
+            base.agregarHecho(new Hecho("Arista(N" + i + ", N" + (i + 1) % nodos + ")"));
+        }
+        return base;
+    }
+
+    private static void medir(BaseConocimiento base, int resoluciones, boolean arena) {
+        MotorInferencia motor = new MotorInferencia(base);
+        motor.setEncadenamientoHaciaAtras(false);
+        motor.setArenaResolventes(arena);
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setMaxIteraciones(0);
+        presupuesto.setMaxResoluciones(resoluciones);
+        motor.getBaseCompilada();
+
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long asignadoAntes = SuiteEscalabilidad.bytesAsignados();
+        long gcAntes = tiempoGC();
+        long recoleccionesAntes = recolecciones();
+        long inicio = System.nanoTime();
+        ResultadoConsulta resultado = motor.consultar("Camino(N0, Z)", presupuesto);
+        long nanosegundos = System.nanoTime() - inicio;
+
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf(">> %12d %6s %8dMB %6dms %6d %8dMB %8.1fs   %s%n", resultado.getResoluciones(), arena,
+                (SuiteEscalabilidad.bytesAsignados() - asignadoAntes) >> 20, tiempoGC() - gcAntes, recolecciones() - recoleccionesAntes,
+                pico >> 20, nanosegundos / 1e9, resultado.getRespuesta());
+    }
+
+    private static long tiempoGC() {
+        long total = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += recolector.getCollectionTime();
+        }
+        return total;
+    }
+
+    private static long recolecciones() {
+        long total = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += recolector.getCollectionCount();
+        }
+        return total;
+    }
+}
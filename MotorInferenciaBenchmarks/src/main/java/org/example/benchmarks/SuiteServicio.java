@@ -0,0 +1,122 @@
+package org.example.benchmarks;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.Presupuesto;
+import org.example.inferencia.ServicioConsultas;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+// Carga concurrente sobre el servicio de consultas: N clientes en bucle cerrado (cada uno envía
+// la siguiente consulta cuando recibe la respuesta anterior) durante unos segundos por nivel,
+// con N que se duplica. Informa consultas por segundo, latencias p50/p99/máxima medidas por el
+// cliente (incluyen la espera de turno) y las consultas rechazadas o vencidas.
+// Ejecutar con: java -cp target/benchmarks.jar org.example.benchmarks.SuiteServicio [factor] [segundos] [maxClientes]
+public class SuiteServicio {
+    public static void main(String[] args) throws Exception {
+        int factor = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int maxClientes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        ParametrosGenerador parametros = new ParametrosGenerador().escalado(factor);
+        parametros.setClausulasDisyuntivas(5);
+        GeneradorBases generador = new GeneradorBases(parametros);
+        MotorInferencia motor = new MotorInferencia(generador.generar());
+        List<String> consultas = generador.consultas(200);
+
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setPlazo(Duration.ofMillis(500));
+
+        try (ServicioConsultas servicio = new ServicioConsultas(motor)) {
+            System.out.println(">> " + servicio.getBase().size() + " cláusulas, " + consultas.size() + " consultas, " +
+                    servicio.getMaxConcurrentes() + " consultas a la vez, plazo " + presupuesto.getPlazo().toMillis() + " ms");
+            System.out.printf(">> %8s %10s %9s %9s %9s %10s %8s%n", "clientes", "consultas/s", "p50", "p99", "máxima",
+                    "rechazadas", "vencidas");
+
+            // Calentamiento
+            medir(servicio, consultas, presupuesto, Runtime.getRuntime().availableProcessors(), segundos);
+            for (int clientes = 1; clientes <= maxClientes; clientes *= 2) {
+                long rechazadas = servicio.getRechazadas();
+                long vencidas = servicio.getVencidas();
+                Medicion medicion = medir(servicio, consultas, presupuesto, clientes, segundos);
+                System.out.printf(">> %8d %10.0f %7.2fms %7.2fms %7.2fms %10d %8d%n", clientes, medicion.porSegundo(),
+                        medicion.percentil(0.50) / 1e6, medicion.percentil(0.99) / 1e6, medicion.percentil(1.0) / 1e6,
+                        servicio.getRechazadas() - rechazadas, servicio.getVencidas() - vencidas);
+            }
+        }
+    }
+
+    private static Medicion medir(ServicioConsultas servicio, List<String> consultas, Presupuesto presupuesto,
+                                  int clientes, int segundos) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(clientes);
+        long inicio = System.nanoTime();
+        long fin = inicio + segundos * 1_000_000_000L;
+        try {
+            List<Future<long[]>> futuros = new ArrayList<>();
+            for (int c = 0; c < clientes; c++) {
+                int primera = c;
+                futuros.add(hilos.submit(() -> cliente(servicio, consultas, presupuesto, primera, fin)));
+            }
+
+            Medicion medicion = new Medicion();
+            for (Future<long[]> futuro : futuros) {
+                medicion.agregar(futuro.get());
+            }
+            medicion.nanosegundos = System.nanoTime() - inicio;
+            return medicion;
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    // Latencias de un cliente; las consultas rechazadas no cuentan
+    private static long[] cliente(ServicioConsultas servicio, List<String> consultas, Presupuesto presupuesto,
+                                  int primera, long fin) throws InterruptedException {
+        long[] latencias = new long[1024];
+        int cantidad = 0;
+        for (int i = primera; System.nanoTime() < fin; i++) {
+            long inicio = System.nanoTime();
+            try {
+                servicio.consultar(consultas.get(i % consultas.size()), presupuesto);
+            } catch (RejectedExecutionException e) {
+                continue;
+            }
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = System.nanoTime() - inicio;
+        }
+        return Arrays.copyOf(latencias, cantidad);
+    }
+
+    private static final class Medicion {
+        private long[] latencias = new long[0];
+        long nanosegundos;
+
+        void agregar(long[] otras) {
+            long[] todas = Arrays.copyOf(latencias, latencias.length + otras.length);
+            System.arraycopy(otras, 0, todas, latencias.length, otras.length);
+            latencias = todas;
+        }
+
+        double porSegundo() {
+            return latencias.length / (nanosegundos / 1e9);
+        }
+
+        long percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            Arrays.sort(latencias);
+            return latencias[(int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.benchmarks;
+
+import org.example.generador.GeneradorBases;
+import org.example.generador.ParametrosGenerador;
+import org.example.inferencia.BaseCompilada;
+import org.example.inferencia.BaseVersionada;
+import org.example.inferencia.MotorInferencia;
+import org.example.inferencia.Presupuesto;
+import org.example.inferencia.ServicioConsultas;
+import org.example.logica.Clausula;
+import org.example.logica.Compilador;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Consultas concurrentes mientras un escritor carga hechos en la base versionada: los clientes
+// (en bucle cerrado, como en SuiteServicio) consultan siempre la versión actual y el escritor
+// agrega hechos sin pausa. Compara sin escritor y con el escritor publicando cada 1, 16 y 256
+// cambios, e informa consultas por segundo, latencias p50/p99, hechos escritos por segundo,
+// versiones publicadas y las capas de la última versión
+// Ejecutar con: java -cp target/benchmarks.jar org.example.benchmarks.SuiteVersiones [factor] [segundos] [clientes]
+public class SuiteVersiones {
+    public static void main(String[] args) throws Exception {
+        int factor = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int clientes = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        ParametrosGenerador parametros = new ParametrosGenerador().escalado(factor);
+        parametros.setClausulasDisyuntivas(5);
+        GeneradorBases generador = new GeneradorBases(parametros);
+        MotorInferencia motor = new MotorInferencia(generador.generar());
+        List<String> consultas = generador.consultas(200);
+
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setPlazo(Duration.ofMillis(500));
+
+        System.out.println(">> " + motor.getBaseCompilada().size() + " cláusulas, " + consultas.size() + " consultas, " +
+                clientes + " clientes, " + segundos + " s por medición");
+        System.out.printf(">> %10s %11s %9s %9s %10s %9s %6s%n", "tanda", "consultas/s", "p50", "p99", "hechos/s",
+                "versiones", "capas");
+        for (int tanda : new int[]{0, 1, 16, 256}) {
+            medir(motor, consultas, presupuesto, clientes, segundos, tanda);
+        }
+    }
+
+    // Con tanda 0 no hay escritor
+    private static void medir(MotorInferencia motor, List<String> consultas, Presupuesto presupuesto, int clientes,
+                              int segundos, int tanda) throws Exception {
+        BaseVersionada versiones = new BaseVersionada(motor.getBaseCompilada(), Math.max(tanda, 1));
+        AtomicBoolean terminar = new AtomicBoolean();
+        long[] escritos = new long[1];
+        Thread escritor = new Thread(() -> {
+            for (long i = 0; !terminar.get(); i++) {
+                versiones.agregar(Clausula.de(Compilador.literal("Registro(E" + i + ", V" + (i % 97) + ")")));
+                escritos[0] = i + 1;
+            }
+        });
+
+        ExecutorService hilos = Executors.newFixedThreadPool(clientes);
+        try (ServicioConsultas servicio = new ServicioConsultas(motor, versiones)) {
+            // Calentamiento sin escritor
+            correr(servicio, consultas, presupuesto, clientes, hilos, System.nanoTime() + 1_000_000_000L);
+
+            if (tanda > 0) {
+                escritor.start();
+            }
+            long inicio = System.nanoTime();
+            long[] latencias = correr(servicio, consultas, presupuesto, clientes, hilos,
+                    inicio + segundos * 1_000_000_000L);
+            double transcurrido = (System.nanoTime() - inicio) / 1e9;
+            terminar.set(true);
+            if (tanda > 0) {
+                escritor.join();
+            }
+
+            BaseCompilada ultima = versiones.actual().getClausulas();
+            System.out.printf(">> %10s %11.0f %7.2fms %7.2fms %10.0f %9d %6d%n", tanda == 0 ? "sin escritor" : tanda,
+                    latencias.length / transcurrido, percentil(latencias, 0.50) / 1e6, percentil(latencias, 0.99) / 1e6,
+                    escritos[0] / transcurrido, versiones.actual().getNumero(), ultima.cantidadCapas());
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    private static long[] correr(ServicioConsultas servicio, List<String> consultas, Presupuesto presupuesto,
+                                 int clientes, ExecutorService hilos, long fin) throws Exception {
+        List<Future<long[]>> futuros = new ArrayList<>();
+        for (int c = 0; c < clientes; c++) {
+            int primera = c;
+            futuros.add(hilos.submit(() -> cliente(servicio, consultas, presupuesto, primera, fin)));
+        }
+        long[] todas = new long[0];
+        for (Future<long[]> futuro : futuros) {
+            long[] latencias = futuro.get();
+            int antes = todas.length;
+            todas = Arrays.copyOf(todas, antes + latencias.length);
+            System.arraycopy(latencias, 0, todas, antes, latencias.length);
+        }
+        Arrays.sort(todas);
+        return todas;
+    }
+
+    private static long[] cliente(ServicioConsultas servicio, List<String> consultas, Presupuesto presupuesto,
+                                  int primera, long fin) throws InterruptedException {
+        long[] latencias = new long[1024];
+        int cantidad = 0;
+        for (int i = primera; System.nanoTime() < fin; i++) {
+            long inicio = System.nanoTime();
+            try {
+                servicio.consultar(consultas.get(i % consultas.size()), presupuesto);
+            } catch (RejectedExecutionException e) {
+                continue;
+            }
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = System.nanoTime() - inicio;
+        }
+        return Arrays.copyOf(latencias, cantidad);
+    }
+
+    // Sobre latencias ya ordenadas
+    private static long percentil(long[] latencias, double p) {
+        if (latencias.length == 0) {
+            return 0;
+        }
+        return latencias[(int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1)];
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.benchmarks;
+
+import org.example.inferencia.MotorInferencia;
+import org.example.logica.Clausula;
+import org.example.logica.Literal;
+import org.example.logica.Termino;
+import org.example.utils.Unificador;
+import org.example.utils.UnificadorTerminos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Unificación de todos los pares de literales complementarios de la base: la versión con strings
+// (Unificador.unificarExpresiones) frente a la de términos compilados (UnificadorTerminos)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnificadorBenchmark {
+    @Param({"MARCO", "JACK", "WEST"})
+    private BaseEjemplo base;
+
+    private final Unificador unificador = new Unificador();
+    private final UnificadorTerminos unificadorTerminos = new UnificadorTerminos();
+    private final List<String[]> paresTexto = new ArrayList<>();
+    private final List<Termino[]> paresCompilados = new ArrayList<>();
+
+    @Setup
+    public void preparar() {
+        List<Clausula> clausulas = new MotorInferencia(base.crear()).compilarFNC();
+        List<Literal> literales = new ArrayList<>();
+        for (Clausula clausula : clausulas) {
+            for (int i = 0; i < clausula.size(); i++) {
+                literales.add(clausula.literal(i));
+            }
+        }
+        for (Literal l1 : literales) {
+            for (Literal l2 : literales) {
+                if (l1.esComplementarioPosible(l2)) {
+                    paresTexto.add(new String[]{l1.getAtomo().toString(), l2.getAtomo().toString()});
+                    paresCompilados.add(new Termino[]{l1.getAtomo(), l2.getAtomo()});
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void unificarExpresiones(Blackhole bh) {
+        for (String[] par : paresTexto) {
+            bh.consume(unificador.unificarExpresiones(par[0], par[1]));
+        }
+    }
+
+    @Benchmark
+    public void unificarCompilados(Blackhole bh) {
+        for (Termino[] par : paresCompilados) {
+            bh.consume(unificadorTerminos.unificar(par[0], par[1]));
+        }
+    }
+}